@@ -18,6 +18,17 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "com.optlab.nimbus.di.CustomTestRunner"
+
+        // Export the Room schema of every version, so that migrations can be tested against it
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
+    }
+
+    sourceSets {
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
     }
 
     buildTypes {
@@ -87,6 +98,7 @@ dependencies {
 
     // --- WorkManager ---
     implementation(libs.androidx.work.runtime)
+    implementation(libs.androidx.work.rxjava3)
     testImplementation(libs.androidx.work.testing)
     testImplementation(libs.androidx.core)
 
@@ -124,8 +136,10 @@ dependencies {
     testImplementation(libs.mockito.core)
     testImplementation(libs.hamcrest)
     testImplementation(libs.androidx.core.testing)
+    testImplementation(libs.mockwebserver)
     androidTestImplementation(libs.androidx.junit)
     androidTestImplementation(libs.androidx.espresso.core)
+    androidTestImplementation(libs.androidx.room.testing)
     androidTestImplementation(libs.mockito.android)
     androidTestImplementation(libs.awaitility) {
         exclude(group = "org.hamcrest")
@@ -2,12 +2,22 @@ package com.optlab.nimbus.data;
 
 import androidx.annotation.NonNull;
 
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.model.CachedForecast;
 import com.optlab.nimbus.data.model.Coordinates;
 import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.network.quota.ApiQuota;
+import com.optlab.nimbus.data.network.quota.ApiQuotaManager;
+import com.optlab.nimbus.data.repository.ReadPolicy;
+import com.optlab.nimbus.data.repository.SyncReport;
 import com.optlab.nimbus.data.repository.WeatherRepository;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import io.reactivex.rxjava3.core.Observable;
@@ -64,6 +74,21 @@ public class FakeTomorrowIoRepository implements WeatherRepository {
         return emitFakeResponse();
     }
 
+    @Override
+    public Observable<List<WeatherResponse>> getTodayWeatherByLocation(
+            @NonNull Coordinates coordinates) {
+        return emitFakeResponse();
+    }
+
+    @Override
+    public Observable<CachedForecast> getWeather(
+            @NonNull Coordinates coordinates,
+            @NonNull WeatherEntity.Type type,
+            @NonNull ReadPolicy policy) {
+        return emitFakeResponse()
+                .map(responses -> new CachedForecast(responses, false, System.currentTimeMillis()));
+    }
+
     @Override
     public Observable<List<WeatherResponse>> fetchAndCacheDailyWeather(
             @NonNull Coordinates coordinates) {
@@ -81,4 +106,57 @@ public class FakeTomorrowIoRepository implements WeatherRepository {
             @NonNull Coordinates coordinates) {
         return emitFakeResponse();
     }
+
+    @Override
+    public Observable<Map<WeatherEntity.Type, List<WeatherResponse>>> fetchAndCacheWeatherBundle(
+            @NonNull Coordinates coordinates) {
+        return emitFakeResponse()
+                .map(
+                        responses -> {
+                            Map<WeatherEntity.Type, List<WeatherResponse>> bundle =
+                                    new EnumMap<>(WeatherEntity.Type.class);
+                            for (WeatherEntity.Type type : WeatherEntity.Type.values()) {
+                                bundle.put(type, responses);
+                            }
+                            return bundle;
+                        });
+    }
+
+    @Override
+    public Observable<SyncReport> syncWeather(@NonNull Coordinates coordinates) {
+        return emitFakeResponse().map(responses -> new SyncReport(1, 1, false));
+    }
+
+    @Override
+    public Observable<SyncReport> syncWeather(
+            @NonNull Coordinates coordinates, @NonNull Set<WeatherEntity.Type> types) {
+        return emitFakeResponse().map(responses -> new SyncReport(types.size(), 1, false));
+    }
+
+    @Override
+    public Observable<CachedForecast> observeForecast(
+            @NonNull Coordinates coordinates, @NonNull WeatherEntity.Type type) {
+        return emitFakeResponse()
+                .map(responses -> new CachedForecast(responses, false, System.currentTimeMillis()));
+    }
+
+    @Override
+    public Observable<List<WeatherResponse>> getForecastRange(
+            @NonNull Coordinates coordinates,
+            @NonNull WeatherEntity.Type resolution,
+            @NonNull Instant from,
+            @NonNull Instant to) {
+        return emitFakeResponse();
+    }
+
+    @Override
+    public Observable<ApiQuota> observeApiQuota() {
+        return Observable.just(
+                new ApiQuota(
+                        ApiQuotaManager.HOURLY_LIMIT,
+                        ApiQuotaManager.HOURLY_LIMIT,
+                        ApiQuotaManager.DAILY_LIMIT,
+                        ApiQuotaManager.DAILY_LIMIT,
+                        true));
+    }
 }
@@ -0,0 +1,189 @@
+package com.optlab.nimbus.data.local.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.optlab.nimbus.data.local.codec.ForecastCodec;
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+// | Scenario                        | Description                                          | Expected Result                          |
+// |---------------------------------|------------------------------------------------------|------------------------------------------|
+// | Version 1 to latest             | Table without location key, JSON row                 | Migrated, row kept without a location    |
+// | Version 2 to latest             | JSON row of a location                               | Row converted, validity left unknown     |
+// | Unreadable JSON row             | Version 2 row holding broken JSON                    | Row dropped, migration succeeds          |
+// | Indexes and tables              | Database opened at the latest version                | Forecast point table and indexes exist   |
+// | Version 5 to 6                  | Row of the exported version 5 schema                 | Schema validated, validity left unknown  |
+
+@RunWith(AndroidJUnit4.class)
+public class WeatherMigrationsTest {
+    private static final String DATABASE_NAME = "migration-test";
+    private static final String LOCATION_KEY = "10.78,106.70";
+    private static final String JSON =
+            "[{\"date\":\"2025-05-19T06:00:00+07:00\",\"temperature\":31.9,"
+                    + "\"temperatureMax\":31.9,\"temperatureMin\":25.7,\"pressure\":1010.0,"
+                    + "\"windSpeed\":3.2,\"humidity\":95.0,\"weatherCode\":1001,"
+                    + "\"weatherIcon\":0,\"weatherDescription\":0}]";
+
+    @Rule
+    public final MigrationTestHelper helper =
+            new MigrationTestHelper(
+                    InstrumentationRegistry.getInstrumentation(), WeatherDatabase.class);
+
+    private Context context;
+    private WeatherDatabase database;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    /** Creates the database as an older version of the app left it, then closes it. */
+    private void createLegacyDatabase(int version, ContentValues... rows) {
+        try (SQLiteDatabase db =
+                SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(DATABASE_NAME), null)) {
+            db.execSQL(
+                    "CREATE TABLE `weather_database` ("
+                            + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `type` TEXT, "
+                            + "`data` TEXT, `timestamp` INTEGER NOT NULL)");
+            if (version >= 2) {
+                db.execSQL("ALTER TABLE weather_database ADD COLUMN locationKey TEXT");
+            }
+            for (ContentValues row : rows) {
+                db.insert("weather_database", null, row);
+            }
+            db.setVersion(version);
+        }
+    }
+
+    private static ContentValues row(String locationKey, String data) {
+        ContentValues values = new ContentValues();
+        values.put("type", WeatherEntity.Type.DAILY.name());
+        if (locationKey != null) {
+            values.put("locationKey", locationKey);
+        }
+        values.put("data", data);
+        values.put("timestamp", 1_750_000_000_000L);
+        return values;
+    }
+
+    /** Opens the database with Room, which migrates it and validates the resulting schema. */
+    private WeatherDatabase openMigrated() {
+        database =
+                Room.databaseBuilder(context, WeatherDatabase.class, DATABASE_NAME)
+                        .addMigrations(WeatherMigrations.ALL)
+                        .allowMainThreadQueries()
+                        .build();
+        database.getOpenHelper().getWritableDatabase();
+        return database;
+    }
+
+    @Test
+    public void migrate_fromVersion1_keepsRowWithoutLocation() {
+        createLegacyDatabase(1, row(null, JSON));
+
+        WeatherDatabase migrated = openMigrated();
+
+        assertEquals(1, migrated.weatherDao().countEntries());
+        assertNull(migrated.weatherDao().getLatestWeather(WeatherEntity.Type.DAILY, LOCATION_KEY));
+    }
+
+    @Test
+    public void migrate_fromVersion2_convertsJsonToPayload() throws Exception {
+        createLegacyDatabase(2, row(LOCATION_KEY, JSON));
+
+        WeatherEntity entity =
+                openMigrated()
+                        .weatherDao()
+                        .getLatestWeather(WeatherEntity.Type.DAILY, LOCATION_KEY);
+        List<WeatherResponse> responses = ForecastCodec.decode(entity.getPayload());
+
+        assertEquals(1, responses.size());
+        assertEquals("2025-05-19T06:00:00+07:00", responses.get(0).getDate());
+        assertEquals(31.9, responses.get(0).getTemperature(), 0.0);
+        assertEquals(WeatherCodeRegistry.iconOf(1001), responses.get(0).getWeatherIcon());
+        assertEquals(0, entity.getValidUntil());
+    }
+
+    @Test
+    public void migrate_unreadableJsonRow_isDropped() {
+        createLegacyDatabase(2, row(LOCATION_KEY, "{broken"), row("21.03,105.85", JSON));
+
+        WeatherDatabase migrated = openMigrated();
+
+        assertEquals(1, migrated.weatherDao().countEntries());
+    }
+
+    @Test
+    public void migrate_toLatest_createsTablesAndIndexes() {
+        createLegacyDatabase(2);
+
+        WeatherDatabase migrated = openMigrated();
+
+        try (Cursor cursor =
+                migrated.getOpenHelper()
+                        .getReadableDatabase()
+                        .query("SELECT name FROM sqlite_master WHERE type IN ('table', 'index')")) {
+            StringBuilder names = new StringBuilder();
+            while (cursor.moveToNext()) {
+                names.append(cursor.getString(0)).append(' ');
+            }
+            assertTrue(names.toString().contains("forecast_point "));
+            assertTrue(names.toString().contains("index_forecast_point_startEpoch "));
+            assertTrue(
+                    names.toString()
+                            .contains("index_weather_database_type_locationKey_timestamp "));
+        }
+    }
+
+    @Test
+    public void migrate_fromVersion5_matchesExportedSchema6() throws Exception {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATABASE_NAME, 5)) {
+            ContentValues values = new ContentValues();
+            values.put("type", WeatherEntity.Type.DAILY.name());
+            values.put("locationKey", LOCATION_KEY);
+            values.put("payload", new byte[] {1, 2, 3});
+            values.put("timestamp", 1_750_000_000_000L);
+            db.insert("weather_database", SQLiteDatabase.CONFLICT_NONE, values);
+        }
+
+        try (SupportSQLiteDatabase db =
+                        helper.runMigrationsAndValidate(
+                                DATABASE_NAME, 6, true, WeatherMigrations.MIGRATION_5_6);
+                Cursor cursor = db.query("SELECT validUntil FROM weather_database")) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals(0, cursor.getLong(0));
+        }
+    }
+}
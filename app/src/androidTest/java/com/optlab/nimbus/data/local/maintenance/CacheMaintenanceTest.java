@@ -0,0 +1,132 @@
+package com.optlab.nimbus.data.local.maintenance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.optlab.nimbus.data.local.dao.WeatherDao;
+import com.optlab.nimbus.data.local.database.WeatherDatabase;
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+// | Scenario                        | Description                                          | Expected Result                          |
+// |---------------------------------|------------------------------------------------------|------------------------------------------|
+// | Many snapshots of one key       | Five snapshots of the same type and location         | Latest two kept                          |
+// | Snapshots of other keys         | One snapshot per type and per location               | All kept                                 |
+// | Snapshot past the maximum age   | Snapshot written eight days ago                      | Deleted                                  |
+// | Payloads over the budget        | Latest snapshots of many locations exceed the budget | Oldest deleted, newest kept              |
+// | Stats of a run                  | Maintenance run on a pruned table                    | Counts match the remaining entries       |
+
+@RunWith(AndroidJUnit4.class)
+public class CacheMaintenanceTest {
+    private static final long NOW = 1_750_000_000_000L;
+
+    private WeatherDatabase database;
+    private WeatherDao weatherDao;
+    private CacheMaintenance cacheMaintenance;
+
+    @Before
+    public void setUp() {
+        database =
+                Room.inMemoryDatabaseBuilder(
+                                ApplicationProvider.getApplicationContext(), WeatherDatabase.class)
+                        .allowMainThreadQueries()
+                        .build();
+        weatherDao = database.weatherDao();
+        cacheMaintenance = new CacheMaintenance(database);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    private void insert(
+            WeatherEntity.Type type, String locationKey, long timestamp, int payloadSize) {
+        WeatherEntity entity = new WeatherEntity();
+        entity.setType(type);
+        entity.setLocationKey(locationKey);
+        entity.setPayload(new byte[payloadSize]);
+        entity.setTimestamp(timestamp);
+        weatherDao.insertWeather(entity);
+    }
+
+    @Test
+    public void run_manySnapshotsOfOneKey_keepsLatest() {
+        for (int i = 0; i < 5; i++) {
+            insert(WeatherEntity.Type.HOURLY, "10.78,106.70", NOW - i * 1000L, 100);
+        }
+
+        CacheStats stats = cacheMaintenance.run(NOW);
+
+        assertEquals(CacheMaintenance.SNAPSHOTS_PER_KEY, stats.entries());
+        assertEquals(5 - CacheMaintenance.SNAPSHOTS_PER_KEY, stats.deletedEntries());
+        assertEquals(
+                NOW,
+                weatherDao
+                        .getLatestWeather(WeatherEntity.Type.HOURLY, "10.78,106.70")
+                        .getTimestamp());
+    }
+
+    @Test
+    public void run_snapshotsOfOtherKeys_keepsAll() {
+        for (WeatherEntity.Type type : WeatherEntity.Type.values()) {
+            insert(type, "10.78,106.70", NOW, 100);
+            insert(type, "21.03,105.85", NOW, 100);
+        }
+
+        CacheStats stats = cacheMaintenance.run(NOW);
+
+        assertEquals(2 * WeatherEntity.Type.values().length, stats.entries());
+        assertEquals(0, stats.deletedEntries());
+    }
+
+    @Test
+    public void run_snapshotPastMaximumAge_isDeleted() {
+        insert(WeatherEntity.Type.DAILY, "10.78,106.70", NOW - TimeUnit.DAYS.toMillis(8), 100);
+
+        CacheStats stats = cacheMaintenance.run(NOW);
+
+        assertEquals(0, stats.entries());
+    }
+
+    @Test
+    public void run_payloadsOverBudget_deletesOldest() {
+        int payloadSize = 10 * 1024;
+        int locations = (int) (CacheMaintenance.PAYLOAD_BUDGET_BYTES / payloadSize) + 5;
+        for (int i = 0; i < locations; i++) {
+            insert(WeatherEntity.Type.DAILY, "location " + i, NOW - i * 1000L, payloadSize);
+        }
+
+        CacheStats stats = cacheMaintenance.run(NOW);
+
+        assertEquals(CacheMaintenance.PAYLOAD_BUDGET_BYTES / payloadSize, stats.entries());
+        assertNotNull(weatherDao.getLatestWeather(WeatherEntity.Type.DAILY, "location 0"));
+        assertNull(
+                weatherDao.getLatestWeather(
+                        WeatherEntity.Type.DAILY, "location " + (locations - 1)));
+    }
+
+    @Test
+    public void run_prunedTable_reportsRemainingEntries() {
+        insert(WeatherEntity.Type.CURRENT, "10.78,106.70", NOW, 300);
+
+        CacheStats stats = cacheMaintenance.run(NOW);
+
+        assertEquals(1, stats.entries());
+        assertEquals(300, stats.payloadBytes());
+        assertFalse(stats.vacuumed());
+        assertEquals(stats, cacheMaintenance.getLastStats());
+    }
+}
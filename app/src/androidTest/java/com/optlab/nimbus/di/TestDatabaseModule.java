@@ -4,6 +4,7 @@ import android.content.Context;
 
 import androidx.room.Room;
 
+import com.optlab.nimbus.data.local.dao.ForecastPointDao;
 import com.optlab.nimbus.data.local.dao.WeatherDao;
 import com.optlab.nimbus.data.local.database.WeatherDatabase;
 
@@ -33,4 +34,10 @@ public class TestDatabaseModule {
     public static WeatherDao provideDao(WeatherDatabase db) {
         return db.weatherDao();
     }
+
+    @Provides
+    @Singleton
+    public static ForecastPointDao provideForecastPointDao(WeatherDatabase db) {
+        return db.forecastPointDao();
+    }
 }
@@ -5,6 +5,8 @@ import android.content.Context;
 import androidx.annotation.NonNull;
 
 import com.optlab.nimbus.data.model.WeatherProvider;
+import com.optlab.nimbus.data.local.cache.MemoryForecastCache;
+import com.optlab.nimbus.data.local.dao.ForecastPointDao;
 import com.optlab.nimbus.data.local.dao.WeatherDao;
 import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoClient;
 import com.optlab.nimbus.data.preferences.SecurePrefsManager;
@@ -36,11 +38,18 @@ public class TestRepositoryModule {
             @NonNull WeatherProvider weatherProvider,
             @NonNull TomorrowIoClient tomorrowIoClient,
             @NonNull SecurePrefsManager securePrefsManager,
-            @NonNull WeatherDao weatherDao) {
+            @NonNull WeatherDao weatherDao,
+            @NonNull ForecastPointDao forecastPointDao,
+            @NonNull MemoryForecastCache memoryCache) {
         return switch (weatherProvider) {
             case OPEN_WEATHER -> null;
             case TOMORROW_IO ->
-                    new TomorrowIoRepository(tomorrowIoClient, securePrefsManager, weatherDao);
+                    new TomorrowIoRepository(
+                            tomorrowIoClient,
+                            securePrefsManager,
+                            weatherDao,
+                            forecastPointDao,
+                            memoryCache);
         };
     }
 }
@@ -2,6 +2,7 @@ package com.optlab.nimbus.di;
 
 import android.content.Context;
 
+import com.optlab.nimbus.data.network.quota.ApiQuotaManager;
 import com.optlab.nimbus.data.preferences.SecurePrefsManager;
 import com.optlab.nimbus.data.preferences.UserPreferencesManager;
 
@@ -29,4 +30,10 @@ public class TestSharedPreferencesModule {
             @ApplicationContext Context context) {
         return new UserPreferencesManager(context);
     }
+
+    @Provides
+    @Singleton
+    public static ApiQuotaManager provideApiQuotaManager(@ApplicationContext Context context) {
+        return new ApiQuotaManager(context);
+    }
 }
@@ -8,12 +8,15 @@ import androidx.work.ListenableWorker;
 import androidx.work.WorkerFactory;
 import androidx.work.WorkerParameters;
 
+import com.optlab.nimbus.data.network.metrics.NetworkMetrics;
 import com.optlab.nimbus.data.preferences.UserPreferences;
 import com.optlab.nimbus.data.repository.WeatherRepository;
+import com.optlab.nimbus.worker.schedule.SyncScheduler;
 
 public class TestWorkerFactory extends WorkerFactory {
     private final WeatherRepository repository;
     private final UserPreferences userPrefs;
+    private final NetworkMetrics networkMetrics = new NetworkMetrics();
 
     public TestWorkerFactory(WeatherRepository repository, UserPreferences userPrefs) {
         this.repository = repository;
@@ -26,14 +29,14 @@ public class TestWorkerFactory extends WorkerFactory {
             @NonNull Context context,
             @NonNull String workerClassName,
             @NonNull WorkerParameters workerParameters) {
-        if (workerClassName.equals(CurrentWeatherWorker.class.getName())) {
-            return new CurrentWeatherWorker(context, workerParameters, repository, userPrefs);
-        }
-        if (workerClassName.equals(DailyWeatherWorker.class.getName())) {
-            return new DailyWeatherWorker(context, workerParameters, repository, userPrefs);
-        }
-        if (workerClassName.equals(HourlyWeatherWorker.class.getName())) {
-            return new HourlyWeatherWorker(context, workerParameters, repository, userPrefs);
+        if (workerClassName.equals(WeatherSyncWorker.class.getName())) {
+            return new WeatherSyncWorker(
+                    context,
+                    workerParameters,
+                    repository,
+                    userPrefs,
+                    networkMetrics,
+                    new SyncScheduler(context));
         }
         return null;
     }
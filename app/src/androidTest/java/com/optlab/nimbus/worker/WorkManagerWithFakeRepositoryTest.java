@@ -11,11 +11,11 @@ import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.work.Configuration;
 import androidx.work.Constraints;
 import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ListenableWorker;
 import androidx.work.NetworkType;
 import androidx.work.PeriodicWorkRequest;
 import androidx.work.WorkInfo;
 import androidx.work.WorkManager;
-import androidx.work.Worker;
 import androidx.work.testing.TestDriver;
 import androidx.work.testing.WorkManagerTestInitHelper;
 
@@ -44,7 +44,7 @@ import java.util.concurrent.TimeUnit;
 
 @RunWith(AndroidJUnit4.class)
 public class WorkManagerWithFakeRepositoryTest {
-    private List<Class<? extends Worker>> workers;
+    private List<Class<? extends ListenableWorker>> workers;
 
     /** FakeTomorrowIoRepository is a mock implementation of the WeatherRepository interface. */
     WeatherRepository repository = new FakeTomorrowIoRepository();
@@ -68,11 +68,7 @@ public class WorkManagerWithFakeRepositoryTest {
         initializeTestWorkManager();
 
         // Initialize the list of workers to be tested.
-        workers =
-                List.of(
-                        CurrentWeatherWorker.class,
-                        HourlyWeatherWorker.class,
-                        DailyWeatherWorker.class);
+        workers = List.of(WeatherSyncWorker.class);
 
         // Set up constraint for network connectivity.
         connectedNetworkConstraints =
@@ -1,7 +1,6 @@
 package com.optlab.nimbus.worker;
 
 import static org.awaitility.Awaitility.await;
-import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 
 import android.util.Log;
@@ -14,7 +13,6 @@ import androidx.work.ExistingPeriodicWorkPolicy;
 import androidx.work.NetworkType;
 import androidx.work.PeriodicWorkRequest;
 import androidx.work.WorkManager;
-import androidx.work.Worker;
 import androidx.work.testing.TestDriver;
 import androidx.work.testing.WorkManagerTestInitHelper;
 
@@ -62,19 +60,11 @@ public class WorkerManagerWithInjectedRepositoryTest {
     private WorkManager workManager;
     private TestDriver testDriver;
     private Constraints conectivityConstraints;
-    private List<Class<? extends Worker>> workers;
 
     @Before
     public void setUp() {
         hiltRule.inject(); // Inject dependencies into the test class.
 
-        // Initialize the list of workers to be tested.
-        workers =
-                List.of(
-                        CurrentWeatherWorker.class,
-                        DailyWeatherWorker.class,
-                        HourlyWeatherWorker.class);
-
         initializeTestWorkManage();
 
         workManager = WorkManager.getInstance(ApplicationProvider.getApplicationContext());
@@ -97,140 +87,58 @@ public class WorkerManagerWithInjectedRepositoryTest {
                 ApplicationProvider.getApplicationContext(), configuration);
     }
 
+    private PeriodicWorkRequest enqueueWeatherSync(String uniqueWorkName) {
+        PeriodicWorkRequest request =
+                new PeriodicWorkRequest.Builder(
+                                WeatherSyncWorker.class,
+                                30,
+                                TimeUnit.MINUTES,
+                                15,
+                                TimeUnit.MINUTES)
+                        .setConstraints(conectivityConstraints)
+                        .build();
+
+        workManager.enqueueUniquePeriodicWork(
+                uniqueWorkName, ExistingPeriodicWorkPolicy.KEEP, request);
+        testDriver.setPeriodDelayMet(request.getId());
+        return request;
+    }
+
     @Test
     public void testWorkersRunWithNetworkAvailable() {
-        workers.forEach(
-                worker -> {
-                    String uniqueWorkName = "test_with_network_available_" + worker.getSimpleName();
-                    PeriodicWorkRequest request =
-                            new PeriodicWorkRequest.Builder(
-                                            worker, 30, TimeUnit.MINUTES, 15, TimeUnit.MINUTES)
-                                    .setConstraints(conectivityConstraints)
-                                    .build();
-
-                    workManager.enqueueUniquePeriodicWork(
-                            uniqueWorkName, ExistingPeriodicWorkPolicy.KEEP, request);
-
-                    testDriver.setPeriodDelayMet(request.getId());
-                    testDriver.setAllConstraintsMet(request.getId());
-
-                    if (worker.getSimpleName().equals(CurrentWeatherWorker.class.getSimpleName())) {
-                        try {
-                            ((TomorrowIoRepository) repository)
-                                    .getCachedWeather(WeatherEntity.Type.CURRENT)
-                                    .test()
-                                    .await()
-                                    .assertValue(response -> !response.isEmpty());
-                        } catch (InterruptedException e) {
-                            fail(
-                                    "Error while waiting for "
-                                            + worker.getSimpleName()
-                                            + " to complete: "
-                                            + e.getMessage());
-                        }
-                    }
-                    if (worker.getSimpleName().equals(DailyWeatherWorker.class.getSimpleName())) {
-                        try {
-                            ((TomorrowIoRepository) repository)
-                                    .getCachedWeather(WeatherEntity.Type.DAILY)
-                                    .test()
-                                    .await()
-                                    .assertValue(response -> !response.isEmpty());
-                        } catch (InterruptedException e) {
-                            fail(
-                                    "Error while waiting for "
-                                            + worker.getSimpleName()
-                                            + " to complete: "
-                                            + e.getMessage());
-                        }
-                    }
-                    if (worker.getSimpleName().equals(HourlyWeatherWorker.class.getSimpleName())) {
-                        try {
-                            ((TomorrowIoRepository) repository)
-                                    .getCachedWeather(WeatherEntity.Type.HOURLY)
-                                    .test()
-                                    .await()
-                                    .assertValue(response -> !response.isEmpty());
-                        } catch (InterruptedException e) {
-                            fail(
-                                    "Error while waiting for "
-                                            + worker.getSimpleName()
-                                            + " to complete: "
-                                            + e.getMessage());
-                        }
-                    }
-                });
+        PeriodicWorkRequest request = enqueueWeatherSync("test_with_network_available");
+        testDriver.setAllConstraintsMet(request.getId());
+
+        // A single sync fills the cache of every type.
+        for (WeatherEntity.Type type : WeatherEntity.Type.values()) {
+            await().atMost(10, TimeUnit.SECONDS)
+                    .untilAsserted(
+                            () ->
+                                    ((TomorrowIoRepository) repository)
+                                            .getCachedWeather(
+                                                    userPreferencesManager.getLocation(0), type)
+                                            .test()
+                                            .await()
+                                            .assertValue(response -> !response.isEmpty()));
+        }
     }
 
     @Test
     public void testWorkersRunWithNetworkUnavailable() {
-        workers.forEach(
-                worker -> {
-                    String uniqueWorkName =
-                            "test_with_network_unavailable_" + worker.getSimpleName();
-
-                    PeriodicWorkRequest request =
-                            new PeriodicWorkRequest.Builder(
-                                            worker, 30, TimeUnit.MINUTES, 15, TimeUnit.MINUTES)
-                                    .setConstraints(conectivityConstraints)
-                                    .build();
-
-                    workManager.enqueueUniquePeriodicWork(
-                            uniqueWorkName, ExistingPeriodicWorkPolicy.KEEP, request);
-
-                    testDriver.setPeriodDelayMet(request.getId());
-
-                    if (worker.getSimpleName().equals(CurrentWeatherWorker.class.getSimpleName())) {
-                        try {
-                            ((TomorrowIoRepository) repository)
-                                    .getCachedWeather(WeatherEntity.Type.CURRENT)
-                                    .test()
-                                    .await()
-                                    .assertValue(List::isEmpty)
-                                    .assertNoErrors()
-                                    .assertComplete();
-                        } catch (InterruptedException e) {
-                            fail(
-                                    "Error while waiting for "
-                                            + worker.getSimpleName()
-                                            + " to complete: "
-                                            + e.getMessage());
-                        }
-                    }
-                    if (worker.getSimpleName().equals(DailyWeatherWorker.class.getSimpleName())) {
-                        try {
-                            ((TomorrowIoRepository) repository)
-                                    .getCachedWeather(WeatherEntity.Type.DAILY)
-                                    .test()
-                                    .await()
-                                    .assertValue(List::isEmpty)
-                                    .assertNoErrors()
-                                    .assertComplete();
-                        } catch (InterruptedException e) {
-                            fail(
-                                    "Error while waiting for "
-                                            + worker.getSimpleName()
-                                            + " to complete: "
-                                            + e.getMessage());
-                        }
-                    }
-                    if (worker.getSimpleName().equals(HourlyWeatherWorker.class.getSimpleName())) {
-                        try {
-                            ((TomorrowIoRepository) repository)
-                                    .getCachedWeather(WeatherEntity.Type.HOURLY)
-                                    .test()
-                                    .await()
-                                    .assertValue(List::isEmpty)
-                                    .assertNoErrors()
-                                    .assertComplete();
-                        } catch (InterruptedException e) {
-                            fail(
-                                    "Error while waiting for "
-                                            + worker.getSimpleName()
-                                            + " to complete: "
-                                            + e.getMessage());
-                        }
-                    }
-                });
+        enqueueWeatherSync("test_with_network_unavailable");
+
+        for (WeatherEntity.Type type : WeatherEntity.Type.values()) {
+            try {
+                ((TomorrowIoRepository) repository)
+                        .getCachedWeather(userPreferencesManager.getLocation(0), type)
+                        .test()
+                        .await()
+                        .assertValue(List::isEmpty)
+                        .assertNoErrors()
+                        .assertComplete();
+            } catch (InterruptedException e) {
+                fail("Error while waiting for the " + type + " cache: " + e.getMessage());
+            }
+        }
     }
 }
@@ -6,16 +6,14 @@ import androidx.annotation.NonNull;
 import androidx.work.Configuration;
 import androidx.work.Constraints;
 import androidx.work.ExistingPeriodicWorkPolicy;
-import androidx.work.NetworkType;
 import androidx.work.PeriodicWorkRequest;
 import androidx.work.WorkManager;
 
-import com.optlab.nimbus.constant.ResponseConstant;
+import com.optlab.nimbus.data.local.cache.MemoryForecastCache;
 import com.optlab.nimbus.data.preferences.UserPreferencesManager;
-import com.optlab.nimbus.worker.CurrentWeatherWorker;
-import com.optlab.nimbus.worker.DailyWeatherWorker;
+import com.optlab.nimbus.worker.CacheMaintenanceWorker;
 import com.optlab.nimbus.worker.FetchingWorkerFactory;
-import com.optlab.nimbus.worker.HourlyWeatherWorker;
+import com.optlab.nimbus.worker.schedule.SyncScheduler;
 
 import java.util.concurrent.TimeUnit;
 
@@ -34,114 +32,67 @@ import timber.log.Timber;
 public class NimbusApplication extends Application implements Configuration.Provider {
     @Inject protected UserPreferencesManager userPrefs;
     @Inject protected FetchingWorkerFactory fetchingWorkerFactory;
+    @Inject protected MemoryForecastCache memoryForecastCache;
+    @Inject protected SyncScheduler syncScheduler;
 
-    private static final String CURRENT_WEATHER_SYNC = "CurrentWeatherSync";
-    private static final String HOURLY_WEATHER_SYNC = "HourlyWeatherSync";
-    private static final String DAILY_WEATHER_SYNC = "DailyWeatherSync";
+    private static final String CACHE_MAINTENANCE = "CacheMaintenance";
+
+    /** Unique names of the per-type syncs that the single weather sync replaced. */
+    private static final String[] LEGACY_WEATHER_SYNCS = {
+        "CurrentWeatherSync", "HourlyWeatherSync", "DailyWeatherSync"
+    };
 
     /**
-     * Network connection constraint for WorkManager. This constraint ensures that the work will
-     * only run when the device is connected to the internet. It is used to prevent the
-     * synchronization of weather data when there is no network connectivity.
+     * Constraint of the cache maintenance. It needs no network and is not urgent, so it waits for
+     * the device to be idle with enough battery, instead of competing with the app or the syncs.
      */
-    private static final Constraints NETWORK_CONNECTION_CONSTRAINT =
-            new Constraints.Builder().setRequiredNetworkType(NetworkType.CONNECTED).build();
+    private static final Constraints MAINTENANCE_CONSTRAINT =
+            new Constraints.Builder()
+                    .setRequiresDeviceIdle(true)
+                    .setRequiresBatteryNotLow(true)
+                    .build();
 
     @Override
     public void onCreate() {
         super.onCreate();
         initTimber(); // Initialize Timber for logging.
+        registerComponentCallbacks(memoryForecastCache); // Trim the forecast cache on pressure.
         syncWeatherData(); // Start syncing weather data.
     }
 
     /**
-     * Syncs weather data by scheduling periodic work requests for current, hourly, and daily
-     * weather updates.
+     * Syncs weather data by scheduling a single periodic work request that refreshes every stale
+     * type of every saved location.
      *
-     * <p>This method uses WorkManager to schedule periodic work requests for fetching weather data.
-     * It ensures that the work requests are unique and will not be duplicated if they already
-     * exist. The work requests are scheduled with different intervals for current, hourly, and
-     * daily weather updates. It will run in the background even if the app is not running.
+     * <p>This method cancels the per-type syncs scheduled by earlier versions, so that only one
+     * job wakes the device, and leaves the weather sync to the {@link SyncScheduler}, which adapts
+     * its interval and plans a sync ahead of the usual opens of the app. The requests are unique
+     * and will not be duplicated if they already exist. They will run in the background even if
+     * the app is not running.
      */
     private void syncWeatherData() {
         WorkManager workManager = WorkManager.getInstance(this);
 
-        workManager.enqueueUniquePeriodicWork(
-                CURRENT_WEATHER_SYNC, // Unique work name for current weather sync
-                ExistingPeriodicWorkPolicy.KEEP, // Keep existing work if it exists
-                getCurrentWeatherSyncRequest() // Request for current weather sync
-                );
+        for (String legacySync : LEGACY_WEATHER_SYNCS) {
+            workManager.cancelUniqueWork(legacySync);
+        }
 
-        workManager.enqueueUniquePeriodicWork(
-                HOURLY_WEATHER_SYNC, // Unique work name for hourly weather sync
-                ExistingPeriodicWorkPolicy.KEEP, // Keep existing work if it exists
-                getHourlyWeatherSyncRequest() // Request for hourly weather sync
-                );
+        syncScheduler.schedule();
 
         workManager.enqueueUniquePeriodicWork(
-                DAILY_WEATHER_SYNC, // Unique work name for daily weather sync
-                ExistingPeriodicWorkPolicy.KEEP, // Keep existing work if it exists
-                getDailyWeatherSyncRequest() // Request for daily weather sync
-                );
+                CACHE_MAINTENANCE, ExistingPeriodicWorkPolicy.KEEP, getCacheMaintenanceRequest());
     }
 
     /**
-     * Creates a periodic work request for hourly weather synchronization.
-     *
-     * <p>This method creates a periodic work request for the HourlyWeatherWorker class, which is
-     * responsible for fetching hourly weather data. The request is set to run at a specified
-     * interval defined by the CURRENT_EXPIRY_TIME constant. When the device is connected to the
-     * internet, the worker will be triggered to fetch the latest hourly weather data.
-     *
-     * @return A PeriodicWorkRequest object for hourly weather synchronization.
-     */
-    @NonNull
-    private static PeriodicWorkRequest getHourlyWeatherSyncRequest() {
-        return new PeriodicWorkRequest.Builder(
-                        HourlyWeatherWorker.class,
-                        ResponseConstant.CURRENT_EXPIRY_TIME,
-                        TimeUnit.MILLISECONDS)
-                .setConstraints(NETWORK_CONNECTION_CONSTRAINT)
-                .build();
-    }
-
-    /**
-     * Creates a periodic work request for current weather synchronization.
-     *
-     * <p>This method creates a periodic work request for the CurrentWeatherWorker class, which is
-     * responsible for fetching current weather data. The request is set to run at a specified
-     * interval defined by the CURRENT_EXPIRY_TIME constant. When the device is connected to the
-     * internet, the worker will be triggered to fetch the latest current weather data.
-     *
-     * @return A PeriodicWorkRequest object for current weather synchronization.
-     */
-    @NonNull
-    private static PeriodicWorkRequest getCurrentWeatherSyncRequest() {
-        return new PeriodicWorkRequest.Builder(
-                        CurrentWeatherWorker.class,
-                        ResponseConstant.CURRENT_EXPIRY_TIME,
-                        TimeUnit.MILLISECONDS)
-                .setConstraints(NETWORK_CONNECTION_CONSTRAINT)
-                .build();
-    }
-
-    /**
-     * Creates a periodic work request for daily weather synchronization.
-     *
-     * <p>This method creates a periodic work request for the DailyWeatherWorker class, which is
-     * responsible for fetching daily weather data. The request is set to run at a specified
-     * interval defined by the DAILY_EXPIRY_TIME constant. When the device is connected to the
-     * internet, the worker will be triggered to fetch the latest daily weather data.
+     * Creates a periodic work request for the maintenance of the local cache, which prunes old
+     * snapshots once a day.
      *
-     * @return A PeriodicWorkRequest object for daily weather synchronization.
+     * @return A PeriodicWorkRequest object for cache maintenance.
      */
     @NonNull
-    private static PeriodicWorkRequest getDailyWeatherSyncRequest() {
-        return new PeriodicWorkRequest.Builder(
-                        DailyWeatherWorker.class,
-                        ResponseConstant.DAILY_EXPIRY_TIME,
-                        TimeUnit.MILLISECONDS)
-                .setConstraints(NETWORK_CONNECTION_CONSTRAINT)
+    private static PeriodicWorkRequest getCacheMaintenanceRequest() {
+        return new PeriodicWorkRequest.Builder(CacheMaintenanceWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(MAINTENANCE_CONSTRAINT)
                 .build();
     }
 
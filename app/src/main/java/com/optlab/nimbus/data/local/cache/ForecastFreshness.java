@@ -0,0 +1,103 @@
+package com.optlab.nimbus.data.local.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.optlab.nimbus.constant.ResponseConstant;
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * ForecastFreshness works out how long a cached series stays valid, from its own intervals rather
+ * than from the time it was fetched.
+ *
+ * <ul>
+ *   <li>An hourly series starts at the next full hour, so it is valid until its first interval
+ *       starts. From then on, the series no longer matches the hourly window.
+ *   <li>A daily series starts tomorrow, so it is valid until the next local midnight, in the
+ *       offset of its intervals. From then on, its first day is today.
+ *   <li>Current conditions are an observation, not a forecast, and keep the fixed expiry time.
+ * </ul>
+ *
+ * <p>A series is never valid for longer than {@link ResponseConstant#DAILY_EXPIRY_TIME}, and one
+ * whose first interval has no parsable start time falls back to the fixed expiry time of its
+ * type. The class is pure: the fetch time is always passed in, so it does not depend on the clock.
+ */
+public final class ForecastFreshness {
+    private ForecastFreshness() {}
+
+    /**
+     * Computes the time a series stops being valid.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param data the series, in chronological order
+     * @param fetchedAt the time the series was fetched, in epoch milliseconds
+     * @return the end of the validity of the series, in epoch milliseconds, exclusive
+     */
+    public static long validUntil(
+            @NonNull WeatherEntity.Type type, @NonNull List<WeatherResponse> data, long fetchedAt) {
+        OffsetDateTime first = data.isEmpty() ? null : startOf(data.get(0));
+        if (type == WeatherEntity.Type.CURRENT || first == null) {
+            return fetchedAt + expiryTime(type);
+        }
+        long horizon =
+                switch (type) {
+                    case HOURLY -> first.toInstant().toEpochMilli();
+                    case DAILY -> nextMidnight(fetchedAt, first);
+                    case CURRENT -> fetchedAt + expiryTime(type);
+                };
+        return Math.min(horizon, fetchedAt + ResponseConstant.DAILY_EXPIRY_TIME);
+    }
+
+    /**
+     * Checks whether a series is still valid.
+     *
+     * @param validUntil the end of the validity of the series, in epoch milliseconds
+     * @param now the current time, in epoch milliseconds
+     * @return true if the series can still be served as fresh
+     */
+    public static boolean isValid(long validUntil, long now) {
+        return now < validUntil;
+    }
+
+    /**
+     * Gets the fixed expiry time of a type, used when a series has no usable interval.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @return the expiry time, in milliseconds
+     */
+    public static long expiryTime(@NonNull WeatherEntity.Type type) {
+        return switch (type) {
+            case DAILY, HOURLY -> ResponseConstant.DAILY_EXPIRY_TIME;
+            case CURRENT -> ResponseConstant.CURRENT_EXPIRY_TIME;
+        };
+    }
+
+    private static long nextMidnight(long fetchedAt, @NonNull OffsetDateTime reference) {
+        return Instant.ofEpochMilli(fetchedAt)
+                .atOffset(reference.getOffset())
+                .toLocalDate()
+                .plusDays(1)
+                .atStartOfDay()
+                .atOffset(reference.getOffset())
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    @Nullable
+    private static OffsetDateTime startOf(@NonNull WeatherResponse weather) {
+        if (weather.getDate() == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(weather.getDate());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.optlab.nimbus.data.local.cache;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.model.CachedForecast;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import timber.log.Timber;
+
+/**
+ * MemoryForecastCache keeps the decoded forecasts that were read or written last, in front of the
+ * database.
+ *
+ * <p>Entries are keyed by type and location, evicted in least recently used order beyond {@link
+ * #DEFAULT_MAX_ENTRIES}, and expire at the end of their validity, computed by {@link
+ * ForecastFreshness} when they are stored, so a hit is always data the database would have
+ * returned as fresh. The cache only holds data that is
+ * also in the database, so it is dropped freely when the system runs low on memory.
+ */
+@Singleton
+public class MemoryForecastCache implements ComponentCallbacks2 {
+    /** Enough for the three types of a handful of locations. */
+    static final int DEFAULT_MAX_ENTRIES = 12;
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Stats is a snapshot of the counters of the cache.
+     *
+     * @param hits the number of reads served from memory
+     * @param misses the number of reads that found no fresh entry
+     * @param evictions the number of entries dropped for size, expiry or memory pressure
+     * @param size the number of entries held
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {}
+
+    private record Key(WeatherEntity.Type type, String locationKey) {}
+
+    private record Entry(List<WeatherResponse> data, long timestamp, long validUntil) {}
+
+    @Inject
+    public MemoryForecastCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    MemoryForecastCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(maxEntries, 0.75f, true);
+    }
+
+    /**
+     * Gets the fresh forecast of the given type and location.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param locationKey the grid cell of the location
+     * @param now the current time, in epoch milliseconds
+     * @return the unmodifiable forecast, or null if none is cached or it is expired
+     */
+    @Nullable
+    public List<WeatherResponse> get(
+            @NonNull WeatherEntity.Type type, @NonNull String locationKey, long now) {
+        CachedForecast forecast = getForecast(type, locationKey, now);
+        return forecast == null ? null : forecast.data();
+    }
+
+    /**
+     * Gets the fresh forecast of the given type and location, with the time it was fetched.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param locationKey the grid cell of the location
+     * @param now the current time, in epoch milliseconds
+     * @return the forecast, or null if none is cached or it is expired
+     */
+    @Nullable
+    public synchronized CachedForecast getForecast(
+            @NonNull WeatherEntity.Type type, @NonNull String locationKey, long now) {
+        Key key = new Key(type, locationKey);
+        Entry entry = entries.get(key);
+        if (entry != null && !ForecastFreshness.isValid(entry.validUntil(), now)) {
+            entries.remove(key);
+            evictions++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new CachedForecast(entry.data(), false, entry.timestamp());
+    }
+
+    /**
+     * Stores the forecast of the given type and location, replacing the previous one.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param locationKey the grid cell of the location
+     * @param data the forecast
+     * @param timestamp the time the forecast was written to the database, in epoch milliseconds
+     * @param validUntil the end of the validity of the forecast, in epoch milliseconds
+     */
+    public synchronized void put(
+            @NonNull WeatherEntity.Type type,
+            @NonNull String locationKey,
+            @NonNull List<WeatherResponse> data,
+            long timestamp,
+            long validUntil) {
+        entries.put(
+                new Key(type, locationKey),
+                new Entry(
+                        Collections.unmodifiableList(new ArrayList<>(data)),
+                        timestamp,
+                        validUntil));
+        trimToSize(maxEntries);
+    }
+
+    /**
+     * Takes a snapshot of the counters of the cache.
+     *
+     * @return the stats
+     */
+    @NonNull
+    public synchronized Stats snapshot() {
+        return new Stats(hits, misses, evictions, entries.size());
+    }
+
+    /** Drops every entry. */
+    public synchronized void clear() {
+        evictions += entries.size();
+        entries.clear();
+    }
+
+    private synchronized void trimToSize(int size) {
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > size && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Releases memory on request of the system. Everything is dropped once the app is in the
+     * background or memory is critical, and half of the entries while the app runs low.
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            clear();
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            trimToSize(maxEntries / 2);
+        }
+        Timber.d("CACHE: Trimmed memory at level %d, %s", level, snapshot());
+    }
+
+    @Override
+    public void onLowMemory() {
+        clear();
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        // The cached forecasts do not depend on the configuration
+    }
+}
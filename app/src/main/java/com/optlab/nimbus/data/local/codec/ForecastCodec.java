@@ -0,0 +1,201 @@
+package com.optlab.nimbus.data.local.codec;
+
+import androidx.annotation.NonNull;
+
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ForecastCodec encodes a forecast timeline into the compact binary payload stored in the local
+ * cache.
+ *
+ * <p>Version 1 of the format is a version byte, the number of intervals, then for each interval:
+ *
+ * <ul>
+ *   <li>the zone offset of its start time in quarter hours, zigzag encoded and plus one, or 0 if
+ *       the interval has no start time;
+ *   <li>its start time in epoch seconds, as the difference to the previous start time;
+ *   <li>temperature, maximum, minimum, pressure, wind speed and humidity in hundredths;
+ *   <li>the raw weather code.
+ * </ul>
+ *
+ * <p>Every number is a zigzag varint, so a typical hourly interval takes about 20 bytes. Values
+ * are rounded to two decimals. The icon and the description are not stored, since resource IDs
+ * change between builds; they are resolved from the weather code when the payload is decoded.
+ */
+public final class ForecastCodec {
+    /** Version of the format written by {@link #encode(List)}. */
+    public static final int VERSION = 1;
+
+    private static final int SECONDS_PER_QUARTER_HOUR = 15 * 60;
+    private static final double SCALE = 100.0;
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ssXXX");
+
+    private ForecastCodec() {
+        // Private constructor to prevent instantiation
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Encodes a forecast timeline.
+     *
+     * @param responses the timeline to encode
+     * @return the binary payload
+     */
+    @NonNull
+    public static byte[] encode(@NonNull List<WeatherResponse> responses) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + responses.size() * 24);
+        out.write(VERSION);
+        writeVarint(out, responses.size());
+        long previousSeconds = 0;
+        for (WeatherResponse response : responses) {
+            OffsetDateTime date = parse(response.getDate());
+            if (date == null) {
+                writeVarint(out, 0);
+            } else {
+                int quarters = date.getOffset().getTotalSeconds() / SECONDS_PER_QUARTER_HOUR;
+                long seconds = date.toEpochSecond();
+                writeVarint(out, zigzag(quarters) + 1);
+                writeVarint(out, zigzag(seconds - previousSeconds));
+                previousSeconds = seconds;
+            }
+            writeFixed(out, response.getTemperature());
+            writeFixed(out, response.getTemperatureMax());
+            writeFixed(out, response.getTemperatureMin());
+            writeFixed(out, response.getPressure());
+            writeFixed(out, response.getWindSpeed());
+            writeFixed(out, response.getHumidity());
+            writeVarint(out, zigzag(response.getWeatherCode()));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a payload written by {@link #encode(List)}.
+     *
+     * @param payload the binary payload
+     * @return the decoded timeline, with icons and descriptions resolved from the weather codes
+     * @throws IOException if the payload is truncated, corrupt or of an unknown version
+     */
+    @NonNull
+    public static List<WeatherResponse> decode(@NonNull byte[] payload) throws IOException {
+        Reader in = new Reader(payload);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported forecast payload version " + version);
+        }
+        long count = in.readVarint();
+        if (count < 0 || count > payload.length) {
+            throw new IOException("Invalid interval count " + count);
+        }
+        List<WeatherResponse> responses = new ArrayList<>((int) count);
+        long previousSeconds = 0;
+        for (int i = 0; i < count; i++) {
+            WeatherResponse weather = new WeatherResponse();
+            long offset = in.readVarint();
+            if (offset != 0) {
+                long quarters = unzigzag(offset - 1);
+                previousSeconds += unzigzag(in.readVarint());
+                weather.setDate(format(previousSeconds, quarters));
+            }
+            weather.setTemperature(in.readFixed());
+            weather.setTemperatureMax(in.readFixed());
+            weather.setTemperatureMin(in.readFixed());
+            weather.setPressure(in.readFixed());
+            weather.setWindSpeed(in.readFixed());
+            weather.setHumidity(in.readFixed());
+            int weatherCode = (int) unzigzag(in.readVarint());
+            WeatherCodeRegistry.Condition condition = WeatherCodeRegistry.lookup(weatherCode);
+            weather.setWeatherCode(weatherCode);
+            weather.setWeatherIcon(condition.dayIcon());
+            weather.setWeatherDescription(condition.description());
+            responses.add(weather);
+        }
+        return responses;
+    }
+
+    private static OffsetDateTime parse(String date) {
+        if (date == null) return null;
+        try {
+            return OffsetDateTime.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String format(long epochSeconds, long quarters) throws IOException {
+        try {
+            ZoneOffset offset =
+                    ZoneOffset.ofTotalSeconds(Math.toIntExact(quarters * SECONDS_PER_QUARTER_HOUR));
+            return DATE_FORMATTER.format(Instant.ofEpochSecond(epochSeconds).atOffset(offset));
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new IOException("Invalid start time in forecast payload", e);
+        }
+    }
+
+    private static void writeFixed(@NonNull ByteArrayOutputStream out, double value) {
+        writeVarint(out, zigzag(Math.round(value * SCALE)));
+    }
+
+    private static void writeVarint(@NonNull ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Reader of a payload, failing with an IOException instead of reading past its end. */
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(@NonNull byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int readByte() throws IOException {
+            if (position >= bytes.length) {
+                throw new IOException("Truncated forecast payload");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in forecast payload");
+        }
+
+        double readFixed() throws IOException {
+            return unzigzag(readVarint()) / SCALE;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.optlab.nimbus.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import com.optlab.nimbus.data.local.entity.ForecastPointEntity;
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Dao
+public interface ForecastPointDao {
+    /**
+     * Reads the intervals of a series that start in the given range, e.g. the next 12 hours or
+     * days 2 to 5.
+     *
+     * @param locationKey the grid cell of the location
+     * @param resolution the type of the series
+     * @param fromEpoch the start of the range in epoch seconds, inclusive
+     * @param toEpoch the end of the range in epoch seconds, exclusive
+     * @return the intervals ordered by start time
+     */
+    @Query(
+            "SELECT * FROM forecast_point WHERE locationKey = :locationKey"
+                    + " AND resolution = :resolution"
+                    + " AND startEpoch >= :fromEpoch AND startEpoch < :toEpoch"
+                    + " ORDER BY startEpoch")
+    List<ForecastPointEntity> getRange(
+            String locationKey, WeatherEntity.Type resolution, long fromEpoch, long toEpoch);
+
+    @Upsert
+    void upsert(List<ForecastPointEntity> points);
+
+    /** Deletes the intervals of every series that start before the given time. */
+    @Query("DELETE FROM forecast_point WHERE startEpoch < :beforeEpoch")
+    int deleteAllBefore(long beforeEpoch);
+
+    @Query("SELECT COUNT(*) FROM forecast_point")
+    int countPoints();
+
+    /**
+     * Writes a fetched series. Only the intervals whose values changed are written. Intervals that
+     * started before the first fetched one are kept, so that the earlier hours of the day can
+     * still be read; the cache maintenance evicts them once they are a day old.
+     *
+     * @param locationKey the grid cell of the location
+     * @param resolution the type of the series
+     * @param points the fetched intervals, ordered by start time
+     * @return the number of intervals written
+     */
+    @Transaction
+    default int upsertSeries(
+            String locationKey, WeatherEntity.Type resolution, List<ForecastPointEntity> points) {
+        if (points.isEmpty()) {
+            return 0;
+        }
+        long fromEpoch = points.get(0).getStartEpoch();
+        long toEpoch = points.get(points.size() - 1).getStartEpoch() + 1;
+
+        Map<Long, ForecastPointEntity> stored = new HashMap<>();
+        for (ForecastPointEntity point : getRange(locationKey, resolution, fromEpoch, toEpoch)) {
+            stored.put(point.getStartEpoch(), point);
+        }
+        List<ForecastPointEntity> changed = new ArrayList<>();
+        for (ForecastPointEntity point : points) {
+            ForecastPointEntity previous = stored.get(point.getStartEpoch());
+            if (previous == null || !previous.hasSameValues(point)) {
+                changed.add(point);
+            }
+        }
+        if (!changed.isEmpty()) {
+            upsert(changed);
+        }
+        return changed.size();
+    }
+
+    /**
+     * Writes several fetched series of a location, e.g. every type of a bundle, in one
+     * transaction.
+     *
+     * @param locationKey the grid cell of the location
+     * @param series the fetched intervals of each type, ordered by start time
+     * @return the number of intervals written
+     */
+    @Transaction
+    default int upsertAllSeries(
+            String locationKey, Map<WeatherEntity.Type, List<ForecastPointEntity>> series) {
+        int written = 0;
+        for (Map.Entry<WeatherEntity.Type, List<ForecastPointEntity>> entry : series.entrySet()) {
+            written += upsertSeries(locationKey, entry.getKey(), entry.getValue());
+        }
+        return written;
+    }
+}
@@ -4,17 +4,140 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
 import com.optlab.nimbus.data.local.entity.WeatherEntity;
 
+import java.util.List;
+
+import io.reactivex.rxjava3.core.Flowable;
+
 @Dao
 public interface WeatherDao {
-    @Query("SELECT * FROM weather_database WHERE type = :type ORDER BY timestamp DESC LIMIT 1")
-    WeatherEntity getLatestWeather(WeatherEntity.Type type);
+    @Query(
+            "SELECT * FROM weather_database WHERE type = :type AND locationKey = :locationKey"
+                    + " ORDER BY timestamp DESC LIMIT 1")
+    WeatherEntity getLatestWeather(WeatherEntity.Type type, String locationKey);
+
+    /**
+     * Observes the latest entry of the given type and location. Room re-runs the query after every
+     * write to the table, so the list, empty or holding the latest entry, is emitted again each
+     * time any entry is written.
+     */
+    @Query(
+            "SELECT * FROM weather_database WHERE type = :type AND locationKey = :locationKey"
+                    + " ORDER BY timestamp DESC LIMIT 1")
+    Flowable<List<WeatherEntity>> observeLatestWeather(
+            WeatherEntity.Type type, String locationKey);
+
+    /**
+     * Reads the latest entry of every type of a location at once, e.g. for the home screen.
+     *
+     * @param locationKey the grid cell of the location
+     * @return at most one entry per type
+     */
+    @Query(
+            "SELECT * FROM weather_database AS w WHERE w.locationKey = :locationKey"
+                    + " AND w.id = (SELECT l.id FROM weather_database AS l"
+                    + " WHERE l.type = w.type AND l.locationKey = :locationKey"
+                    + " ORDER BY l.timestamp DESC, l.id DESC LIMIT 1)")
+    List<WeatherEntity> getLatestWeathers(String locationKey);
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     long insertWeather(WeatherEntity weatherEntity);
 
+    /**
+     * Deletes the older snapshots of one type and location, keeping the latest ones.
+     *
+     * @param type the type of the snapshots
+     * @param locationKey the grid cell of the location
+     * @param keep the number of snapshots kept
+     * @return the number of deleted entries
+     */
+    @Query(
+            "DELETE FROM weather_database WHERE type = :type AND locationKey = :locationKey"
+                    + " AND id NOT IN (SELECT id FROM weather_database"
+                    + " WHERE type = :type AND locationKey = :locationKey"
+                    + " ORDER BY timestamp DESC, id DESC LIMIT :keep)")
+    int deleteOlderSnapshots(WeatherEntity.Type type, String locationKey, int keep);
+
+    /**
+     * Inserts a snapshot and evicts the older snapshots of its type and location in one
+     * transaction, so readers never see the table without the new entry or with the old ones.
+     *
+     * @param weatherEntity the new snapshot
+     * @param keep the number of snapshots kept, including the new one
+     * @return the row ID of the new snapshot, or -1 if it could not be inserted
+     */
+    @Transaction
+    default long insertAndEvict(WeatherEntity weatherEntity, int keep) {
+        long id = insertWeather(weatherEntity);
+        if (id != -1) {
+            deleteOlderSnapshots(weatherEntity.getType(), weatherEntity.getLocationKey(), keep);
+        }
+        return id;
+    }
+
+    /**
+     * Inserts several snapshots, e.g. every type of a bundle, and evicts their older snapshots in
+     * one transaction, so the whole batch costs a single commit.
+     *
+     * @param weatherEntities the new snapshots
+     * @param keep the number of snapshots kept per type and location, including the new one
+     * @return the number of snapshots inserted
+     */
+    @Transaction
+    default int insertAllAndEvict(List<WeatherEntity> weatherEntities, int keep) {
+        int inserted = 0;
+        for (WeatherEntity weatherEntity : weatherEntities) {
+            if (insertAndEvict(weatherEntity, keep) != -1) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Deletes the entries written before the given time.
+     *
+     * @param expiryTime an absolute time in epoch milliseconds, not a duration
+     * @return the number of deleted entries
+     */
     @Query("DELETE FROM weather_database WHERE timestamp < :expiryTime")
-    void deleteExpiry(long expiryTime);
+    int deleteExpiry(long expiryTime);
+
+    /**
+     * Keeps only the latest entries of each type and location, deleting the older snapshots. An
+     * entry is deleted when at least {@code keep} entries of the same key are newer than it.
+     *
+     * @param keep the number of snapshots kept per type and location
+     * @return the number of deleted entries
+     */
+    @Query(
+            "DELETE FROM weather_database WHERE id IN (SELECT w.id FROM weather_database w"
+                    + " WHERE (SELECT COUNT(*) FROM weather_database n"
+                    + " WHERE n.type = w.type AND n.locationKey IS w.locationKey"
+                    + " AND (n.timestamp > w.timestamp"
+                    + " OR (n.timestamp = w.timestamp AND n.id > w.id))) >= :keep)")
+    int deleteOlderSnapshots(int keep);
+
+    /**
+     * Deletes the oldest entries until the payloads of the remaining ones fit in the given budget.
+     * An entry is deleted when, together with every newer entry, it exceeds the budget.
+     *
+     * @param budgetBytes the total size of the payloads that may be kept, in bytes
+     * @return the number of deleted entries
+     */
+    @Query(
+            "DELETE FROM weather_database WHERE id IN (SELECT w.id FROM weather_database w"
+                    + " WHERE (SELECT COALESCE(SUM(LENGTH(n.payload)), 0) FROM weather_database n"
+                    + " WHERE n.timestamp > w.timestamp"
+                    + " OR (n.timestamp = w.timestamp AND n.id >= w.id)) > :budgetBytes)")
+    int deleteOverBudget(long budgetBytes);
+
+    @Query("SELECT COUNT(*) FROM weather_database")
+    int countEntries();
+
+    @Query("SELECT COALESCE(SUM(LENGTH(payload)), 0) FROM weather_database")
+    long sumPayloadBytes();
 }
@@ -3,13 +3,17 @@ package com.optlab.nimbus.data.local.database;
 import androidx.room.Database;
 import androidx.room.RoomDatabase;
 
+import com.optlab.nimbus.data.local.dao.ForecastPointDao;
 import com.optlab.nimbus.data.local.dao.WeatherDao;
+import com.optlab.nimbus.data.local.entity.ForecastPointEntity;
 import com.optlab.nimbus.data.local.entity.WeatherEntity;
 
 @Database(
-        entities = {WeatherEntity.class},
-        version = 1,
-        exportSchema = false)
+        entities = {WeatherEntity.class, ForecastPointEntity.class},
+        version = 6,
+        exportSchema = true)
 public abstract class WeatherDatabase extends RoomDatabase {
     public abstract WeatherDao weatherDao();
+
+    public abstract ForecastPointDao forecastPointDao();
 }
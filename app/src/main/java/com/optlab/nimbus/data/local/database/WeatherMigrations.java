@@ -0,0 +1,201 @@
+package com.optlab.nimbus.data.local.database;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.optlab.nimbus.data.local.codec.ForecastCodec;
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import timber.log.Timber;
+
+/** Schema migrations of the {@link WeatherDatabase}. */
+public final class WeatherMigrations {
+    /**
+     * Adds the location key column. Rows cached before it existed have no location and are never
+     * matched again, so they simply age out.
+     */
+    public static final Migration MIGRATION_1_2 =
+            new Migration(1, 2) {
+                @Override
+                public void migrate(@NonNull SupportSQLiteDatabase db) {
+                    db.execSQL("ALTER TABLE weather_database ADD COLUMN locationKey TEXT");
+                }
+            };
+
+    /**
+     * Replaces the JSON data column with the binary payload column. SQLite cannot drop a column
+     * on every supported API level, so the table is recreated and each row is converted with the
+     * forecast codec. Rows whose JSON cannot be read are dropped; they are fetched again.
+     */
+    public static final Migration MIGRATION_2_3 =
+            new Migration(2, 3) {
+                @Override
+                public void migrate(@NonNull SupportSQLiteDatabase db) {
+                    db.execSQL(
+                            "CREATE TABLE IF NOT EXISTS `weather_database_new` ("
+                                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                                    + "`type` TEXT, `locationKey` TEXT, `payload` BLOB, "
+                                    + "`timestamp` INTEGER NOT NULL)");
+                    Gson gson =
+                            new GsonBuilder()
+                                    .registerTypeAdapter(
+                                            WeatherResponse.class, new LegacyWeatherAdapter())
+                                    .create();
+                    TypeToken<List<WeatherResponse>> listType = new TypeToken<>() {};
+                    try (Cursor cursor =
+                            db.query(
+                                    "SELECT id, type, locationKey, data, timestamp"
+                                            + " FROM weather_database")) {
+                        while (cursor.moveToNext()) {
+                            List<WeatherResponse> responses;
+                            try {
+                                responses = gson.fromJson(cursor.getString(3), listType);
+                            } catch (JsonParseException e) {
+                                Timber.w(e, "Dropping unreadable cache row %d", cursor.getLong(0));
+                                continue;
+                            }
+                            if (responses == null) continue;
+                            ContentValues values = new ContentValues();
+                            values.put("id", cursor.getLong(0));
+                            values.put("type", cursor.getString(1));
+                            values.put("locationKey", cursor.getString(2));
+                            values.put("payload", ForecastCodec.encode(responses));
+                            values.put("timestamp", cursor.getLong(4));
+                            db.insert(
+                                    "weather_database_new",
+                                    SQLiteDatabase.CONFLICT_REPLACE,
+                                    values);
+                        }
+                    }
+                    db.execSQL("DROP TABLE weather_database");
+                    db.execSQL("ALTER TABLE weather_database_new RENAME TO weather_database");
+                }
+            };
+
+    /**
+     * Adds the forecast point table, which holds every interval of a series as its own row. It
+     * starts empty and is filled by the next refresh of each series.
+     */
+    public static final Migration MIGRATION_3_4 =
+            new Migration(3, 4) {
+                @Override
+                public void migrate(@NonNull SupportSQLiteDatabase db) {
+                    db.execSQL(
+                            "CREATE TABLE IF NOT EXISTS `forecast_point` ("
+                                    + "`locationKey` TEXT NOT NULL, `resolution` TEXT NOT NULL, "
+                                    + "`startEpoch` INTEGER NOT NULL, "
+                                    + "`offsetSeconds` INTEGER NOT NULL, "
+                                    + "`temperature` REAL NOT NULL, "
+                                    + "`temperatureMax` REAL NOT NULL, "
+                                    + "`temperatureMin` REAL NOT NULL, "
+                                    + "`pressure` REAL NOT NULL, `windSpeed` REAL NOT NULL, "
+                                    + "`humidity` REAL NOT NULL, `weatherCode` INTEGER NOT NULL, "
+                                    + "`updatedAt` INTEGER NOT NULL, "
+                                    + "PRIMARY KEY(`locationKey`, `resolution`, `startEpoch`))");
+                    db.execSQL(
+                            "CREATE INDEX IF NOT EXISTS `index_forecast_point_startEpoch`"
+                                    + " ON `forecast_point` (`startEpoch`)");
+                }
+            };
+
+    /**
+     * Adds the index of the latest entry lookups, which filter on the type and the location and
+     * sort on the timestamp.
+     */
+    public static final Migration MIGRATION_4_5 =
+            new Migration(4, 5) {
+                @Override
+                public void migrate(@NonNull SupportSQLiteDatabase db) {
+                    db.execSQL(
+                            "CREATE INDEX IF NOT EXISTS"
+                                    + " `index_weather_database_type_locationKey_timestamp`"
+                                    + " ON `weather_database`"
+                                    + " (`type`, `locationKey`, `timestamp`)");
+                }
+            };
+
+    /**
+     * Adds the validity column. Rows cached before it existed are left at 0, and their validity is
+     * computed from their intervals when they are read.
+     */
+    public static final Migration MIGRATION_5_6 =
+            new Migration(5, 6) {
+                @Override
+                public void migrate(@NonNull SupportSQLiteDatabase db) {
+                    db.execSQL(
+                            "ALTER TABLE weather_database"
+                                    + " ADD COLUMN validUntil INTEGER NOT NULL DEFAULT 0");
+                }
+            };
+
+    /** Every migration, in order, to be registered on the database builder. */
+    public static final Migration[] ALL = {
+        MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6
+    };
+
+    private WeatherMigrations() {}
+
+    /**
+     * Reads a WeatherResponse from the JSON data column of version 2. The icon and the description
+     * were written as resource IDs, which are not stable from one build to the next, so they are
+     * ignored and derived again from the weather code.
+     */
+    private static final class LegacyWeatherAdapter extends TypeAdapter<WeatherResponse> {
+        @Override
+        public void write(JsonWriter out, WeatherResponse value) {
+            throw new UnsupportedOperationException("The JSON data column is only ever read");
+        }
+
+        @Override
+        public WeatherResponse read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            WeatherResponse weather = new WeatherResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "date" -> weather.setDate(in.nextString());
+                    case "temperature" -> weather.setTemperature(in.nextDouble());
+                    case "temperatureMax" -> weather.setTemperatureMax(in.nextDouble());
+                    case "temperatureMin" -> weather.setTemperatureMin(in.nextDouble());
+                    case "pressure" -> weather.setPressure(in.nextDouble());
+                    case "windSpeed" -> weather.setWindSpeed(in.nextDouble());
+                    case "humidity" -> weather.setHumidity(in.nextDouble());
+                    case "weatherCode" -> weather.setWeatherCode(in.nextInt());
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            WeatherCodeRegistry.Condition condition =
+                    WeatherCodeRegistry.lookup(weather.getWeatherCode());
+            weather.setWeatherIcon(condition.dayIcon());
+            weather.setWeatherDescription(condition.description());
+            return weather;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.optlab.nimbus.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.TypeConverters;
+
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ForecastPointEntity is a single interval of a forecast series, one row per location, resolution
+ * and start time.
+ *
+ * <p>The composite primary key orders the rows by location, resolution and start time, so a
+ * range of a series is read with one index range scan and a single interval is replaced in place.
+ * The index on the start time keeps the eviction of past intervals of every location cheap.
+ */
+@Data
+@NoArgsConstructor
+@Entity(
+        tableName = "forecast_point",
+        primaryKeys = {"locationKey", "resolution", "startEpoch"},
+        indices = {@Index("startEpoch")})
+@TypeConverters({Converters.class})
+public class ForecastPointEntity {
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ssXXX");
+
+    @NonNull private String locationKey = ""; // Grid cell of the location
+    @NonNull private WeatherEntity.Type resolution = WeatherEntity.Type.HOURLY; // Series type
+    private long startEpoch; // Start time of the interval, in epoch seconds
+    private int offsetSeconds; // Zone offset the start time was reported in
+    private double temperature;
+    private double temperatureMax;
+    private double temperatureMin;
+    private double pressure;
+    private double windSpeed;
+    private double humidity;
+    private int weatherCode;
+    private long updatedAt; // Time the interval was last written, in epoch milliseconds
+
+    /**
+     * Creates the row of an interval.
+     *
+     * @param locationKey the grid cell of the location
+     * @param resolution the type of the series the interval belongs to
+     * @param response the interval
+     * @param updatedAt the time of the write, in epoch milliseconds
+     * @return the row, or null if the interval has no readable start time
+     */
+    @Nullable
+    public static ForecastPointEntity from(
+            @NonNull String locationKey,
+            @NonNull WeatherEntity.Type resolution,
+            @NonNull WeatherResponse response,
+            long updatedAt) {
+        if (response.getDate() == null) {
+            return null;
+        }
+        OffsetDateTime start;
+        try {
+            start = OffsetDateTime.parse(response.getDate());
+        } catch (DateTimeException e) {
+            return null;
+        }
+        ForecastPointEntity point = new ForecastPointEntity();
+        point.setLocationKey(locationKey);
+        point.setResolution(resolution);
+        point.setStartEpoch(start.toEpochSecond());
+        point.setOffsetSeconds(start.getOffset().getTotalSeconds());
+        point.setTemperature(response.getTemperature());
+        point.setTemperatureMax(response.getTemperatureMax());
+        point.setTemperatureMin(response.getTemperatureMin());
+        point.setPressure(response.getPressure());
+        point.setWindSpeed(response.getWindSpeed());
+        point.setHumidity(response.getHumidity());
+        point.setWeatherCode(response.getWeatherCode());
+        point.setUpdatedAt(updatedAt);
+        return point;
+    }
+
+    /**
+     * Maps the row back to an interval, with the icon and the description resolved from the
+     * weather code.
+     *
+     * @return the interval
+     */
+    @NonNull
+    public WeatherResponse toWeatherResponse() {
+        WeatherCodeRegistry.Condition condition = WeatherCodeRegistry.lookup(weatherCode);
+        return new WeatherResponse(
+                DATE_FORMATTER.format(
+                        Instant.ofEpochSecond(startEpoch)
+                                .atOffset(ZoneOffset.ofTotalSeconds(offsetSeconds))),
+                temperature,
+                temperatureMax,
+                temperatureMin,
+                pressure,
+                windSpeed,
+                humidity,
+                weatherCode,
+                condition.dayIcon(),
+                condition.description());
+    }
+
+    /**
+     * Checks whether the row holds the same interval and values as another one, ignoring the
+     * time it was written.
+     *
+     * @param other the other row
+     * @return true if a write of the other row would not change anything but its write time
+     */
+    public boolean hasSameValues(@NonNull ForecastPointEntity other) {
+        return locationKey.equals(other.locationKey)
+                && resolution == other.resolution
+                && startEpoch == other.startEpoch
+                && offsetSeconds == other.offsetSeconds
+                && Double.compare(temperature, other.temperature) == 0
+                && Double.compare(temperatureMax, other.temperatureMax) == 0
+                && Double.compare(temperatureMin, other.temperatureMin) == 0
+                && Double.compare(pressure, other.pressure) == 0
+                && Double.compare(windSpeed, other.windSpeed) == 0
+                && Double.compare(humidity, other.humidity) == 0
+                && weatherCode == other.weatherCode;
+    }
+}
@@ -1,17 +1,21 @@
 package com.optlab.nimbus.data.local.entity;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
 
-import com.optlab.nimbus.constant.ResponseConstant;
+import com.optlab.nimbus.data.local.cache.ForecastFreshness;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
-@Entity(tableName = "weather_database")
+@Entity(
+        tableName = "weather_database",
+        indices = {@Index({"type", "locationKey", "timestamp"})})
 @TypeConverters({Converters.class})
 public class WeatherEntity {
     public enum Type {
@@ -24,15 +28,40 @@ public class WeatherEntity {
     private int id; // Unique ID for each weather data entry
 
     private Type type; // Type of weather data (DAILY, HOURLY, CURRENT)
-    private String data; // Weather data in JSON format
+    private String locationKey; // Grid cell of the location, see Coordinates#getLocationKey
+    private byte[] payload; // Weather data encoded by ForecastCodec
     private long timestamp; // Timestamp of the weather data
 
+    @ColumnInfo(defaultValue = "0")
+    private long validUntil; // End of validity of the data, see ForecastFreshness, or 0 if unknown
+
     public boolean isExpired() {
-        return switch (type) {
-            case DAILY, HOURLY ->
-                    System.currentTimeMillis() - timestamp > ResponseConstant.DAILY_EXPIRY_TIME;
-            case CURRENT ->
-                    System.currentTimeMillis() - timestamp > ResponseConstant.CURRENT_EXPIRY_TIME;
-        };
+        return isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Checks whether the weather data is expired at the given time. Entries written before the
+     * validity was stored fall back to the fixed expiry time of their type.
+     *
+     * @param now the current time, in epoch milliseconds
+     * @return true if the data is past its validity
+     */
+    public boolean isExpired(long now) {
+        return validUntil > 0
+                ? !ForecastFreshness.isValid(validUntil, now)
+                : isExpired(type, timestamp, now);
+    }
+
+    /**
+     * Checks whether weather data of the given type, written at the given time, is older than the
+     * fixed expiry time of its type.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param timestamp the time the data was written, in epoch milliseconds
+     * @param now the current time, in epoch milliseconds
+     * @return true if the data is older than the expiry time of its type
+     */
+    public static boolean isExpired(Type type, long timestamp, long now) {
+        return now - timestamp > ForecastFreshness.expiryTime(type);
     }
 }
@@ -0,0 +1,137 @@
+package com.optlab.nimbus.data.local.maintenance;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.optlab.nimbus.data.local.dao.ForecastPointDao;
+import com.optlab.nimbus.data.local.dao.WeatherDao;
+import com.optlab.nimbus.data.local.database.WeatherDatabase;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import timber.log.Timber;
+
+/**
+ * CacheMaintenance bounds the size of the local cache.
+ *
+ * <p>Every refresh writes a new snapshot entry, so the weather table grows with each sync. A run
+ * keeps the latest {@link #SNAPSHOTS_PER_KEY} snapshots of each type and location, drops entries
+ * older than {@link #MAX_AGE_MILLIS}, then the oldest entries until the payloads fit in {@link
+ * #PAYLOAD_BUDGET_BYTES}, and evicts the forecast points that started more than a day ago. When
+ * enough of the database file is left free by the deletions, the file is rebuilt with VACUUM.
+ *
+ * <p>A run takes a few full scans of small tables and is meant to be called from a background
+ * worker, never from the read path.
+ */
+@Singleton
+public class CacheMaintenance {
+    /** Snapshots kept per type and location: the latest one and the one it replaced. */
+    public static final int SNAPSHOTS_PER_KEY = 2;
+
+    /** Age after which a snapshot is of no use, even as a fallback. */
+    static final long MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    /** Total size of the payloads kept, enough for a few dozen locations. */
+    static final long PAYLOAD_BUDGET_BYTES = 256L * 1024;
+
+    /** Age after which a past forecast point is evicted, keeping today's earlier intervals. */
+    static final long POINT_RETENTION_SECONDS = TimeUnit.DAYS.toSeconds(1);
+
+    /** Free space of the database file above which it is rebuilt. */
+    static final long VACUUM_FREE_BYTES = 512L * 1024;
+
+    /** Fraction of the database file left free above which it is rebuilt. */
+    static final double VACUUM_FREE_RATIO = 0.25;
+
+    private final WeatherDatabase database;
+    private final WeatherDao weatherDao;
+    private final ForecastPointDao forecastPointDao;
+    private volatile CacheStats lastStats;
+
+    @Inject
+    public CacheMaintenance(@NonNull WeatherDatabase database) {
+        this.database = database;
+        this.weatherDao = database.weatherDao();
+        this.forecastPointDao = database.forecastPointDao();
+    }
+
+    /**
+     * Prunes the cache and rebuilds the database file if enough of it is free.
+     *
+     * @param nowMillis the current time, in epoch milliseconds
+     * @return the size of the cache after the run
+     */
+    @NonNull
+    public CacheStats run(long nowMillis) {
+        int deletedEntries =
+                database.runInTransaction(
+                        () ->
+                                weatherDao.deleteOlderSnapshots(SNAPSHOTS_PER_KEY)
+                                        + weatherDao.deleteExpiry(nowMillis - MAX_AGE_MILLIS)
+                                        + weatherDao.deleteOverBudget(PAYLOAD_BUDGET_BYTES));
+        int deletedPoints =
+                forecastPointDao.deleteAllBefore(
+                        TimeUnit.MILLISECONDS.toSeconds(nowMillis) - POINT_RETENTION_SECONDS);
+
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        long pageSize = pragma(db, "page_size");
+        long freeBytes = pragma(db, "freelist_count") * pageSize;
+        long databaseBytes = pragma(db, "page_count") * pageSize;
+        boolean vacuumed = shouldVacuum(freeBytes, databaseBytes);
+        if (vacuumed) {
+            db.execSQL("VACUUM");
+            freeBytes = pragma(db, "freelist_count") * pageSize;
+            databaseBytes = pragma(db, "page_count") * pageSize;
+        }
+
+        CacheStats stats =
+                new CacheStats(
+                        weatherDao.countEntries(),
+                        weatherDao.sumPayloadBytes(),
+                        forecastPointDao.countPoints(),
+                        databaseBytes,
+                        freeBytes,
+                        deletedEntries,
+                        deletedPoints,
+                        vacuumed);
+        lastStats = stats;
+        Timber.d("CACHE: %s", stats);
+        return stats;
+    }
+
+    /**
+     * Gets the size of the cache after the last run.
+     *
+     * @return the stats of the last run, or null if none ran in this process
+     */
+    @Nullable
+    public CacheStats getLastStats() {
+        return lastStats;
+    }
+
+    /**
+     * Decides whether the database file is worth rebuilding. VACUUM rewrites the whole file, so it
+     * only runs once a significant share of it is free.
+     *
+     * @param freeBytes the size of the free pages, in bytes
+     * @param databaseBytes the size of the database file, in bytes
+     * @return true if the file should be rebuilt
+     */
+    static boolean shouldVacuum(long freeBytes, long databaseBytes) {
+        return freeBytes >= VACUUM_FREE_BYTES
+                && databaseBytes > 0
+                && (double) freeBytes / databaseBytes >= VACUUM_FREE_RATIO;
+    }
+
+    private static long pragma(@NonNull SupportSQLiteDatabase db, @NonNull String name) {
+        try (Cursor cursor = db.query("PRAGMA " + name)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.optlab.nimbus.data.local.maintenance;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * CacheStats is a snapshot of the size of the local cache, taken after a maintenance run.
+ *
+ * @param entries the number of snapshot entries in the weather table
+ * @param payloadBytes the total size of their payloads, in bytes
+ * @param forecastPoints the number of rows in the forecast point table
+ * @param databaseBytes the size of the database file, in bytes
+ * @param freeBytes the size of the free pages of the database file, in bytes
+ * @param deletedEntries the number of snapshot entries deleted by the run
+ * @param deletedPoints the number of forecast points deleted by the run
+ * @param vacuumed whether the run rebuilt the database file
+ */
+public record CacheStats(
+        int entries,
+        long payloadBytes,
+        int forecastPoints,
+        long databaseBytes,
+        long freeBytes,
+        int deletedEntries,
+        int deletedPoints,
+        boolean vacuumed) {
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(
+                Locale.ROOT,
+                "entries=%d (%d B) points=%d file=%d B free=%d B deleted=%d/%d vacuum=%b",
+                entries,
+                payloadBytes,
+                forecastPoints,
+                databaseBytes,
+                freeBytes,
+                deletedEntries,
+                deletedPoints,
+                vacuumed);
+    }
+}
@@ -0,0 +1,37 @@
+package com.optlab.nimbus.data.model;
+
+import androidx.annotation.NonNull;
+
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CachedForecast is a forecast together with how fresh it is.
+ *
+ * @param data the forecast, empty if nothing is known for the location
+ * @param stale whether the forecast is expired, or missing, and should be revalidated
+ * @param timestamp the time the forecast was fetched, in epoch milliseconds, or 0 if missing
+ */
+public record CachedForecast(@NonNull List<WeatherResponse> data, boolean stale, long timestamp) {
+    private static final CachedForecast MISSING =
+            new CachedForecast(Collections.emptyList(), true, 0);
+
+    /** Gets the forecast of a location with nothing cached. */
+    @NonNull
+    public static CachedForecast missing() {
+        return MISSING;
+    }
+
+    /**
+     * Checks whether another forecast would show the same thing: the same data with the same
+     * staleness, whenever it was fetched.
+     *
+     * @param other the other forecast
+     * @return true if both have the same data and staleness
+     */
+    public boolean hasSameContent(@NonNull CachedForecast other) {
+        return stale == other.stale && data.equals(other.data);
+    }
+}
@@ -2,6 +2,8 @@ package com.optlab.nimbus.data.model;
 
 import androidx.annotation.NonNull;
 
+import java.util.Locale;
+
 /**
  * Coordinates is a record class that represents a latitude/longitude pair.
  *
@@ -9,6 +11,9 @@ import androidx.annotation.NonNull;
  * @param lon representing the longitude of the location
  */
 public record Coordinates(double lat, double lon) {
+    /** Default number of decimals of the location grid, a cell of about 1.1 km. */
+    public static final int DEFAULT_PRECISION = 2;
+
     public Coordinates {
         if (!isValid(lat, lon)) {
             throw new IllegalArgumentException(
@@ -47,7 +52,35 @@ public record Coordinates(double lat, double lon) {
 
     public String getCoordinates(int precision) {
         String format = "%1$." + precision + "f,%2$." + precision + "f";
-        return String.format(format, lat, lon);
+        return String.format(Locale.ROOT, format, lat, lon);
+    }
+
+    /**
+     * Snaps the coordinates to a decimal grid, so that nearby points share the same value.
+     *
+     * @param precision the number of decimals to keep
+     * @return the coordinates rounded to the given number of decimals
+     */
+    public Coordinates snap(int precision) {
+        double scale = Math.pow(10, precision);
+        // Adding 0.0 turns a negative zero into a positive one, so both produce the same key
+        return new Coordinates(
+                Math.round(lat * scale) / scale + 0.0, Math.round(lon * scale) / scale + 0.0);
+    }
+
+    /**
+     * Returns a stable key of the grid cell that contains these coordinates, independent of the
+     * default locale, suitable as a cache key.
+     *
+     * @param precision the number of decimals of the grid
+     * @return the key of the grid cell, e.g. "10.78,106.70"
+     */
+    public String getLocationKey(int precision) {
+        return snap(precision).getCoordinates(precision);
+    }
+
+    public String getLocationKey() {
+        return getLocationKey(DEFAULT_PRECISION);
     }
 
     /** Calculates the Haversine distance (in meters) between this and another Coordinates. */
@@ -0,0 +1,258 @@
+package com.optlab.nimbus.data.model;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.StringRes;
+
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * ForecastSeries is a columnar view of a forecast timeline.
+ *
+ * <p>Every value of the timeline is stored in a primitive array, one per field, and the start time
+ * of each interval is parsed once into epoch milliseconds when the series is built. Adapters read
+ * the series through {@link Row}, a lightweight view of one index, so binding an item neither
+ * parses a date nor walks a graph of boxed beans.
+ */
+public final class ForecastSeries {
+    private final long[] epochMillis;
+    private final float[] temperature;
+    private final float[] temperatureMin;
+    private final float[] temperatureMax;
+    private final float[] pressure;
+    private final float[] windSpeed;
+    private final float[] humidity;
+    private final short[] weatherCode;
+    private final ZoneOffset zoneOffset;
+    private final int size;
+
+    private ForecastSeries(int capacity, @NonNull ZoneOffset zoneOffset) {
+        this.epochMillis = new long[capacity];
+        this.temperature = new float[capacity];
+        this.temperatureMin = new float[capacity];
+        this.temperatureMax = new float[capacity];
+        this.pressure = new float[capacity];
+        this.windSpeed = new float[capacity];
+        this.humidity = new float[capacity];
+        this.weatherCode = new short[capacity];
+        this.zoneOffset = zoneOffset;
+        this.size = capacity;
+    }
+
+    /**
+     * Builds a series from a list of WeatherResponse. Intervals without a parsable start time are
+     * skipped. The zone offset of the series is the one of the first interval, UTC if there is
+     * none.
+     *
+     * @param responses the timeline to convert
+     * @return the columnar series
+     */
+    @NonNull
+    public static ForecastSeries from(@NonNull List<WeatherResponse> responses) {
+        OffsetDateTime[] times = new OffsetDateTime[responses.size()];
+        int count = 0;
+        for (int i = 0; i < times.length; i++) {
+            times[i] = parse(responses.get(i).getDate());
+            if (times[i] != null) count++;
+        }
+        ZoneOffset offset = ZoneOffset.UTC;
+        for (OffsetDateTime time : times) {
+            if (time != null) {
+                offset = time.getOffset();
+                break;
+            }
+        }
+
+        ForecastSeries series = new ForecastSeries(count, offset);
+        int row = 0;
+        for (int i = 0; i < times.length; i++) {
+            if (times[i] == null) continue;
+            WeatherResponse response = responses.get(i);
+            series.epochMillis[row] = times[i].toInstant().toEpochMilli();
+            series.temperature[row] = (float) response.getTemperature();
+            series.temperatureMin[row] = (float) response.getTemperatureMin();
+            series.temperatureMax[row] = (float) response.getTemperatureMax();
+            series.pressure[row] = (float) response.getPressure();
+            series.windSpeed[row] = (float) response.getWindSpeed();
+            series.humidity[row] = (float) response.getHumidity();
+            series.weatherCode[row] = (short) response.getWeatherCode();
+            row++;
+        }
+        return series;
+    }
+
+    private static OffsetDateTime parse(String date) {
+        if (date == null) return null;
+        try {
+            return OffsetDateTime.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @NonNull
+    public ZoneOffset getZoneOffset() {
+        return zoneOffset;
+    }
+
+    public long epochMillis(int index) {
+        return epochMillis[index];
+    }
+
+    public float temperature(int index) {
+        return temperature[index];
+    }
+
+    public float temperatureMin(int index) {
+        return temperatureMin[index];
+    }
+
+    public float temperatureMax(int index) {
+        return temperatureMax[index];
+    }
+
+    public float pressure(int index) {
+        return pressure[index];
+    }
+
+    public float windSpeed(int index) {
+        return windSpeed[index];
+    }
+
+    public float humidity(int index) {
+        return humidity[index];
+    }
+
+    public int weatherCode(int index) {
+        return weatherCode[index];
+    }
+
+    /**
+     * Returns the row at the given index, as a view of the series.
+     *
+     * @param index the index of the interval
+     * @return the row of the interval
+     * @throws IndexOutOfBoundsException if the index is outside the series
+     */
+    @NonNull
+    public Row row(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Row(this, index);
+    }
+
+    /**
+     * Returns the rows of the series as a list. Rows are created on access and only hold a
+     * reference to the series and their index.
+     */
+    @NonNull
+    public List<Row> rows() {
+        return new AbstractList<>() {
+            @Override
+            public Row get(int index) {
+                return row(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /** Row is a view of one interval of a ForecastSeries, with bean getters for data binding. */
+    public static final class Row {
+        private final ForecastSeries series;
+        private final int index;
+
+        Row(@NonNull ForecastSeries series, int index) {
+            this.series = series;
+            this.index = index;
+        }
+
+        public long getEpochMillis() {
+            return series.epochMillis[index];
+        }
+
+        @NonNull
+        public ZoneOffset getZoneOffset() {
+            return series.zoneOffset;
+        }
+
+        public double getTemperature() {
+            return series.temperature[index];
+        }
+
+        public double getTemperatureMin() {
+            return series.temperatureMin[index];
+        }
+
+        public double getTemperatureMax() {
+            return series.temperatureMax[index];
+        }
+
+        public double getPressure() {
+            return series.pressure[index];
+        }
+
+        public double getWindSpeed() {
+            return series.windSpeed[index];
+        }
+
+        public double getHumidity() {
+            return series.humidity[index];
+        }
+
+        public int getWeatherCode() {
+            return series.weatherCode[index];
+        }
+
+        @DrawableRes
+        public int getWeatherIcon() {
+            return WeatherCodeRegistry.iconOf(getWeatherCode());
+        }
+
+        @StringRes
+        public int getWeatherDescription() {
+            return WeatherCodeRegistry.descriptionOf(getWeatherCode());
+        }
+
+        /** Returns true if both rows start at the same time, for DiffUtil. */
+        public boolean isSameInterval(@NonNull Row other) {
+            return getEpochMillis() == other.getEpochMillis();
+        }
+
+        /** Returns true if both rows hold the same values, for DiffUtil. */
+        public boolean hasSameContent(@NonNull Row other) {
+            ForecastSeries a = series;
+            ForecastSeries b = other.series;
+            int i = index;
+            int j = other.index;
+            return a.epochMillis[i] == b.epochMillis[j]
+                    && a.zoneOffset.equals(b.zoneOffset)
+                    && Float.compare(a.temperature[i], b.temperature[j]) == 0
+                    && Float.compare(a.temperatureMin[i], b.temperatureMin[j]) == 0
+                    && Float.compare(a.temperatureMax[i], b.temperatureMax[j]) == 0
+                    && Float.compare(a.pressure[i], b.pressure[j]) == 0
+                    && Float.compare(a.windSpeed[i], b.windSpeed[j]) == 0
+                    && Float.compare(a.humidity[i], b.humidity[j]) == 0
+                    && a.weatherCode[i] == b.weatherCode[j];
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.optlab.nimbus.data.network;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.StringRes;
+
+import com.optlab.nimbus.R;
+
+/**
+ * WeatherCodeRegistry maps a weather code to its icon, description and severity.
+ *
+ * <p>Codes follow the four digit scheme of Tomorrow.io, where the first digit is the family of
+ * the condition (1 clear or cloudy, 2 fog, 3 wind, 4 rain, 5 snow, 6 freezing rain, 7 ice
+ * pellets, 8 thunderstorm). Providers with another scheme translate their codes to this one
+ * before the lookup, so the registry is shared by all of them.
+ *
+ * <p>The known codes are stored in a table indexed by a perfect hash of the code, built once when
+ * the class is loaded, so a lookup is one array access and one comparison. A code that is not in
+ * the table never fails: it falls back to the generic condition of its family, or to
+ * {@link #UNKNOWN} when the family itself is unknown.
+ */
+public final class WeatherCodeRegistry {
+    /** How severe a condition is, from nothing to report to dangerous. */
+    public enum Severity {
+        NONE,
+        LIGHT,
+        MODERATE,
+        HEAVY,
+        SEVERE
+    }
+
+    /**
+     * Condition describes a weather code.
+     *
+     * @param code the weather code
+     * @param dayIcon the icon shown during the day
+     * @param nightIcon the icon shown at night, the day icon when there is no night variant
+     * @param description the description of the condition
+     * @param severity the severity of the condition
+     */
+    public record Condition(
+            int code,
+            @DrawableRes int dayIcon,
+            @DrawableRes int nightIcon,
+            @StringRes int description,
+            @NonNull Severity severity) {
+        @DrawableRes
+        public int icon(boolean night) {
+            return night ? nightIcon : dayIcon;
+        }
+    }
+
+    /** The condition returned for a code outside every known family. */
+    public static final Condition UNKNOWN =
+            condition(0, R.drawable.ic_large_2x_10010_cloudy, R.string.unknown, Severity.NONE);
+
+    private static final int FAMILIES = 9;
+    private static final int SLOTS_PER_FAMILY = 8;
+
+    private static final Condition[] KNOWN = {
+        condition(
+                1000,
+                R.drawable.ic_large_2x_10000_clear,
+                R.drawable.clear_night,
+                R.string.clear_sunny,
+                Severity.NONE),
+        condition(1001, R.drawable.ic_large_2x_10010_cloudy, R.string.cloudy, Severity.NONE),
+        condition(
+                1100,
+                R.drawable.ic_large_2x_11000_mostly_clear,
+                R.drawable.few_clouds_night,
+                R.string.mostly_clear,
+                Severity.NONE),
+        condition(
+                1101,
+                R.drawable.ic_large_2x_11010_partly_cloudy,
+                R.drawable.few_clouds_night,
+                R.string.partly_cloudy,
+                Severity.NONE),
+        condition(
+                1102,
+                R.drawable.ic_large_2x_11020_mostly_cloudy,
+                R.string.mostly_cloudy,
+                Severity.NONE),
+        condition(2000, R.drawable.ic_large_2x_20000_fog, R.string.fog, Severity.MODERATE),
+        condition(2100, R.drawable.ic_large_2x_21000_light_fog, R.string.light_fog, Severity.LIGHT),
+        condition(4000, R.drawable.ic_large_2x_40000_drizzle, R.string.drizzle, Severity.LIGHT),
+        condition(4001, R.drawable.ic_large_2x_40010_rain, R.string.rain, Severity.MODERATE),
+        condition(
+                4200, R.drawable.ic_large_2x_42000_light_rain, R.string.light_rain, Severity.LIGHT),
+        condition(
+                4201, R.drawable.ic_large_2x_42010_heavy_rain, R.string.heavy_rain, Severity.HEAVY),
+        condition(5000, R.drawable.ic_large_2x_50000_snow, R.string.snow, Severity.MODERATE),
+        condition(5001, R.drawable.ic_large_2x_50010_flurries, R.string.flurries, Severity.LIGHT),
+        condition(
+                5100, R.drawable.ic_large_2x_51000_light_snow, R.string.light_snow, Severity.LIGHT),
+        condition(
+                5101, R.drawable.ic_large_2x_51010_heavy_snow, R.string.heavy_snow, Severity.HEAVY),
+        condition(
+                6000,
+                R.drawable.ic_large_2x_60000_freezing_rain_drizzle,
+                R.string.freezing_drizzle,
+                Severity.MODERATE),
+        condition(
+                6001,
+                R.drawable.ic_large_2x_60010_freezing_rain,
+                R.string.freezing_rain,
+                Severity.HEAVY),
+        condition(
+                6200,
+                R.drawable.ic_large_2x_62000_light_freezing_rain,
+                R.string.light_freezing_rain,
+                Severity.MODERATE),
+        condition(
+                6201,
+                R.drawable.ic_large_2x_62010_heavy_freezing_rain,
+                R.string.heavy_freezing_rain,
+                Severity.SEVERE),
+        condition(
+                7000,
+                R.drawable.ic_large_2x_70000_ice_pellets,
+                R.string.ice_pellets,
+                Severity.HEAVY),
+        condition(
+                7101,
+                R.drawable.ic_large_2x_71010_heavy_ice_pellets,
+                R.string.heavy_ice_pellets,
+                Severity.SEVERE),
+        condition(
+                7102,
+                R.drawable.ic_large_2x_71020_light_ice_pellets,
+                R.string.light_ice_pellets,
+                Severity.MODERATE),
+        condition(
+                8000,
+                R.drawable.ic_large_2x_80000_thunderstorm,
+                R.string.thunderstorm,
+                Severity.SEVERE),
+    };
+
+    /** Generic condition of each family, indexed by the first digit of the code. */
+    private static final Condition[] FAMILY_FALLBACKS = {
+        UNKNOWN,
+        condition(1000, R.drawable.ic_large_2x_10010_cloudy, R.string.cloudy, Severity.NONE),
+        condition(2000, R.drawable.ic_large_2x_20000_fog, R.string.fog, Severity.MODERATE),
+        condition(3000, R.drawable.ic_wind, R.string.wind, Severity.MODERATE),
+        condition(4000, R.drawable.ic_large_2x_40010_rain, R.string.rain, Severity.MODERATE),
+        condition(5000, R.drawable.ic_large_2x_50000_snow, R.string.snow, Severity.MODERATE),
+        condition(
+                6000,
+                R.drawable.ic_large_2x_60010_freezing_rain,
+                R.string.freezing_rain,
+                Severity.HEAVY),
+        condition(
+                7000,
+                R.drawable.ic_large_2x_70000_ice_pellets,
+                R.string.ice_pellets,
+                Severity.HEAVY),
+        condition(
+                8000,
+                R.drawable.ic_large_2x_80000_thunderstorm,
+                R.string.thunderstorm,
+                Severity.SEVERE),
+    };
+
+    private static final Condition[] TABLE = buildTable();
+
+    private WeatherCodeRegistry() {
+        // Private constructor to prevent instantiation
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Looks up the condition of a weather code. This never fails: unknown codes fall back to the
+     * condition of their family, or to {@link #UNKNOWN}.
+     *
+     * @param code the weather code
+     * @return the condition of the code
+     */
+    @NonNull
+    public static Condition lookup(int code) {
+        int family = familyOf(code);
+        if (family < 0) {
+            return UNKNOWN;
+        }
+        int slot = slotOf(code);
+        if (slot >= 0) {
+            Condition condition = TABLE[slot];
+            if (condition != null && condition.code() == code) {
+                return condition;
+            }
+        }
+        return FAMILY_FALLBACKS[family];
+    }
+
+    /** Returns true if the code has its own entry, rather than a fallback. */
+    public static boolean isKnown(int code) {
+        return lookup(code).code() == code && code != UNKNOWN.code();
+    }
+
+    @DrawableRes
+    public static int iconOf(int code) {
+        return lookup(code).dayIcon();
+    }
+
+    @StringRes
+    public static int descriptionOf(int code) {
+        return lookup(code).description();
+    }
+
+    /** Returns the family of a code, its first digit, or -1 if it is not a known family. */
+    private static int familyOf(int code) {
+        if (code < 1000 || code >= FAMILIES * 1000) {
+            return -1;
+        }
+        return code / 1000;
+    }
+
+    /**
+     * Perfect hash of the known codes. Within a family, the hundreds digit and the units digit
+     * are at most 2 and the tens digit is 0, so {@code hundreds * 2 + units} fits in the slots of
+     * the family. Codes outside that shape have no slot, and the few shapes that share a slot are
+     * told apart by the comparison in {@link #lookup(int)}.
+     *
+     * @return the slot of the code, or -1 if the code cannot be in the table
+     */
+    private static int slotOf(int code) {
+        int hundreds = code % 1000 / 100;
+        int tens = code % 100 / 10;
+        int units = code % 10;
+        if (tens != 0 || hundreds > 2 || units > 2) {
+            return -1;
+        }
+        return code / 1000 * SLOTS_PER_FAMILY + hundreds * 2 + units;
+    }
+
+    private static Condition[] buildTable() {
+        Condition[] table = new Condition[FAMILIES * SLOTS_PER_FAMILY];
+        for (Condition condition : KNOWN) {
+            int slot = slotOf(condition.code());
+            if (slot < 0 || table[slot] != null) {
+                throw new IllegalStateException(
+                        "Weather code " + condition.code() + " does not have a free slot");
+            }
+            table[slot] = condition;
+        }
+        return table;
+    }
+
+    private static Condition condition(
+            int code, @DrawableRes int icon, @StringRes int description, Severity severity) {
+        return new Condition(code, icon, icon, description, severity);
+    }
+
+    private static Condition condition(
+            int code,
+            @DrawableRes int dayIcon,
+            @DrawableRes int nightIcon,
+            @StringRes int description,
+            Severity severity) {
+        return new Condition(code, dayIcon, nightIcon, description, severity);
+    }
+}
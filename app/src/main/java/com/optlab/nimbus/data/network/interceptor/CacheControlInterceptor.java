@@ -0,0 +1,67 @@
+package com.optlab.nimbus.data.network.interceptor;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * CacheControlInterceptor is a network interceptor that makes forecast responses cacheable by the
+ * OkHttp disk cache.
+ *
+ * <p>The API does not advertise a useful caching policy for requests authenticated with a key in
+ * the query string, so the interceptor rewrites the Cache-Control header of successful responses
+ * with a freshness lifetime that depends on the requested timesteps: real-time conditions change
+ * quickly, while a daily forecast stays valid for hours. Validators such as ETag and Last-Modified
+ * are kept untouched, so once the freshness lifetime is over, OkHttp revalidates the cached body
+ * with a conditional request and only downloads it again if it changed.
+ */
+public class CacheControlInterceptor implements Interceptor {
+    public static final String TIMESTEPS_QUERY = "timesteps";
+
+    private static final long CURRENT_MAX_AGE = TimeUnit.MINUTES.toSeconds(10);
+    private static final long HOURLY_MAX_AGE = TimeUnit.MINUTES.toSeconds(30);
+    private static final long DAILY_MAX_AGE = TimeUnit.HOURS.toSeconds(3);
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        if (!response.isSuccessful()) {
+            return response; // Never cache errors, they would be served instead of a retry
+        }
+        long maxAge = getMaxAge(chain.request().url().queryParameter(TIMESTEPS_QUERY));
+        return response.newBuilder()
+                .removeHeader("Pragma") // Legacy header that would disable caching
+                .header("Cache-Control", "public, max-age=" + maxAge)
+                .build();
+    }
+
+    /**
+     * Gets the freshness lifetime of a response, which is the shortest lifetime of all requested
+     * timesteps.
+     *
+     * @param timesteps the comma separated timesteps of the request (e.g. "current,1h,1d")
+     * @return the freshness lifetime in seconds
+     */
+    static long getMaxAge(String timesteps) {
+        if (timesteps == null || timesteps.isEmpty()) {
+            return CURRENT_MAX_AGE;
+        }
+        long maxAge = DAILY_MAX_AGE;
+        for (String timestep : timesteps.split(",")) {
+            maxAge =
+                    Math.min(
+                            maxAge,
+                            switch (timestep.trim()) {
+                                case "1d" -> DAILY_MAX_AGE;
+                                case "1h" -> HOURLY_MAX_AGE;
+                                default -> CURRENT_MAX_AGE;
+                            });
+        }
+        return maxAge;
+    }
+}
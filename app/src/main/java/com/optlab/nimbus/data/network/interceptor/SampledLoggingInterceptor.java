@@ -0,0 +1,69 @@
+package com.optlab.nimbus.data.network.interceptor;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import timber.log.Timber;
+
+/**
+ * SampledLoggingInterceptor is a lightweight replacement of the BODY level HttpLoggingInterceptor,
+ * meant for debug builds only.
+ *
+ * <p>Every call is logged with one line (method, path, status and duration), without the query
+ * string which carries the API key. Only a sample of the responses has its body logged, and at
+ * most {@code maxBodyBytes} of it are peeked, so a large forecast is never fully buffered just to
+ * be printed.
+ */
+public class SampledLoggingInterceptor implements Interceptor {
+    private final double sampleRate;
+    private final long maxBodyBytes;
+
+    /**
+     * Creates the interceptor.
+     *
+     * @param sampleRate the fraction of responses whose body is logged, in the range [0, 1]
+     * @param maxBodyBytes the maximum number of body bytes logged per response
+     */
+    public SampledLoggingInterceptor(double sampleRate, long maxBodyBytes) {
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            Timber.d("--> %s %s failed: %s", request.method(), request.url().encodedPath(), e);
+            throw e;
+        }
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Timber.d(
+                "<-- %d %s %s (%dms%s)",
+                response.code(),
+                request.method(),
+                request.url().encodedPath(),
+                tookMs,
+                response.cacheResponse() != null ? ", cache" : "");
+
+        if (shouldLogBody()) {
+            String body = response.peekBody(maxBodyBytes).string();
+            Timber.d("<-- body (%d bytes max): %s", maxBodyBytes, body);
+        }
+        return response;
+    }
+
+    private boolean shouldLogBody() {
+        return maxBodyBytes > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
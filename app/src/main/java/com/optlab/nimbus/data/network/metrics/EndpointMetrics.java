@@ -0,0 +1,93 @@
+package com.optlab.nimbus.data.network.metrics;
+
+import androidx.annotation.NonNull;
+
+import com.optlab.nimbus.data.network.resilience.CircuitBreaker;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EndpointMetrics aggregates the timings and byte counts of all calls made to one endpoint with
+ * one set of timesteps.
+ *
+ * <p>DNS, connect and TLS are only recorded when the call actually opened a new connection, so
+ * their counts show how often pooled connections were reused.
+ */
+public class EndpointMetrics {
+    final LatencyHistogram dns = new LatencyHistogram();
+    final LatencyHistogram connect = new LatencyHistogram();
+    final LatencyHistogram tls = new LatencyHistogram();
+    final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+    final LatencyHistogram total = new LatencyHistogram();
+    final LongAdder calls = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder requestBytes = new LongAdder();
+    final LongAdder responseBytes = new LongAdder();
+    final LongAdder retries = new LongAdder();
+    volatile CircuitBreaker.State circuitState = CircuitBreaker.State.CLOSED;
+
+    /**
+     * Takes a snapshot of the metrics of the endpoint.
+     *
+     * @return the snapshot
+     */
+    @NonNull
+    public Snapshot snapshot() {
+        return new Snapshot(
+                calls.sum(),
+                failures.sum(),
+                requestBytes.sum(),
+                responseBytes.sum(),
+                retries.sum(),
+                circuitState,
+                dns.snapshot(),
+                connect.snapshot(),
+                tls.snapshot(),
+                timeToFirstByte.snapshot(),
+                total.snapshot());
+    }
+
+    /**
+     * Snapshot holds the metrics of one endpoint at one point in time. Latencies are in
+     * milliseconds.
+     */
+    public record Snapshot(
+            long calls,
+            long failures,
+            long requestBytes,
+            long responseBytes,
+            long retries,
+            CircuitBreaker.State circuitState,
+            LatencyHistogram.Snapshot dns,
+            LatencyHistogram.Snapshot connect,
+            LatencyHistogram.Snapshot tls,
+            LatencyHistogram.Snapshot timeToFirstByte,
+            LatencyHistogram.Snapshot total) {
+        @NonNull
+        @Override
+        public String toString() {
+            return "calls="
+                    + calls
+                    + " failures="
+                    + failures
+                    + " sent="
+                    + requestBytes
+                    + "B received="
+                    + responseBytes
+                    + "B retries="
+                    + retries
+                    + " circuit="
+                    + circuitState
+                    + "\n  dns: "
+                    + dns
+                    + "\n  connect: "
+                    + connect
+                    + "\n  tls: "
+                    + tls
+                    + "\n  ttfb: "
+                    + timeToFirstByte
+                    + "\n  total: "
+                    + total;
+        }
+    }
+}
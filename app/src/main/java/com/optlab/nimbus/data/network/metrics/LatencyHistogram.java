@@ -0,0 +1,102 @@
+package com.optlab.nimbus.data.network.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * LatencyHistogram keeps the most recent latency samples of one metric and computes percentiles
+ * over them.
+ *
+ * <p>Samples are stored in a fixed-size ring buffer, so memory stays bounded no matter how many
+ * calls are made and the percentiles follow the current network conditions rather than the whole
+ * lifetime of the process. The buffer is only sorted when a snapshot is taken, which keeps the
+ * recording path to a single array write.
+ */
+public class LatencyHistogram {
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private final long[] samples;
+    private int next;
+    private long count;
+
+    public LatencyHistogram() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a histogram that keeps at most the given number of samples.
+     *
+     * @param capacity the number of most recent samples kept, must be positive
+     */
+    public LatencyHistogram(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * Records a latency sample. Negative samples are ignored.
+     *
+     * @param millis the latency in milliseconds
+     */
+    public synchronized void record(long millis) {
+        if (millis < 0) return;
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        count++;
+    }
+
+    /**
+     * Takes a snapshot of the percentiles of the samples currently kept.
+     *
+     * @return the snapshot, with all percentiles set to zero if nothing was recorded
+     */
+    @NonNull
+    public Snapshot snapshot() {
+        long[] sorted;
+        long total;
+        synchronized (this) {
+            total = count;
+            sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        }
+        Arrays.sort(sorted);
+        return new Snapshot(
+                total,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.95),
+                percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+    }
+
+    /**
+     * Gets a percentile of sorted samples using the nearest-rank method.
+     *
+     * @param sorted the samples sorted in ascending order
+     * @param percentile the percentile in the range (0, 1]
+     * @return the sample at the given percentile, or zero if there is no sample
+     */
+    static long percentile(@NonNull long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    /**
+     * Snapshot holds the percentiles of a histogram at one point in time.
+     *
+     * @param count the total number of samples recorded since creation
+     * @param p50 the median latency in milliseconds
+     * @param p95 the 95th percentile latency in milliseconds
+     * @param p99 the 99th percentile latency in milliseconds
+     * @param max the maximum latency among the samples kept
+     */
+    public record Snapshot(long count, long p50, long p95, long p99, long max) {
+        @NonNull
+        @Override
+        public String toString() {
+            return "n=" + count + " p50=" + p50 + " p95=" + p95 + " p99=" + p99 + " max=" + max;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.optlab.nimbus.data.network.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * MetricsEventListener records the timings and byte counts of one call into {@link
+ * NetworkMetrics}.
+ *
+ * <p>OkHttp creates one listener per call through the {@link Factory}, so the start times are
+ * plain fields. Time to first byte is measured from the start of the call to the start of the
+ * response headers, and the total from the start of the call to its end or failure.
+ */
+public class MetricsEventListener extends EventListener {
+    private final EndpointMetrics metrics;
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+
+    private MetricsEventListener(@NonNull EndpointMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /** Factory creating a MetricsEventListener for every call. */
+    public static class Factory implements EventListener.Factory {
+        private final NetworkMetrics networkMetrics;
+
+        public Factory(@NonNull NetworkMetrics networkMetrics) {
+            this.networkMetrics = networkMetrics;
+        }
+
+        @NonNull
+        @Override
+        public EventListener create(@NonNull Call call) {
+            return new MetricsEventListener(networkMetrics.forUrl(call.request().url()));
+        }
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStart = System.nanoTime();
+        metrics.calls.increment();
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(
+            @NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> addresses) {
+        metrics.dns.record(elapsedMillis(dnsStart));
+    }
+
+    @Override
+    public void connectStart(
+            @NonNull Call call, @NonNull InetSocketAddress address, @NonNull Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, @Nullable Handshake handshake) {
+        metrics.tls.record(elapsedMillis(secureConnectStart));
+    }
+
+    @Override
+    public void connectEnd(
+            @NonNull Call call,
+            @NonNull InetSocketAddress address,
+            @NonNull Proxy proxy,
+            @Nullable Protocol protocol) {
+        metrics.connect.record(elapsedMillis(connectStart));
+    }
+
+    @Override
+    public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+        metrics.requestBytes.add(request.headers().byteCount());
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        metrics.requestBytes.add(byteCount);
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        metrics.timeToFirstByte.record(elapsedMillis(callStart));
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        metrics.responseBytes.add(response.headers().byteCount());
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        metrics.responseBytes.add(byteCount);
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        metrics.total.record(elapsedMillis(callStart));
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        metrics.failures.increment();
+        metrics.total.record(elapsedMillis(callStart));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
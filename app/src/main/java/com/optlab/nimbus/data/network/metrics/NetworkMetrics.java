@@ -0,0 +1,123 @@
+package com.optlab.nimbus.data.network.metrics;
+
+import androidx.annotation.NonNull;
+
+import com.optlab.nimbus.data.network.resilience.CircuitBreaker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.HttpUrl;
+
+/**
+ * NetworkMetrics is the in-process store of the network timings recorded by {@link
+ * MetricsEventListener}, grouped per endpoint and per timestep.
+ *
+ * <p>It is meant to be read from a debug screen or from tests, through {@link #snapshot()} or the
+ * human readable {@link #report()}.
+ */
+@Singleton
+public class NetworkMetrics {
+    private static final String TIMESTEPS_QUERY = "timesteps";
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    @Inject
+    public NetworkMetrics() {}
+
+    /**
+     * Gets the metrics of the endpoint the given URL belongs to, creating them on first use.
+     *
+     * @param url the URL of the call
+     * @return the metrics of the endpoint
+     */
+    @NonNull
+    EndpointMetrics forUrl(@NonNull HttpUrl url) {
+        return forKey(keyOf(url));
+    }
+
+    @NonNull
+    private EndpointMetrics forKey(@NonNull String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, key -> new EndpointMetrics());
+    }
+
+    /**
+     * Records that a call to the given endpoint is being retried.
+     *
+     * @param endpoint the endpoint key, as returned by {@link #keyOf(String, String)}
+     */
+    public void recordRetry(@NonNull String endpoint) {
+        forKey(endpoint).retries.increment();
+    }
+
+    /**
+     * Records the current state of the circuit breaker of the given endpoint.
+     *
+     * @param endpoint the endpoint key, as returned by {@link #keyOf(String, String)}
+     * @param state the state of the circuit breaker
+     */
+    public void recordCircuitState(@NonNull String endpoint, @NonNull CircuitBreaker.State state) {
+        forKey(endpoint).circuitState = state;
+    }
+
+    /**
+     * Gets the key of the endpoint the given URL belongs to: its path, followed by the requested
+     * timesteps if any (e.g. "/v4/timelines [current,1h,1d]"). Other query parameters such as the
+     * location and the API key are left out on purpose.
+     *
+     * @param url the URL of the call
+     * @return the endpoint key
+     */
+    @NonNull
+    static String keyOf(@NonNull HttpUrl url) {
+        return keyOf(url.encodedPath(), url.queryParameter(TIMESTEPS_QUERY));
+    }
+
+    /**
+     * Gets the key of an endpoint from its path and requested timesteps.
+     *
+     * @param path the encoded path of the endpoint, starting with a slash
+     * @param timesteps the comma separated timesteps, or null
+     * @return the endpoint key
+     */
+    @NonNull
+    public static String keyOf(@NonNull String path, String timesteps) {
+        return timesteps == null ? path : path + " [" + timesteps + "]";
+    }
+
+    /**
+     * Takes a snapshot of the metrics of every endpoint.
+     *
+     * @return the snapshots keyed by endpoint, sorted by key
+     */
+    @NonNull
+    public Map<String, EndpointMetrics.Snapshot> snapshot() {
+        Map<String, EndpointMetrics.Snapshot> snapshot = new TreeMap<>();
+        endpoints.forEach((key, metrics) -> snapshot.put(key, metrics.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Formats the snapshot of every endpoint as text, for a debug screen or a log.
+     *
+     * @return the report
+     */
+    @NonNull
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        snapshot()
+                .forEach(
+                        (key, metrics) ->
+                                report.append(key).append(": ").append(metrics).append('\n'));
+        return report.toString();
+    }
+
+    /** Clears the metrics of every endpoint. */
+    public void reset() {
+        endpoints.clear();
+    }
+}
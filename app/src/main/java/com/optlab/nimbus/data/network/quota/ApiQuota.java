@@ -0,0 +1,17 @@
+package com.optlab.nimbus.data.network.quota;
+
+/**
+ * ApiQuota is the remaining API budget, as seen by the client.
+ *
+ * @param hourlyRemaining the number of calls left in the hourly bucket
+ * @param hourlyLimit the size of the hourly bucket
+ * @param dailyRemaining the number of calls left in the daily bucket
+ * @param dailyLimit the size of the daily bucket
+ * @param backgroundAllowed whether background refreshes may still call the API
+ */
+public record ApiQuota(
+        int hourlyRemaining,
+        int hourlyLimit,
+        int dailyRemaining,
+        int dailyLimit,
+        boolean backgroundAllowed) {}
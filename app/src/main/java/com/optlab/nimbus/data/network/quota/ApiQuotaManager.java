@@ -0,0 +1,152 @@
+package com.optlab.nimbus.data.network.quota;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import timber.log.Timber;
+
+/**
+ * ApiQuotaManager keeps track of the Tomorrow.io API budget across the workers and the UI.
+ *
+ * <p>Every network call takes one token from an hourly and from a daily {@link TokenBucket}.
+ * Background calls (periodic refreshes) must leave a reserve in both buckets, so that the
+ * foreground always has budget left when the user opens the app. The buckets are persisted in
+ * SharedPreferences so that the budget survives process death, and the remaining budget is
+ * published to {@link #observeQuota()}.
+ */
+public class ApiQuotaManager {
+    public enum Priority {
+        FOREGROUND,
+        BACKGROUND
+    }
+
+    /** Calls per hour allowed by the free Tomorrow.io plan. */
+    public static final int HOURLY_LIMIT = 25;
+
+    /** Calls per day allowed by the free Tomorrow.io plan. */
+    public static final int DAILY_LIMIT = 500;
+
+    /** Fraction of each bucket only foreground calls may use. */
+    private static final double FOREGROUND_RESERVE = 0.2;
+
+    private static final String PREF_NAME = "api_quota";
+    private static final String HOURLY_TOKENS = "hourly_tokens";
+    private static final String HOURLY_UPDATED_AT = "hourly_updated_at";
+    private static final String DAILY_TOKENS = "daily_tokens";
+    private static final String DAILY_UPDATED_AT = "daily_updated_at";
+
+    private final SharedPreferences quotaPrefs;
+    private final LongSupplier clock;
+    private final TokenBucket hourly;
+    private final TokenBucket daily;
+    private final BehaviorSubject<ApiQuota> quota;
+
+    public ApiQuotaManager(@NonNull Context context) {
+        this(
+                context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE),
+                System::currentTimeMillis);
+    }
+
+    /**
+     * Creates the manager on top of the given preferences, restoring the saved buckets.
+     *
+     * @param quotaPrefs the preferences the buckets are persisted in
+     * @param clock the source of the current time in milliseconds
+     */
+    public ApiQuotaManager(@NonNull SharedPreferences quotaPrefs, @NonNull LongSupplier clock) {
+        this.quotaPrefs = quotaPrefs;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.hourly =
+                new TokenBucket(
+                        HOURLY_LIMIT,
+                        TimeUnit.HOURS.toMillis(1),
+                        quotaPrefs.getFloat(HOURLY_TOKENS, HOURLY_LIMIT),
+                        quotaPrefs.getLong(HOURLY_UPDATED_AT, now));
+        this.daily =
+                new TokenBucket(
+                        DAILY_LIMIT,
+                        TimeUnit.DAYS.toMillis(1),
+                        quotaPrefs.getFloat(DAILY_TOKENS, DAILY_LIMIT),
+                        quotaPrefs.getLong(DAILY_UPDATED_AT, now));
+        this.quota = BehaviorSubject.createDefault(computeQuota(now));
+    }
+
+    /**
+     * Takes one call from the budget if the given priority may still spend it.
+     *
+     * @param priority the priority of the call
+     * @return true if the call may go to the network
+     */
+    public synchronized boolean tryAcquire(@NonNull Priority priority) {
+        long now = clock.getAsLong();
+        double hourlyReserve = reserveOf(hourly, priority);
+        double dailyReserve = reserveOf(daily, priority);
+        // Check both buckets first, so that a call refused by one does not spend the other
+        boolean acquired =
+                hourly.available(now) - 1 >= hourlyReserve
+                        && daily.available(now) - 1 >= dailyReserve;
+        if (acquired) {
+            hourly.tryConsume(1, hourlyReserve, now);
+            daily.tryConsume(1, dailyReserve, now);
+            persist();
+        } else {
+            Timber.w("Quota: %s call deferred, budget is low", priority.name());
+        }
+        quota.onNext(computeQuota(now));
+        return acquired;
+    }
+
+    /**
+     * Gets the remaining budget.
+     *
+     * @return the remaining budget
+     */
+    @NonNull
+    public synchronized ApiQuota getQuota() {
+        return computeQuota(clock.getAsLong());
+    }
+
+    /**
+     * Observes the remaining budget, which is emitted at subscription and after every call.
+     *
+     * @return an Observable that emits the remaining budget
+     */
+    @NonNull
+    public Observable<ApiQuota> observeQuota() {
+        return quota.hide();
+    }
+
+    private static double reserveOf(@NonNull TokenBucket bucket, @NonNull Priority priority) {
+        return priority == Priority.FOREGROUND ? 0 : bucket.getCapacity() * FOREGROUND_RESERVE;
+    }
+
+    private ApiQuota computeQuota(long now) {
+        int hourlyRemaining = hourly.available(now);
+        int dailyRemaining = daily.available(now);
+        return new ApiQuota(
+                hourlyRemaining,
+                HOURLY_LIMIT,
+                dailyRemaining,
+                DAILY_LIMIT,
+                hourlyRemaining - 1 >= reserveOf(hourly, Priority.BACKGROUND)
+                        && dailyRemaining - 1 >= reserveOf(daily, Priority.BACKGROUND));
+    }
+
+    private void persist() {
+        quotaPrefs
+                .edit()
+                .putFloat(HOURLY_TOKENS, (float) hourly.getTokens())
+                .putLong(HOURLY_UPDATED_AT, hourly.getUpdatedAt())
+                .putFloat(DAILY_TOKENS, (float) daily.getTokens())
+                .putLong(DAILY_UPDATED_AT, daily.getUpdatedAt())
+                .apply();
+    }
+}
@@ -0,0 +1,17 @@
+package com.optlab.nimbus.data.network.quota;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+/**
+ * QuotaExceededException is thrown instead of making a call the API budget cannot afford.
+ *
+ * <p>It is an IOException so that it can be thrown from an OkHttp interceptor. The repository then
+ * serves its cached data instead. It is never retried.
+ */
+public class QuotaExceededException extends IOException {
+    public QuotaExceededException(@NonNull ApiQuotaManager.Priority priority) {
+        super("API quota exhausted for " + priority.name().toLowerCase() + " calls");
+    }
+}
@@ -0,0 +1,39 @@
+package com.optlab.nimbus.data.network.quota;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * QuotaInterceptor is a network interceptor that takes every request that actually reaches the
+ * server out of the API budget. Responses served by the disk cache never reach it, so they are
+ * free, while conditional revalidations are counted like any other call.
+ *
+ * <p>The priority of a call is read from its {@link ApiQuotaManager.Priority} tag, untagged calls
+ * are treated as background calls.
+ */
+public class QuotaInterceptor implements Interceptor {
+    private final ApiQuotaManager apiQuotaManager;
+
+    public QuotaInterceptor(@NonNull ApiQuotaManager apiQuotaManager) {
+        this.apiQuotaManager = apiQuotaManager;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        ApiQuotaManager.Priority priority = request.tag(ApiQuotaManager.Priority.class);
+        if (priority == null) {
+            priority = ApiQuotaManager.Priority.BACKGROUND;
+        }
+        if (!apiQuotaManager.tryAcquire(priority)) {
+            throw new QuotaExceededException(priority);
+        }
+        return chain.proceed(request);
+    }
+}
@@ -0,0 +1,80 @@
+package com.optlab.nimbus.data.network.quota;
+
+/**
+ * TokenBucket is a token bucket refilled continuously at a rate of {@code capacity} tokens per
+ * {@code refillMillis}.
+ *
+ * <p>The bucket is pure: the current time is passed to every call, and its state (the tokens left
+ * and the time they were computed at) can be read and restored, so that it survives process
+ * death.
+ */
+public class TokenBucket {
+    private final int capacity;
+    private final long refillMillis;
+    private double tokens;
+    private long updatedAt;
+
+    /**
+     * Creates a bucket from a saved state.
+     *
+     * @param capacity the maximum number of tokens
+     * @param refillMillis the time it takes to refill an empty bucket
+     * @param tokens the number of tokens left at {@code updatedAt}
+     * @param updatedAt the time the tokens were computed at, in milliseconds
+     */
+    public TokenBucket(int capacity, long refillMillis, double tokens, long updatedAt) {
+        this.capacity = capacity;
+        this.refillMillis = refillMillis;
+        this.tokens = Math.max(0, Math.min(capacity, tokens));
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Takes the given number of tokens if that leaves at least {@code reserve} tokens in the
+     * bucket.
+     *
+     * @param count the number of tokens to take
+     * @param reserve the number of tokens that must remain after taking them
+     * @param now the current time in milliseconds
+     * @return true if the tokens were taken
+     */
+    public synchronized boolean tryConsume(int count, double reserve, long now) {
+        refill(now);
+        if (tokens - count < reserve) {
+            return false;
+        }
+        tokens -= count;
+        return true;
+    }
+
+    /**
+     * Gets the number of whole tokens currently available.
+     *
+     * @param now the current time in milliseconds
+     * @return the number of tokens available
+     */
+    public synchronized int available(long now) {
+        refill(now);
+        return (int) Math.floor(tokens);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized double getTokens() {
+        return tokens;
+    }
+
+    public synchronized long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    private void refill(long now) {
+        if (now > updatedAt) {
+            double refilled = (double) (now - updatedAt) * capacity / refillMillis;
+            tokens = Math.min(capacity, tokens + refilled);
+        }
+        updatedAt = now; // A clock moved backwards restarts the refill from now
+    }
+}
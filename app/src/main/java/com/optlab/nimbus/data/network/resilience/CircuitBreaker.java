@@ -0,0 +1,110 @@
+package com.optlab.nimbus.data.network.resilience;
+
+import androidx.annotation.NonNull;
+
+import java.util.function.LongSupplier;
+
+/**
+ * CircuitBreaker stops calling an endpoint that keeps failing.
+ *
+ * <p>The breaker is CLOSED while the endpoint works. After {@code failureThreshold} consecutive
+ * transient failures it turns OPEN, and every call is rejected without touching the network
+ * until {@code openMillis} have elapsed. It then turns HALF_OPEN and lets a single probe call
+ * through: a success closes the breaker again, a failure opens it for another period. The
+ * breaker can also be tripped explicitly, e.g. for the Retry-After period of a 429 response.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean probeInFlight;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param failureThreshold the number of consecutive failures that opens the breaker
+     * @param openMillis how long the breaker stays open before letting a probe through
+     * @param clock the source of the current time in milliseconds
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis, @NonNull LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Asks for permission to make a call. In the HALF_OPEN state only one probe is permitted
+     * until its outcome is reported.
+     *
+     * @return true if the call may go to the network
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() < openUntil) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    /** Reports a successful call, which closes the breaker. */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    /** Reports a transient failure, which opens the breaker once the threshold is reached. */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            open(openMillis);
+        }
+    }
+
+    /** Reports a call cancelled before its outcome was known, which releases a pending probe. */
+    public synchronized void onCancel() {
+        probeInFlight = false;
+    }
+
+    /**
+     * Opens the breaker for at least the given duration, regardless of the failure count.
+     *
+     * @param millis how long the breaker stays open
+     */
+    public synchronized void trip(long millis) {
+        open(Math.max(millis, openMillis));
+    }
+
+    @NonNull
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() >= openUntil) {
+            return State.HALF_OPEN; // The next call will be let through as a probe
+        }
+        return state;
+    }
+
+    private void open(long millis) {
+        state = State.OPEN;
+        openUntil = clock.getAsLong() + millis;
+        probeInFlight = false;
+    }
+}
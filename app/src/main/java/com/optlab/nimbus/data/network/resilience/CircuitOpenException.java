@@ -0,0 +1,21 @@
+package com.optlab.nimbus.data.network.resilience;
+
+import androidx.annotation.NonNull;
+
+/**
+ * CircuitOpenException is emitted instead of calling an endpoint whose circuit breaker is open.
+ * It is never retried, callers are expected to fall back to cached data.
+ */
+public class CircuitOpenException extends Exception {
+    private final String endpoint;
+
+    public CircuitOpenException(@NonNull String endpoint) {
+        super("Circuit breaker is open for " + endpoint);
+        this.endpoint = endpoint;
+    }
+
+    @NonNull
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
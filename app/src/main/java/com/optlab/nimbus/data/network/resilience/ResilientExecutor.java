@@ -0,0 +1,185 @@
+package com.optlab.nimbus.data.network.resilience;
+
+import androidx.annotation.NonNull;
+
+import com.optlab.nimbus.data.network.metrics.NetworkMetrics;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import retrofit2.HttpException;
+import timber.log.Timber;
+
+/**
+ * ResilientExecutor runs network calls behind a retry policy and a per-endpoint circuit breaker.
+ *
+ * <p>Each attempt first asks the circuit breaker of its endpoint for permission; an open breaker
+ * fails the call immediately with a {@link CircuitOpenException}, without retry. Transient
+ * failures are reported to the breaker and retried after the delay given by the {@link
+ * RetryPolicy}. A 429 whose Retry-After is too long to wait trips the breaker for that period, so
+ * the workers stop calling the API until the server allows it again. Retries and breaker states
+ * are reported to {@link NetworkMetrics}.
+ */
+@Singleton
+public class ResilientExecutor {
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final NetworkMetrics networkMetrics;
+    private final RetryPolicy retryPolicy;
+    private final Scheduler scheduler;
+    private final LongSupplier clock;
+    private final Random random;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    @Inject
+    public ResilientExecutor(@NonNull NetworkMetrics networkMetrics) {
+        this(
+                networkMetrics,
+                RetryPolicy.DEFAULT,
+                Schedulers.computation(),
+                System::currentTimeMillis,
+                new Random());
+    }
+
+    /**
+     * Creates an executor with explicit collaborators, mainly for tests.
+     *
+     * @param networkMetrics the store retries and breaker states are reported to
+     * @param retryPolicy the retry and circuit breaker policy
+     * @param scheduler the scheduler the retry delays are waited on
+     * @param clock the source of the current time in milliseconds
+     * @param random the source of the jitter
+     */
+    public ResilientExecutor(
+            @NonNull NetworkMetrics networkMetrics,
+            @NonNull RetryPolicy retryPolicy,
+            @NonNull Scheduler scheduler,
+            @NonNull LongSupplier clock,
+            @NonNull Random random) {
+        this.networkMetrics = networkMetrics;
+        this.retryPolicy = retryPolicy;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    /**
+     * Runs a call with retries, behind the circuit breaker of the given endpoint.
+     *
+     * @param endpoint the key of the endpoint, which selects the circuit breaker
+     * @param call the supplier of the call, invoked again for every attempt
+     * @return an Observable emitting the result of the first successful attempt, or the last
+     *     failure
+     */
+    @NonNull
+    public <T> Observable<T> execute(
+            @NonNull String endpoint, @NonNull Supplier<Observable<T>> call) {
+        CircuitBreaker breaker = breakerFor(endpoint);
+        return Observable.defer(
+                () -> {
+                    AtomicInteger attempts = new AtomicInteger(); // Counted per subscription
+                    return Observable.defer(() -> attempt(endpoint, breaker, call))
+                            .retryWhen(
+                                    errors ->
+                                            errors.flatMap(
+                                                    error ->
+                                                            scheduleRetry(
+                                                                    endpoint,
+                                                                    attempts.incrementAndGet(),
+                                                                    error)));
+                });
+    }
+
+    /**
+     * Gets the state of the circuit breaker of the given endpoint.
+     *
+     * @param endpoint the key of the endpoint
+     * @return the state, CLOSED if the endpoint was never called
+     */
+    @NonNull
+    public CircuitBreaker.State getState(@NonNull String endpoint) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.getState();
+    }
+
+    private <T> Observable<T> attempt(
+            @NonNull String endpoint,
+            @NonNull CircuitBreaker breaker,
+            @NonNull Supplier<Observable<T>> call) {
+        if (!breaker.tryAcquire()) {
+            return Observable.error(new CircuitOpenException(endpoint));
+        }
+        return call.get()
+                .doOnComplete(
+                        () -> {
+                            breaker.onSuccess();
+                            networkMetrics.recordCircuitState(endpoint, breaker.getState());
+                        })
+                .doOnError(
+                        error -> {
+                            if (!retryPolicy.isTransient(error)) {
+                                if (error instanceof HttpException) {
+                                    breaker.onSuccess(); // The endpoint answered the call
+                                } else {
+                                    breaker.onCancel(); // Failed locally, says nothing of it
+                                }
+                            } else if (isTooManyRequests(error)) {
+                                long retryAfter =
+                                        RetryPolicy.retryAfterMillis(error, clock.getAsLong());
+                                if (retryAfter > retryPolicy.maxDelayMillis()) {
+                                    breaker.trip(retryAfter);
+                                } else {
+                                    breaker.onFailure();
+                                }
+                            } else {
+                                breaker.onFailure();
+                            }
+                            networkMetrics.recordCircuitState(endpoint, breaker.getState());
+                        })
+                .doOnDispose(breaker::onCancel);
+    }
+
+    /**
+     * Schedules the next attempt after a failure, or gives up.
+     *
+     * @param endpoint the key of the endpoint
+     * @param attempts the number of attempts already made
+     * @param error the failure of the last attempt
+     * @return an Observable emitting once when the next attempt is due, or the failure itself
+     */
+    private Observable<Long> scheduleRetry(
+            @NonNull String endpoint, int attempts, @NonNull Throwable error) {
+        long delay =
+                retryPolicy.delayMillis(attempts, error, clock.getAsLong(), random.nextDouble());
+        if (delay < 0) {
+            return Observable.error(error);
+        }
+        networkMetrics.recordRetry(endpoint);
+        Timber.d("%s: Retry %d in %dms after %s", endpoint, attempts, delay, error.toString());
+        return Observable.timer(delay, TimeUnit.MILLISECONDS, scheduler);
+    }
+
+    private CircuitBreaker breakerFor(@NonNull String endpoint) {
+        return breakers.computeIfAbsent(
+                endpoint,
+                key ->
+                        new CircuitBreaker(
+                                retryPolicy.failureThreshold(), retryPolicy.openMillis(), clock));
+    }
+
+    private static boolean isTooManyRequests(@NonNull Throwable error) {
+        return error instanceof HttpException httpException
+                && httpException.code() == TOO_MANY_REQUESTS;
+    }
+}
@@ -0,0 +1,119 @@
+package com.optlab.nimbus.data.network.resilience;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.optlab.nimbus.data.network.quota.QuotaExceededException;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.HttpException;
+
+/**
+ * RetryPolicy decides which failures are transient and how long to wait before retrying them.
+ *
+ * <p>Transient failures are I/O errors, except an exhausted API quota, and the 408, 429 and 5xx
+ * HTTP statuses. The delay grows
+ * exponentially from {@code baseDelayMillis} and is capped at {@code maxDelayMillis}, with "equal
+ * jitter": a random half of it is added to the other half, so that clients failing together do
+ * not retry together. A Retry-After header takes precedence over the computed delay; when it asks
+ * for a longer wait than {@code maxDelayMillis}, the call is not retried at all.
+ *
+ * @param maxAttempts the maximum number of attempts, including the first one
+ * @param baseDelayMillis the delay before the first retry, before jitter
+ * @param maxDelayMillis the upper bound of any delay
+ * @param failureThreshold the number of consecutive failures that opens a circuit breaker
+ * @param openMillis how long a circuit breaker stays open
+ */
+public record RetryPolicy(
+        int maxAttempts,
+        long baseDelayMillis,
+        long maxDelayMillis,
+        int failureThreshold,
+        long openMillis) {
+    public static final RetryPolicy DEFAULT =
+            new RetryPolicy(
+                    3,
+                    TimeUnit.MILLISECONDS.toMillis(500),
+                    TimeUnit.SECONDS.toMillis(8),
+                    5,
+                    TimeUnit.SECONDS.toMillis(60));
+
+    private static final String RETRY_AFTER = "Retry-After";
+
+    /**
+     * Checks whether the given failure is transient, i.e. worth retrying and counted by the
+     * circuit breaker.
+     *
+     * @param throwable the failure
+     * @return true if the failure is transient
+     */
+    public boolean isTransient(@NonNull Throwable throwable) {
+        if (throwable instanceof HttpException httpException) {
+            int code = httpException.code();
+            return code == 408 || code == 429 || code >= 500;
+        }
+        return throwable instanceof IOException
+                && !(throwable instanceof QuotaExceededException);
+    }
+
+    /**
+     * Gets the delay before the next attempt.
+     *
+     * @param attempt the number of attempts already made, starting at 1
+     * @param throwable the failure of the last attempt
+     * @param nowMillis the current time, used to resolve a Retry-After date
+     * @param random a random number in the range [0, 1), used for the jitter
+     * @return the delay in milliseconds, or -1 if the call should not be retried
+     */
+    public long delayMillis(
+            int attempt, @NonNull Throwable throwable, long nowMillis, double random) {
+        if (attempt >= maxAttempts || !isTransient(throwable)) {
+            return -1;
+        }
+        long retryAfter = retryAfterMillis(throwable, nowMillis);
+        if (retryAfter >= 0) {
+            return retryAfter <= maxDelayMillis ? retryAfter : -1;
+        }
+        long exponential = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 30));
+        long half = exponential / 2;
+        return half + (long) (random * (exponential - half));
+    }
+
+    /**
+     * Gets the delay requested by the Retry-After header of an HTTP failure, which is either a
+     * number of seconds or an HTTP date.
+     *
+     * @param throwable the failure
+     * @param nowMillis the current time, used to resolve a date
+     * @return the delay in milliseconds, or -1 if there is no valid header
+     */
+    public static long retryAfterMillis(@Nullable Throwable throwable, long nowMillis) {
+        if (!(throwable instanceof HttpException httpException)
+                || httpException.response() == null) {
+            return -1;
+        }
+        String value = httpException.response().headers().get(RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            // Not a number of seconds, try an HTTP date
+        }
+        try {
+            long at =
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                            .toInstant()
+                            .toEpochMilli();
+            return Math.max(0, at - nowMillis);
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
@@ -1,23 +1,29 @@
 package com.optlab.nimbus.data.network.tomorrowio;
 
+import androidx.annotation.NonNull;
+
 import com.optlab.nimbus.data.model.Coordinates;
+import com.optlab.nimbus.data.network.metrics.NetworkMetrics;
+import com.optlab.nimbus.data.network.quota.ApiQuota;
+import com.optlab.nimbus.data.network.quota.ApiQuotaManager;
+import com.optlab.nimbus.data.network.resilience.ResilientExecutor;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.TimeZone;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
-import hu.akarnokd.rxjava3.retrofit.RxJava3CallAdapterFactory;
+import dagger.Lazy;
 import io.reactivex.rxjava3.core.Observable;
-import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 /** TomorrowIoClient is a singleton class that provides an instance of TomorrowIoService */
 @Singleton
 public class TomorrowIoClient {
     public static final String BASE_URL = "https://api.tomorrow.io/";
+    public static final String TIMELINES_PATH = "/v4/timelines";
 
     public static final String CURRENT_WEATHER_FIELDS =
             String.join(
@@ -29,8 +35,18 @@ public class TomorrowIoClient {
                     "windSpeed",
                     "humidity",
                     "pressureSurfaceLevel");
+    /**
+     * Fields of the hourly timeline. Besides what the hourly list shows, they cover every value of
+     * the current conditions, so that these can be derived from the cached hourly series.
+     */
     public static final String HOURLY_WEATHER_FIELDS =
-            String.join(",", "temperature", "weatherCode");
+            String.join(
+                    ",",
+                    "temperature",
+                    "weatherCode",
+                    "windSpeed",
+                    "humidity",
+                    "pressureSurfaceLevel");
     public static final String DAILY_WEATHER_FIELDS =
             String.join(
                     ",",
@@ -43,20 +59,72 @@ public class TomorrowIoClient {
                     "windSpeed",
                     "humidity",
                     "pressureSurfaceLevel");
+    /**
+     * Union of the fields of every timestep, without duplicates, used when several timelines are
+     * requested together in the bundle.
+     */
+    public static final String BUNDLE_WEATHER_FIELDS =
+            union(CURRENT_WEATHER_FIELDS, HOURLY_WEATHER_FIELDS, DAILY_WEATHER_FIELDS);
+
     public static final String TIMESTEPS_ONE_DAY = "1d";
     public static final String TIMESTEPS_ONE_HOUR = "1h";
     public static final String TIMESTEPS_CURRENT = "current";
+    /** Timesteps requested together over the 25-hour bundle window. */
+    public static final String TIMESTEPS_BUNDLE =
+            String.join(",", TIMESTEPS_CURRENT, TIMESTEPS_ONE_HOUR);
+    public static final String NOW = "now";
+    public static final String PLUS_1_HOUR_FROM_NOW = "nowPlus1h";
+    public static final String PLUS_25_HOURS_FROM_NOW = "nowPlus25h";
     public static final String PLUS_1_DAYS_FROM_TODAY = "nowPlus1d";
     public static final String PLUS_5_DAYS_FROM_TODAY = "nowPlus5d";
     public static final String METRIC = "metric";
-    private static final HttpLoggingInterceptor.Level LOG_LEVEL = HttpLoggingInterceptor.Level.BODY;
 
-    private final TomorrowIoService tomorrowIoService;
+    private final Lazy<TomorrowIoService> tomorrowIoService;
+    private final ResilientExecutor resilientExecutor;
+    private final ApiQuotaManager apiQuotaManager;
 
+    /**
+     * Creates the client on top of the service provided by the NetworkModule.
+     *
+     * <p>The service is resolved lazily, on the first request, so that building the shared
+     * OkHttpClient and the Retrofit instance does not happen on the injection path (e.g. while
+     * the Application is being created).
+     *
+     * <p>Every call goes through the resilient executor, which retries transient failures and
+     * stops calling a timestep that keeps failing until its circuit breaker closes again.
+     *
+     * @param tomorrowIoService the lazily created Tomorrow.io service
+     * @param resilientExecutor the executor applying retries and circuit breakers
+     * @param apiQuotaManager the API budget every call that reaches the server is taken from
+     */
     @Inject
-    public TomorrowIoClient() {
-        this.tomorrowIoService =
-                createRetrofit(createOkHttpClient()).create(TomorrowIoService.class);
+    public TomorrowIoClient(
+            @NonNull Lazy<TomorrowIoService> tomorrowIoService,
+            @NonNull ResilientExecutor resilientExecutor,
+            @NonNull ApiQuotaManager apiQuotaManager) {
+        this.tomorrowIoService = tomorrowIoService;
+        this.resilientExecutor = resilientExecutor;
+        this.apiQuotaManager = apiQuotaManager;
+    }
+
+    /**
+     * Observes the remaining API budget.
+     *
+     * @return an Observable that emits the remaining budget after every call
+     */
+    public Observable<ApiQuota> observeQuota() {
+        return apiQuotaManager.observeQuota();
+    }
+
+    /**
+     * Gets the key of the timelines endpoint for the given timesteps, which selects its circuit
+     * breaker and its metrics.
+     *
+     * @param timesteps the comma separated timesteps
+     * @return the endpoint key
+     */
+    public static String endpointOf(final String timesteps) {
+        return NetworkMetrics.keyOf(TIMELINES_PATH, timesteps);
     }
 
     /**
@@ -67,21 +135,29 @@ public class TomorrowIoClient {
      * @param timesteps Timesteps to request
      * @param timeZone Timezone
      * @param apiKey API key
-     * @return Observable of TomorrowIoResponse
+     * @param priority Priority of the call, background calls are deferred when the quota is low
+     * @return Observable of TomorrowIoTimelines
      */
-    public Observable<TomorrowIoResponse> getForecast(
+    public Observable<TomorrowIoTimelines> getForecast(
             final Coordinates coordinates,
             final String fields,
             final String timesteps,
             final TimeZone timeZone,
-            final String apiKey) {
-        return tomorrowIoService.getWeatherByLocationCode(
-                coordinates.getCoordinates(),
-                fields,
-                timesteps,
-                METRIC,
-                timeZone.getID(),
-                apiKey);
+            final String apiKey,
+            final ApiQuotaManager.Priority priority) {
+        return resilientExecutor.execute(
+                endpointOf(timesteps),
+                () ->
+                        tomorrowIoService
+                                .get()
+                                .getWeatherByLocationCode(
+                                        coordinates.getCoordinates(),
+                                        fields,
+                                        timesteps,
+                                        METRIC,
+                                        timeZone.getID(),
+                                        apiKey,
+                                        priority));
     }
 
     /**
@@ -94,39 +170,46 @@ public class TomorrowIoClient {
      * @param endTime End time
      * @param timeZone Timezone
      * @param apiKey API key
-     * @return Observable of TomorrowIoResponse
+     * @param priority Priority of the call, background calls are deferred when the quota is low
+     * @return Observable of TomorrowIoTimelines
      */
-    public Observable<TomorrowIoResponse> getForecast(
+    public Observable<TomorrowIoTimelines> getForecast(
             final Coordinates coordinates,
             final String fields,
             final String timesteps,
             final String startTime,
             final String endTime,
             final TimeZone timeZone,
-            final String apiKey) {
-        return tomorrowIoService.getWeatherByLocationCode(
-                coordinates.getCoordinates(),
-                fields,
-                timesteps,
-                METRIC,
-                startTime,
-                endTime,
-                timeZone.getID(),
-                apiKey);
-    }
-
-    private static OkHttpClient createOkHttpClient() {
-        HttpLoggingInterceptor httpLoggingInterceptor = new HttpLoggingInterceptor();
-        httpLoggingInterceptor.setLevel(LOG_LEVEL);
-        return new OkHttpClient.Builder().addInterceptor(httpLoggingInterceptor).build();
+            final String apiKey,
+            final ApiQuotaManager.Priority priority) {
+        return resilientExecutor.execute(
+                endpointOf(timesteps),
+                () ->
+                        tomorrowIoService
+                                .get()
+                                .getWeatherByLocationCode(
+                                        coordinates.getCoordinates(),
+                                        fields,
+                                        timesteps,
+                                        METRIC,
+                                        startTime,
+                                        endTime,
+                                        timeZone.getID(),
+                                        apiKey,
+                                        priority));
     }
 
-    private static Retrofit createRetrofit(OkHttpClient okHttpClient) {
-        return new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
-                .addConverterFactory(GsonConverterFactory.create())
-                .client(okHttpClient)
-                .build();
+    /**
+     * Joins several comma separated lists of fields, keeping the first occurrence of each field.
+     *
+     * @param fieldLists the comma separated lists of fields
+     * @return the comma separated union of the fields
+     */
+    private static String union(@NonNull String... fieldLists) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String fieldList : fieldLists) {
+            fields.addAll(Arrays.asList(fieldList.split(",")));
+        }
+        return String.join(",", fields);
     }
 }
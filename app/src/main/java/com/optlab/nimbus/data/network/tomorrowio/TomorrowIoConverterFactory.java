@@ -0,0 +1,45 @@
+package com.optlab.nimbus.data.network.tomorrowio;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.stream.JsonReader;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * TomorrowIoConverterFactory is a Retrofit converter factory that decodes v4/timelines responses
+ * declared as {@link TomorrowIoTimelines} with the {@link TomorrowIoStreamingDecoder}. Any other
+ * type is left to the next converter factory.
+ */
+public final class TomorrowIoConverterFactory extends Converter.Factory {
+    private TomorrowIoConverterFactory() {}
+
+    public static TomorrowIoConverterFactory create() {
+        return new TomorrowIoConverterFactory();
+    }
+
+    @Nullable
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(
+            @NonNull Type type, @NonNull Annotation[] annotations, @NonNull Retrofit retrofit) {
+        if (type != TomorrowIoTimelines.class) {
+            return null;
+        }
+        return TomorrowIoConverterFactory::convert;
+    }
+
+    private static TomorrowIoTimelines convert(@NonNull ResponseBody body)
+            throws java.io.IOException {
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            return TomorrowIoStreamingDecoder.decode(reader);
+        } finally {
+            body.close();
+        }
+    }
+}
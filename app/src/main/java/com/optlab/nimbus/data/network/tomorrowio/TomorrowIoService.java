@@ -1,9 +1,12 @@
 package com.optlab.nimbus.data.network.tomorrowio;
 
+import com.optlab.nimbus.data.network.quota.ApiQuotaManager;
+
 import io.reactivex.rxjava3.core.Observable;
 
 import retrofit2.http.GET;
 import retrofit2.http.Query;
+import retrofit2.http.Tag;
 
 /** TomorrowIoService is an interface that defines the API endpoints for the Tomorrow.io weather */
 public interface TomorrowIoService {
@@ -16,16 +19,18 @@ public interface TomorrowIoService {
      * @param units temperature unit
      * @param timezone timezone for the forecast
      * @param apiKey API key for authentication
-     * @return an observable of TomorrowIoResponse
+     * @param priority priority of the call, which decides how much of the API quota it may use
+     * @return an observable of the decoded timelines keyed by timestep
      */
     @GET("v4/timelines")
-    Observable<TomorrowIoResponse> getWeatherByLocationCode(
+    Observable<TomorrowIoTimelines> getWeatherByLocationCode(
             @Query("location") String location,
             @Query("fields") String fields,
             @Query("timesteps") String timesteps,
             @Query("units") String units,
             @Query("timezone") String timezone,
-            @Query("apikey") String apiKey);
+            @Query("apikey") String apiKey,
+            @Tag ApiQuotaManager.Priority priority);
 
     /**
      * Get weather data by location code with start and end time.
@@ -38,10 +43,11 @@ public interface TomorrowIoService {
      * @param endTime end time for the forecast
      * @param timezone timezone for the forecast
      * @param apiKey API key for authentication
-     * @return an observable of TomorrowIoResponse
+     * @param priority priority of the call, which decides how much of the API quota it may use
+     * @return an observable of the decoded timelines keyed by timestep
      */
     @GET("v4/timelines")
-    Observable<TomorrowIoResponse> getWeatherByLocationCode(
+    Observable<TomorrowIoTimelines> getWeatherByLocationCode(
             @Query("location") String location,
             @Query("fields") String fields,
             @Query("timesteps") String timesteps,
@@ -49,5 +55,6 @@ public interface TomorrowIoService {
             @Query("startTime") String startTime,
             @Query("endTime") String endTime,
             @Query("timezone") String timezone,
-            @Query("apikey") String apiKey);
+            @Query("apikey") String apiKey,
+            @Tag ApiQuotaManager.Priority priority);
 }
@@ -0,0 +1,181 @@
+package com.optlab.nimbus.data.network.tomorrowio;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * TomorrowIoStreamingDecoder decodes a v4/timelines response body straight into WeatherResponse
+ * objects with a streaming JsonReader.
+ *
+ * <p>Unlike a reflective mapping (Gson building records for the response, then a second graph
+ * built from them), the body is read token by token and every interval is written directly into
+ * its WeatherResponse. Unknown fields are skipped without being materialized. Timelines without a
+ * timestep and intervals without values are dropped, and missing numeric values default to zero.
+ */
+public final class TomorrowIoStreamingDecoder {
+    private TomorrowIoStreamingDecoder() {
+        // Prevent instantiation of this class as it is a utility class.
+        throw new UnsupportedOperationException("Cannot instantiate utility class");
+    }
+
+    /**
+     * Decodes a whole v4/timelines response.
+     *
+     * @param reader the JsonReader positioned at the start of the response body
+     * @return the decoded timelines keyed by timestep
+     * @throws IOException if the body cannot be read or is malformed
+     */
+    @NonNull
+    public static TomorrowIoTimelines decode(@NonNull JsonReader reader) throws IOException {
+        LinkedHashMap<String, List<WeatherResponse>> timelines = new LinkedHashMap<>();
+        if (skipIfNull(reader)) {
+            return new TomorrowIoTimelines(timelines);
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("data") && !skipIfNull(reader)) {
+                readData(reader, timelines);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new TomorrowIoTimelines(timelines);
+    }
+
+    private static void readData(
+            @NonNull JsonReader reader,
+            @NonNull LinkedHashMap<String, List<WeatherResponse>> timelines)
+            throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("timelines") && !skipIfNull(reader)) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    readTimeline(reader, timelines);
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readTimeline(
+            @NonNull JsonReader reader,
+            @NonNull LinkedHashMap<String, List<WeatherResponse>> timelines)
+            throws IOException {
+        if (skipIfNull(reader)) return;
+        String timestep = null;
+        List<WeatherResponse> intervals = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "timestep" -> timestep = nextStringOrNull(reader);
+                case "intervals" -> readIntervals(reader, intervals);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (timestep != null) {
+            timelines.put(timestep, intervals);
+        }
+    }
+
+    private static void readIntervals(
+            @NonNull JsonReader reader, @NonNull List<WeatherResponse> intervals)
+            throws IOException {
+        if (skipIfNull(reader)) return;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            WeatherResponse weather = readInterval(reader);
+            if (weather != null) {
+                intervals.add(weather);
+            }
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Reads one interval.
+     *
+     * @return the decoded WeatherResponse, or null if the interval or its values are null
+     */
+    private static WeatherResponse readInterval(@NonNull JsonReader reader) throws IOException {
+        if (skipIfNull(reader)) return null;
+        WeatherResponse weather = new WeatherResponse();
+        boolean hasValues = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "startTime" -> weather.setDate(nextStringOrNull(reader));
+                case "values" -> hasValues = readValues(reader, weather);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (!hasValues) return null;
+
+        int weatherCode = weather.getWeatherCode();
+        weather.setWeatherIcon(WeatherCodeRegistry.iconOf(weatherCode));
+        weather.setWeatherDescription(WeatherCodeRegistry.descriptionOf(weatherCode));
+        return weather;
+    }
+
+    /**
+     * Reads the values of an interval into the given WeatherResponse.
+     *
+     * @return true if the values object was present, false if it was null
+     */
+    private static boolean readValues(@NonNull JsonReader reader, @NonNull WeatherResponse weather)
+            throws IOException {
+        if (skipIfNull(reader)) return false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull(); // Keep the default value, as the reflective path does
+                continue;
+            }
+            switch (name) {
+                case "temperature" -> weather.setTemperature(reader.nextDouble());
+                case "temperatureMax" -> weather.setTemperatureMax(reader.nextDouble());
+                case "temperatureMin" -> weather.setTemperatureMin(reader.nextDouble());
+                case "pressureSurfaceLevel" -> weather.setPressure(reader.nextDouble());
+                case "windSpeed" -> weather.setWindSpeed(reader.nextDouble());
+                case "humidity" -> weather.setHumidity(reader.nextDouble());
+                case "weatherCode" -> weather.setWeatherCode(reader.nextInt());
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return true;
+    }
+
+    private static String nextStringOrNull(@NonNull JsonReader reader) throws IOException {
+        return skipIfNull(reader) ? null : reader.nextString();
+    }
+
+    /**
+     * Consumes the next value if it is a JSON null.
+     *
+     * @return true if a null was consumed
+     */
+    private static boolean skipIfNull(@NonNull JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+}
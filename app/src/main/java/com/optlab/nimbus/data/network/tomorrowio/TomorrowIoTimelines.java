@@ -0,0 +1,58 @@
+package com.optlab.nimbus.data.network.tomorrowio;
+
+import androidx.annotation.NonNull;
+
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TomorrowIoTimelines is the decoded body of a v4/timelines response: the list of WeatherResponse
+ * of every timeline, keyed by its timestep (e.g. "current", "1h", "1d") in the order of the
+ * response.
+ */
+public final class TomorrowIoTimelines {
+    private final Map<String, List<WeatherResponse>> timelines;
+
+    public TomorrowIoTimelines(@NonNull LinkedHashMap<String, List<WeatherResponse>> timelines) {
+        this.timelines = Collections.unmodifiableMap(timelines);
+    }
+
+    /**
+     * Gets the weather data of the first timeline, which is the only one when a single timestep
+     * was requested.
+     *
+     * @return the list of WeatherResponse of the first timeline, or an empty list
+     */
+    @NonNull
+    public List<WeatherResponse> first() {
+        return timelines.isEmpty()
+                ? Collections.emptyList()
+                : timelines.values().iterator().next();
+    }
+
+    /**
+     * Gets the weather data of the timeline with the given timestep.
+     *
+     * @param timestep the timestep of the timeline (e.g. "current", "1h", "1d")
+     * @return the list of WeatherResponse of the timeline, or an empty list
+     */
+    @NonNull
+    public List<WeatherResponse> get(@NonNull String timestep) {
+        List<WeatherResponse> timeline = timelines.get(timestep);
+        return timeline != null ? timeline : Collections.emptyList();
+    }
+
+    /**
+     * Gets all timelines keyed by timestep.
+     *
+     * @return an unmodifiable map of timestep to list of WeatherResponse
+     */
+    @NonNull
+    public Map<String, List<WeatherResponse>> asMap() {
+        return timelines;
+    }
+}
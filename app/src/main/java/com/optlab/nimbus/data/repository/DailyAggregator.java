@@ -0,0 +1,187 @@
+package com.optlab.nimbus.data.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DailyAggregator summarizes one local day from its hourly intervals: the lowest and highest
+ * temperature and the dominant weather code.
+ *
+ * <p>The aggregate is incremental. An interval that starts a new hour updates the running
+ * minimum, maximum and code counts in constant time, and intervals stay counted once fed, so a
+ * series that no longer holds the hours that have passed does not drop them. Only a revised value
+ * of an hour already counted makes the aggregate be rebuilt from the day's intervals, of which
+ * there are at most 25.
+ */
+final class DailyAggregator {
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ssXXX");
+
+    private final LocalDate date;
+    private final ZoneId zone;
+    private final Map<Instant, WeatherResponse> intervals = new TreeMap<>();
+    private final Map<Integer, Integer> codeCounts = new HashMap<>();
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates an empty aggregate of the given day.
+     *
+     * @param date the local day to summarize
+     * @param zone the zone the day is local to
+     */
+    DailyAggregator(@NonNull LocalDate date, @NonNull ZoneId zone) {
+        this.date = date;
+        this.zone = zone;
+    }
+
+    /** Returns the local day this aggregate summarizes. */
+    LocalDate date() {
+        return date;
+    }
+
+    /** Returns the number of hourly intervals counted. */
+    int size() {
+        return intervals.size();
+    }
+
+    /**
+     * Counts an hourly interval. Intervals of another day, without a parsable start time, or
+     * already counted with the same values are ignored.
+     *
+     * @param interval the hourly interval
+     * @return true if the aggregate changed
+     */
+    boolean accept(@NonNull WeatherResponse interval) {
+        Instant start = startOf(interval);
+        if (start == null || !start.atZone(zone).toLocalDate().equals(date)) {
+            return false;
+        }
+        WeatherResponse previous = intervals.put(start, interval);
+        if (previous == null) {
+            count(interval);
+            return true;
+        }
+        if (previous.getTemperature() == interval.getTemperature()
+                && previous.getWeatherCode() == interval.getWeatherCode()) {
+            return false;
+        }
+        rebuild();
+        return true;
+    }
+
+    /**
+     * Counts every interval of an hourly series.
+     *
+     * @param series the hourly series
+     * @return true if the aggregate changed
+     */
+    boolean acceptAll(@NonNull Iterable<WeatherResponse> series) {
+        boolean changed = false;
+        for (WeatherResponse interval : series) {
+            changed |= accept(interval);
+        }
+        return changed;
+    }
+
+    /** Returns the lowest temperature of the day, or NaN if nothing was counted. */
+    double min() {
+        return intervals.isEmpty() ? Double.NaN : min;
+    }
+
+    /** Returns the highest temperature of the day, or NaN if nothing was counted. */
+    double max() {
+        return intervals.isEmpty() ? Double.NaN : max;
+    }
+
+    /**
+     * Returns the weather code seen in most hours of the day. A tie goes to the more severe
+     * condition, since that is the one worth showing for the day.
+     *
+     * @return the dominant weather code, or 0 if nothing was counted
+     */
+    int dominantWeatherCode() {
+        int dominant = 0;
+        int dominantCount = 0;
+        for (Map.Entry<Integer, Integer> entry : codeCounts.entrySet()) {
+            int code = entry.getKey();
+            int count = entry.getValue();
+            if (count > dominantCount
+                    || (count == dominantCount && isMoreSevere(code, dominant))) {
+                dominant = code;
+                dominantCount = count;
+            }
+        }
+        return dominant;
+    }
+
+    /**
+     * Converts the aggregate to a daily interval, starting at the local midnight of the day.
+     *
+     * @return the daily interval, or null if nothing was counted
+     */
+    @Nullable
+    WeatherResponse toWeatherResponse() {
+        if (intervals.isEmpty()) {
+            return null;
+        }
+        int code = dominantWeatherCode();
+        WeatherResponse day = new WeatherResponse();
+        day.setDate(DATE_FORMATTER.format(date.atStartOfDay(zone)));
+        day.setTemperature(max);
+        day.setTemperatureMax(max);
+        day.setTemperatureMin(min);
+        day.setWeatherCode(code);
+        day.setWeatherIcon(WeatherCodeRegistry.iconOf(code));
+        day.setWeatherDescription(WeatherCodeRegistry.descriptionOf(code));
+        return day;
+    }
+
+    private void count(@NonNull WeatherResponse interval) {
+        min = Math.min(min, interval.getTemperature());
+        max = Math.max(max, interval.getTemperature());
+        codeCounts.merge(interval.getWeatherCode(), 1, Integer::sum);
+    }
+
+    private void rebuild() {
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        codeCounts.clear();
+        for (WeatherResponse interval : intervals.values()) {
+            count(interval);
+        }
+    }
+
+    private static boolean isMoreSevere(int code, int other) {
+        int order =
+                WeatherCodeRegistry.lookup(code)
+                        .severity()
+                        .compareTo(WeatherCodeRegistry.lookup(other).severity());
+        return order > 0 || (order == 0 && code > other);
+    }
+
+    @Nullable
+    private static Instant startOf(@NonNull WeatherResponse weather) {
+        if (weather.getDate() == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(weather.getDate()).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.optlab.nimbus.data.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * HourlyInterpolator derives the conditions at a given instant from the cached points around it,
+ * so that current conditions can be answered without a request.
+ *
+ * <p>The points are the hourly intervals, optionally preceded by the last observation. A point
+ * that is not later than the one before it is skipped, so a recent observation takes over the
+ * hourly intervals it overlaps. The two points that bracket the instant are interpolated linearly
+ * for every continuous value, and the weather code of the nearest one is kept, since codes cannot
+ * be averaged. Nothing is derived when no pair of points brackets the instant, or when the pair is
+ * further apart than the allowed gap, so a hole in the series is never bridged. The class is
+ * pure: the instant is always passed in.
+ */
+final class HourlyInterpolator {
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ssXXX");
+
+    private final Duration maxGap;
+
+    /**
+     * Creates an interpolator that bridges points at most the given duration apart.
+     *
+     * @param maxGap the largest distance between two points that are interpolated
+     */
+    HourlyInterpolator(@NonNull Duration maxGap) {
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Derives the conditions at the given instant.
+     *
+     * @param points the points, the observation first if any, then the hourly intervals
+     * @param at the instant to derive the conditions at
+     * @return the derived conditions, dated at the instant, or null if they cannot be derived
+     */
+    @Nullable
+    WeatherResponse interpolate(@NonNull List<WeatherResponse> points, @NonNull Instant at) {
+        OffsetDateTime beforeTime = null;
+        WeatherResponse before = null;
+        for (WeatherResponse point : points) {
+            OffsetDateTime time = startOf(point);
+            if (time == null || (beforeTime != null && !time.isAfter(beforeTime))) {
+                continue;
+            }
+            if (!time.toInstant().isAfter(at)) {
+                beforeTime = time;
+                before = point;
+                continue;
+            }
+            if (before == null || Duration.between(beforeTime, time).compareTo(maxGap) > 0) {
+                return null;
+            }
+            double fraction =
+                    (double) Duration.between(beforeTime.toInstant(), at).toMillis()
+                            / Duration.between(beforeTime, time).toMillis();
+            return blend(before, point, fraction, at.atOffset(beforeTime.getOffset()));
+        }
+        if (before != null && beforeTime.toInstant().equals(at)) {
+            return blend(before, before, 0, beforeTime);
+        }
+        return null;
+    }
+
+    private static WeatherResponse blend(
+            @NonNull WeatherResponse from,
+            @NonNull WeatherResponse to,
+            double fraction,
+            @NonNull OffsetDateTime at) {
+        int code = fraction < 0.5 ? from.getWeatherCode() : to.getWeatherCode();
+        WeatherResponse blended = new WeatherResponse();
+        blended.setDate(DATE_FORMATTER.format(at));
+        double temperature = lerp(from.getTemperature(), to.getTemperature(), fraction);
+        blended.setTemperature(temperature);
+        // Hourly intervals carry no daily range, the caller fills it in when it knows it
+        blended.setTemperatureMax(temperature);
+        blended.setTemperatureMin(temperature);
+        blended.setPressure(lerp(from.getPressure(), to.getPressure(), fraction));
+        blended.setWindSpeed(lerp(from.getWindSpeed(), to.getWindSpeed(), fraction));
+        blended.setHumidity(lerp(from.getHumidity(), to.getHumidity(), fraction));
+        blended.setWeatherCode(code);
+        blended.setWeatherIcon(WeatherCodeRegistry.iconOf(code));
+        blended.setWeatherDescription(WeatherCodeRegistry.descriptionOf(code));
+        return blended;
+    }
+
+    private static double lerp(double from, double to, double fraction) {
+        return from + (to - from) * fraction;
+    }
+
+    @Nullable
+    private static OffsetDateTime startOf(@NonNull WeatherResponse weather) {
+        if (weather.getDate() == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(weather.getDate());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
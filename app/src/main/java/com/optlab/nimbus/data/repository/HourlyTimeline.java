@@ -0,0 +1,156 @@
+package com.optlab.nimbus.data.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * HourlyTimeline works out which part of a cached hourly forecast has to be requested again.
+ *
+ * <p>The hourly window starts at the next full hour and spans a fixed number of intervals. As time
+ * passes, intervals that started before the window are evicted from the cached series, and only
+ * the tail that is not cached yet is requested from the API, then merged into the series. The
+ * class is pure: the current time is always passed in, so it does not depend on the clock.
+ */
+final class HourlyTimeline {
+    private static final Duration STEP = Duration.ofHours(1);
+
+    private final int intervals;
+
+    /**
+     * Slice is the range of hourly intervals to request, with both bounds being the start of an
+     * interval.
+     *
+     * @param start the start of the first missing interval
+     * @param end the start of the last missing interval
+     */
+    record Slice(Instant start, Instant end) {
+        /** The start time, formatted for the startTime query parameter. */
+        String startTime() {
+            return start.toString();
+        }
+
+        /** The end time, formatted for the endTime query parameter. */
+        String endTime() {
+            return end.toString();
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return startTime() + "/" + endTime();
+        }
+    }
+
+    /**
+     * Creates a timeline whose window spans the given number of hourly intervals.
+     *
+     * @param intervals the number of hourly intervals of the window
+     */
+    HourlyTimeline(int intervals) {
+        this.intervals = intervals;
+    }
+
+    /** Returns the start of the first interval of the window, the next full hour. */
+    Instant windowStart(@NonNull Instant now) {
+        return now.truncatedTo(ChronoUnit.HOURS).plus(STEP);
+    }
+
+    /** Returns the end of the window, exclusive. */
+    Instant windowEnd(@NonNull Instant now) {
+        return windowStart(now).plus(STEP.multipliedBy(intervals));
+    }
+
+    /**
+     * Keeps the cached intervals that are still inside the window, in chronological order and
+     * without duplicates. Intervals without a parsable start time are dropped.
+     *
+     * @param cached the cached hourly series
+     * @param now the current time
+     * @return the intervals of the series that are still valid
+     */
+    List<WeatherResponse> retain(@NonNull List<WeatherResponse> cached, @NonNull Instant now) {
+        return new ArrayList<>(index(cached, now).values());
+    }
+
+    /**
+     * Returns the slice that has to be requested to complete the window. The retained series must
+     * start at the window start and be contiguous, in which case only the tail after its last
+     * interval is missing; otherwise the whole window is requested.
+     *
+     * @param retained the series returned by {@link #retain(List, Instant)}
+     * @param now the current time
+     * @return the missing slice, or null if the series already covers the whole window
+     */
+    @Nullable
+    Slice missingSlice(@NonNull List<WeatherResponse> retained, @NonNull Instant now) {
+        Instant start = windowStart(now);
+        Instant lastInterval = windowEnd(now).minus(STEP);
+        Instant expected = start;
+        for (WeatherResponse weather : retained) {
+            if (!expected.equals(startOf(weather))) {
+                return new Slice(start, lastInterval); // A gap, refresh the whole window
+            }
+            expected = expected.plus(STEP);
+        }
+        if (expected.isAfter(lastInterval)) {
+            return null;
+        }
+        return new Slice(expected, lastInterval);
+    }
+
+    /**
+     * Merges the fetched intervals into the retained series. A fetched interval replaces a cached
+     * one with the same start time, and intervals outside the window are dropped.
+     *
+     * @param retained the retained series
+     * @param fetched the intervals returned for the missing slice
+     * @param now the current time
+     * @return the merged series, in chronological order
+     */
+    List<WeatherResponse> merge(
+            @NonNull List<WeatherResponse> retained,
+            @NonNull List<WeatherResponse> fetched,
+            @NonNull Instant now) {
+        Map<Instant, WeatherResponse> merged = index(retained, now);
+        merged.putAll(index(fetched, now));
+        return new ArrayList<>(merged.values());
+    }
+
+    private Map<Instant, WeatherResponse> index(
+            @NonNull List<WeatherResponse> series, @NonNull Instant now) {
+        Instant start = windowStart(now);
+        Instant end = windowEnd(now);
+        Map<Instant, WeatherResponse> indexed = new TreeMap<>();
+        for (WeatherResponse weather : series) {
+            Instant time = startOf(weather);
+            if (time != null && !time.isBefore(start) && time.isBefore(end)) {
+                indexed.put(time, weather);
+            }
+        }
+        return indexed;
+    }
+
+    @Nullable
+    private static Instant startOf(@NonNull WeatherResponse weather) {
+        if (weather.getDate() == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(weather.getDate()).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
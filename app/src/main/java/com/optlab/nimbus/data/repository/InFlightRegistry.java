@@ -0,0 +1,57 @@
+package com.optlab.nimbus.data.repository;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * InFlightRegistry de-duplicates identical requests that are running at the same time.
+ *
+ * <p>Callers that ask for the same key while a request is still in flight share one upstream
+ * Observable instead of opening their own. The shared upstream is connected once and never
+ * disconnected by its subscribers, so a subscriber that disposes early (e.g. a ViewModel in
+ * onCleared) does not cancel the work for the others, and side effects such as writing to the
+ * local cache still happen. The key is released as soon as the upstream terminates, so the next
+ * call after completion starts a fresh request.
+ *
+ * @param <K> the type of the key identifying a request
+ */
+public class InFlightRegistry<K> {
+    private final Map<K, Observable<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns an Observable that joins the in-flight request for the given key, or starts a new
+     * one from the given supplier if there is none.
+     *
+     * @param key the key identifying the request
+     * @param upstream the supplier of the upstream Observable, only invoked when no request with
+     *     the same key is in flight
+     * @return an Observable sharing the result of the in-flight request
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public <T> Observable<T> execute(@NonNull K key, @NonNull Supplier<Observable<T>> upstream) {
+        return Observable.defer(
+                () -> (Observable<T>) inFlight.computeIfAbsent(key, k -> share(k, upstream.get())));
+    }
+
+    /**
+     * Gets the number of requests currently in flight.
+     *
+     * @return the number of in-flight requests
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private <T> Observable<T> share(@NonNull K key, @NonNull Observable<T> source) {
+        return source
+                .doFinally(() -> inFlight.remove(key)) // Release the key once the source is done
+                .replay(1) // Late subscribers still receive the result of the shared request
+                .autoConnect(); // Connect once, never disconnect when subscribers dispose
+    }
+}
@@ -0,0 +1,16 @@
+package com.optlab.nimbus.data.repository;
+
+/** ReadPolicy tells the repository how to weigh the cached forecast against the network. */
+public enum ReadPolicy {
+    /**
+     * Serve the cached forecast while it is fresh, otherwise fetch it. The stale forecast is only
+     * served if the fetch fails.
+     */
+    CACHE_FIRST,
+
+    /**
+     * Serve the cached forecast at once, even if it is expired, then fetch a new one when it is
+     * expired and serve it as well. The stale forecast stays on screen if the fetch fails.
+     */
+    STALE_WHILE_REVALIDATE
+}
@@ -0,0 +1,29 @@
+package com.optlab.nimbus.data.repository;
+
+import androidx.annotation.NonNull;
+
+/**
+ * SyncReport tells what a sync of one location did.
+ *
+ * @param staleTypes the number of types that were neither fresh nor derivable
+ * @param requests the number of requests made to refresh them
+ * @param failed whether the refresh failed, leaving the cached data in place
+ */
+public record SyncReport(int staleTypes, int requests, boolean failed) {
+    private static final SyncReport UP_TO_DATE = new SyncReport(0, 0, false);
+
+    /** Gets the report of a location whose every type was still fresh. */
+    @NonNull
+    public static SyncReport upToDate() {
+        return UP_TO_DATE;
+    }
+
+    /**
+     * Gets the number of types refreshed.
+     *
+     * @return the stale types, or 0 if the refresh failed
+     */
+    public int fetchedTypes() {
+        return failed ? 0 : staleTypes;
+    }
+}
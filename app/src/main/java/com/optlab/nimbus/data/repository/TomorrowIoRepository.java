@@ -1,42 +1,108 @@
 package com.optlab.nimbus.data.repository;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import com.optlab.nimbus.constant.ResponseConstant;
+import com.optlab.nimbus.data.local.cache.ForecastFreshness;
+import com.optlab.nimbus.data.local.cache.MemoryForecastCache;
+import com.optlab.nimbus.data.local.codec.ForecastCodec;
+import com.optlab.nimbus.data.local.dao.ForecastPointDao;
 import com.optlab.nimbus.data.local.dao.WeatherDao;
+import com.optlab.nimbus.data.local.entity.ForecastPointEntity;
 import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.local.maintenance.CacheMaintenance;
+import com.optlab.nimbus.data.model.CachedForecast;
 import com.optlab.nimbus.data.model.Coordinates;
-import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoResponse;
 import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.network.quota.ApiQuota;
+import com.optlab.nimbus.data.network.quota.ApiQuotaManager;
+import com.optlab.nimbus.data.network.resilience.CircuitOpenException;
 import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoClient;
+import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoTimelines;
 import com.optlab.nimbus.data.preferences.SecurePrefsManager;
-import com.optlab.nimbus.utility.DateTimeUtil;
 
 import io.reactivex.rxjava3.annotations.NonNull;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 
 import timber.log.Timber;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 
 /** TomorrowIoRepository is responsible for fetching weather data from the Tomorrow.io API. */
 public class TomorrowIoRepository implements WeatherRepository {
+    private static final String WINDOW_REALTIME = "realtime";
+    private static final String WINDOW_NEXT_5_DAYS =
+            TomorrowIoClient.PLUS_1_DAYS_FROM_TODAY + "/" + TomorrowIoClient.PLUS_5_DAYS_FROM_TODAY;
+    private static final String WINDOW_BUNDLE =
+            TomorrowIoClient.NOW + "/" + TomorrowIoClient.PLUS_25_HOURS_FROM_NOW;
+
+    /** Number of hourly intervals kept from a bundle, matching the 24-hour hourly window. */
+    private static final int HOURLY_INTERVALS = 24;
+
+    /**
+     * Oldest hourly series current conditions are derived from. Past it, the forecast of the
+     * present hour is too old to stand in for an observation.
+     */
+    private static final long DERIVATION_MAX_AGE = Duration.ofHours(6).toMillis();
+
+    /**
+     * Number of decimals the coordinates are snapped to before being sent or used as a cache key.
+     * Two decimals is a grid of about 1.1 km, close to the resolution of the forecast itself, so
+     * GPS jitter between two fixes lands in the same cell.
+     */
+    private static final int LOCATION_PRECISION = Coordinates.DEFAULT_PRECISION;
+
     private final TomorrowIoClient tomorrowIoClient;
     private final String tomorrowIoKey;
     private final WeatherDao weatherDao;
-    private final Gson gson = new Gson();
-    private final Type reflectType = new TypeToken<List<WeatherResponse>>() {}.getType();
+    private final ForecastPointDao forecastPointDao;
+    private final MemoryForecastCache memoryCache;
+    private final InFlightRegistry<RequestKey> inFlightRequests = new InFlightRegistry<>();
+    private final HourlyTimeline hourlyTimeline = new HourlyTimeline(HOURLY_INTERVALS);
+    private final HourlyInterpolator hourlyInterpolator =
+            new HourlyInterpolator(Duration.ofHours(1));
+
+    /**
+     * RequestKey identifies a forecast request. Requests with equal keys that are in flight at
+     * the same time share one upstream call and one cache write.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT), or null for a bundle
+     * @param coordinates the coordinates of the location, snapped to the location grid
+     * @param fields the fields requested from the API
+     * @param window the relative time window of the request
+     */
+    private record RequestKey(
+            WeatherEntity.Type type, Coordinates coordinates, String fields, String window) {}
+
+    /**
+     * The outcome of an incremental sync of the hourly series.
+     *
+     * @param data the synced hourly series
+     * @param requested whether a missing slice had to be requested
+     */
+    private record HourlySync(List<WeatherResponse> data, boolean requested) {}
 
     /** Constructor injection for TomorrowIoClient */
     public TomorrowIoRepository(
             TomorrowIoClient tomorrowIoClient,
             SecurePrefsManager securePrefsManager,
-            WeatherDao weatherDao) {
+            WeatherDao weatherDao,
+            ForecastPointDao forecastPointDao,
+            MemoryForecastCache memoryCache) {
         this.tomorrowIoClient = tomorrowIoClient;
         this.weatherDao = weatherDao;
+        this.forecastPointDao = forecastPointDao;
+        this.memoryCache = memoryCache;
 
         this.tomorrowIoKey = securePrefsManager.getApiKey(SecurePrefsManager.TOMORROW_IO_API_KEY);
     }
@@ -46,21 +112,22 @@ public class TomorrowIoRepository implements WeatherRepository {
      * API.
      *
      * <p>This method first checks if there is cached data in the local database. If cached data is
-     * available and not expired, it returns the cached data. Otherwise, it fetches new data from
-     * the API and caches it locally.
+     * available and not expired, it returns the cached data. Otherwise, it fetches the daily
+     * timeline through the bundle request and caches it locally.
      *
      * @param coordinates the coordinates of the location
      * @return an Observable that emits a list of UnifiedWeatherResponse
      */
     public @NonNull Observable<List<WeatherResponse>> getDailyWeatherByLocation(
             @androidx.annotation.NonNull Coordinates coordinates) {
-        return getCachedWeather(WeatherEntity.Type.DAILY)
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        return getCachedWeather(snapped, WeatherEntity.Type.DAILY)
                 .flatMap(
                         cachedData -> {
                             if (!cachedData.isEmpty()) {
                                 return Observable.just(cachedData);
                             }
-                            return fetchAndCacheDailyWeather(coordinates);
+                            return fetchFromBundle(snapped, WeatherEntity.Type.DAILY);
                         });
     }
 
@@ -68,6 +135,9 @@ public class TomorrowIoRepository implements WeatherRepository {
      * Fetches and caches daily weather data by location code (latitude and longitude) using the
      * Tomorrow.io API.
      *
+     * <p>No request is made while the cached series is still valid, i.e. before the next local
+     * midnight. Concurrent calls for the same location share a single in-flight request.
+     *
      * @param coordinates the coordinates of the location
      * @return an Observable that emits a list of UnifiedWeatherResponse
      */
@@ -75,45 +145,430 @@ public class TomorrowIoRepository implements WeatherRepository {
     public Observable<List<WeatherResponse>> fetchAndCacheDailyWeather(
             @androidx.annotation.NonNull @NonNull Coordinates coordinates) {
         WeatherEntity.Type type = WeatherEntity.Type.DAILY;
-        return tomorrowIoClient
-                .getForecast(
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        return readCachedForecastUnlessStale(type, snapped)
+                .switchIfEmpty(requestDailyWeather(snapped, ApiQuotaManager.Priority.BACKGROUND))
+                .onErrorResumeNext(throwable -> fallbackToCache(throwable, type, snapped));
+    }
+
+    /**
+     * Fetches and caches the daily forecast, failing instead of falling back to the cache. Every
+     * path that refreshes the daily series goes through here, so they all cache the same days.
+     *
+     * @param coordinates the snapped coordinates of the location
+     * @param priority the priority of the call against the API budget
+     * @return an Observable that emits the fetched list of WeatherResponse
+     */
+    private Observable<List<WeatherResponse>> requestDailyWeather(
+            @NonNull Coordinates coordinates, @NonNull ApiQuotaManager.Priority priority) {
+        WeatherEntity.Type type = WeatherEntity.Type.DAILY;
+        RequestKey key =
+                new RequestKey(
+                        type,
                         coordinates,
                         TomorrowIoClient.DAILY_WEATHER_FIELDS,
-                        TomorrowIoClient.TIMESTEPS_ONE_DAY,
-                        TomorrowIoClient.PLUS_1_DAYS_FROM_TODAY,
-                        TomorrowIoClient.PLUS_5_DAYS_FROM_TODAY,
-                        TimeZone.getDefault(),
-                        tomorrowIoKey)
-                .map(response -> cacheWeatherDataLocally(response, type))
-                .onErrorResumeNext(throwable -> fallbackToEmptyList(throwable, type));
+                        WINDOW_NEXT_5_DAYS);
+        return inFlightRequests.execute(
+                key,
+                () ->
+                        tomorrowIoClient
+                                .getForecast(
+                                        coordinates,
+                                        TomorrowIoClient.DAILY_WEATHER_FIELDS,
+                                        TomorrowIoClient.TIMESTEPS_ONE_DAY,
+                                        TomorrowIoClient.PLUS_1_DAYS_FROM_TODAY,
+                                        TomorrowIoClient.PLUS_5_DAYS_FROM_TODAY,
+                                        TimeZone.getDefault(),
+                                        tomorrowIoKey,
+                                        priority)
+                                .map(
+                                        timelines ->
+                                                cacheWeatherDataLocally(
+                                                        timelines, type, coordinates)));
     }
 
     /**
      * Fetches cached weather data from the local database.
      *
+     * <p>Expired data is not returned, but it is kept in the database so that it can still be
+     * served when a refresh fails. Entries are looked up by the grid cell of the coordinates, so
+     * any point of the same cell shares them. Fresh data is kept decoded in memory, so repeated
+     * reads, e.g. after a configuration change, skip the database. Expired current conditions are
+     * derived from the cached hourly series when possible.
+     *
+     * @param coordinates the coordinates of the location
      * @param type the type of weather data (DAILY, HOURLY, CURRENT)
      * @return an Observable that emits a list of UnifiedWeatherResponse
      */
-    public Observable<List<WeatherResponse>> getCachedWeather(@NonNull WeatherEntity.Type type) {
+    public Observable<List<WeatherResponse>> getCachedWeather(
+            @NonNull Coordinates coordinates, @NonNull WeatherEntity.Type type) {
+        String locationKey = coordinates.getLocationKey(LOCATION_PRECISION);
         return Observable.fromCallable(
                 () -> {
-                    WeatherEntity entity = weatherDao.getLatestWeather(type);
-                    if (entity == null) {
-                        return Collections.emptyList(); // Return an empty list if no data is found
-                    }
+                    CachedForecast cached = readOrDeriveForecast(type, locationKey);
+                    // Return an empty list if no fresh data
+                    return cached.stale() ? Collections.emptyList() : cached.data();
+                });
+    }
 
-                    if (entity.isExpired()) {
-                        weatherDao.deleteExpiry(System.currentTimeMillis()); // Delete expired data
-                        return Collections.emptyList(); // Return an empty list if data is expired
-                    }
+    /**
+     * Reads weather data of the given type following a read policy.
+     *
+     * <p>Expired current conditions that can be derived from the cached hourly series are served
+     * as fresh, without a request. Otherwise, with {@link ReadPolicy#STALE_WHILE_REVALIDATE}, the
+     * cached forecast is emitted first, even if it is expired, so the first content never waits
+     * for the network. When it is expired or missing, its timeline is then fetched through the
+     * bundle request and the fresh forecast is emitted as well, unless it shows the same thing.
+     * With {@link ReadPolicy#CACHE_FIRST}, an expired forecast is only emitted if that request
+     * fails.
+     *
+     * @param coordinates the coordinates of the location
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param policy how to weigh the cached forecast against the network
+     * @return an Observable that emits the forecast, then its revalidated version if any
+     */
+    @Override
+    public Observable<CachedForecast> getWeather(
+            @androidx.annotation.NonNull @NonNull Coordinates coordinates,
+            @androidx.annotation.NonNull @NonNull WeatherEntity.Type type,
+            @androidx.annotation.NonNull @NonNull ReadPolicy policy) {
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        String locationKey = snapped.getLocationKey(LOCATION_PRECISION);
+        return Observable.fromCallable(() -> readOrDeriveForecast(type, locationKey))
+                .flatMap(
+                        cached -> {
+                            if (!cached.stale()) {
+                                return Observable.just(cached);
+                            }
+                            Observable<CachedForecast> revalidated =
+                                    revalidate(snapped, type, cached);
+                            boolean serveStale =
+                                    policy == ReadPolicy.STALE_WHILE_REVALIDATE
+                                            && !cached.data().isEmpty();
+                            return serveStale ? revalidated.startWithItem(cached) : revalidated;
+                        })
+                .distinctUntilChanged(CachedForecast::hasSameContent);
+    }
+
+    /**
+     * Fetches the weather bundle to replace an expired or missing forecast. The call has
+     * foreground priority, since the UI is waiting for it.
+     *
+     * @param coordinates the snapped coordinates of the location
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param cached the forecast being revalidated, served again if the request fails
+     * @return an Observable that emits the fresh forecast, or the cached one on failure
+     */
+    private Observable<CachedForecast> revalidate(
+            @NonNull Coordinates coordinates,
+            @NonNull WeatherEntity.Type type,
+            @NonNull CachedForecast cached) {
+        return requestWeatherBundle(
+                        coordinates, ApiQuotaManager.Priority.FOREGROUND, EnumSet.of(type))
+                .map(
+                        bundle ->
+                                new CachedForecast(
+                                        bundle.getOrDefault(type, Collections.emptyList()),
+                                        false,
+                                        System.currentTimeMillis()))
+                .onErrorResumeNext(
+                        throwable -> {
+                            logFetchFailure(type.name(), throwable);
+                            return Observable.just(cached);
+                        });
+    }
+
+    /**
+     * Reads the cached weather data of the given type and location, if it is still valid or can be
+     * derived, so that a sync can skip the request.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param coordinates the snapped coordinates of the location
+     * @return an Observable that emits the valid cached data, or completes empty if it is stale
+     */
+    private Observable<List<WeatherResponse>> readCachedForecastUnlessStale(
+            @NonNull WeatherEntity.Type type, @NonNull Coordinates coordinates) {
+        String locationKey = coordinates.getLocationKey(LOCATION_PRECISION);
+        return Observable.fromCallable(() -> readOrDeriveForecast(type, locationKey))
+                .filter(cached -> !cached.stale())
+                .doOnNext(cached -> Timber.d("%s: Cached data is still valid, skipping call", type))
+                .map(CachedForecast::data);
+    }
+
+    /**
+     * Reads the latest cached weather data of the given type and location, like {@link
+     * #readCachedForecast}, but answers expired current conditions from the cached hourly series
+     * when they can be derived from it.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param locationKey the grid cell of the location
+     * @return the cached or derived forecast, marked as stale if neither is fresh
+     */
+    private CachedForecast readOrDeriveForecast(
+            @NonNull WeatherEntity.Type type, @NonNull String locationKey) {
+        return deriveIfExpired(type, locationKey, readCachedForecast(type, locationKey));
+    }
+
+    /**
+     * Replaces expired current conditions by the ones derived from the cached hourly series, when
+     * they can be derived. Any other forecast is returned as is.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param locationKey the grid cell of the location
+     * @param cached the cached forecast
+     * @return the derived forecast, or the cached one
+     */
+    private CachedForecast deriveIfExpired(
+            @NonNull WeatherEntity.Type type,
+            @NonNull String locationKey,
+            @NonNull CachedForecast cached) {
+        if (!cached.stale() || type != WeatherEntity.Type.CURRENT) {
+            return cached;
+        }
+        CachedForecast derived = deriveCurrent(locationKey, cached, System.currentTimeMillis());
+        return derived != null ? derived : cached;
+    }
+
+    /**
+     * Derives the current conditions by interpolating the cached hourly series, led by the last
+     * observation, at the present instant. The daily range is taken from today's aggregate.
+     *
+     * @param locationKey the grid cell of the location
+     * @param observation the last cached observation, possibly expired or missing
+     * @param now the current time, in epoch milliseconds
+     * @return the derived conditions, or null if the hourly series does not cover the present
+     */
+    @androidx.annotation.Nullable
+    private CachedForecast deriveCurrent(
+            @NonNull String locationKey, @NonNull CachedForecast observation, long now) {
+        CachedForecast hourly = readCachedForecast(WeatherEntity.Type.HOURLY, locationKey);
+        if (hourly.data().isEmpty() || now - hourly.timestamp() > DERIVATION_MAX_AGE) {
+            return null;
+        }
+        List<WeatherResponse> points = new ArrayList<>(observation.data());
+        points.addAll(hourly.data());
+        WeatherResponse current = hourlyInterpolator.interpolate(points, Instant.ofEpochMilli(now));
+        if (current == null) {
+            return null;
+        }
+        DailyAggregator today = aggregateToday(locationKey, hourly.data(), now);
+        if (today.size() > 0) {
+            current.setTemperatureMax(Math.max(today.max(), current.getTemperature()));
+            current.setTemperatureMin(Math.min(today.min(), current.getTemperature()));
+        }
+        Timber.d("CURRENT: Derived from the cached hourly series");
+        return new CachedForecast(List.of(current), false, hourly.timestamp());
+    }
 
-                    return gson.fromJson(entity.getData(), reflectType);
+    /**
+     * Aggregates today at the given location from the hourly forecast points stored for it, then
+     * from the hourly series at hand. The points keep the hours that already left the hourly
+     * window until the cache maintenance evicts them, so the aggregate covers every hour of the
+     * day seen by a sync, even after the process was restarted.
+     *
+     * @param locationKey the grid cell of the location
+     * @param hourly the hourly series
+     * @param now the current time, in epoch milliseconds
+     * @return the aggregate of today
+     */
+    private DailyAggregator aggregateToday(
+            @NonNull String locationKey, @NonNull List<WeatherResponse> hourly, long now) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate today = Instant.ofEpochMilli(now).atZone(zone).toLocalDate();
+        DailyAggregator aggregator = new DailyAggregator(today, zone);
+        for (ForecastPointEntity point :
+                forecastPointDao.getRange(
+                        locationKey,
+                        WeatherEntity.Type.HOURLY,
+                        today.atStartOfDay(zone).toEpochSecond(),
+                        today.plusDays(1).atStartOfDay(zone).toEpochSecond())) {
+            aggregator.accept(point.toWeatherResponse());
+        }
+        aggregator.acceptAll(hourly);
+        return aggregator;
+    }
+
+    /**
+     * Summarizes today at the given location from the hourly series: the lowest and highest
+     * temperature and the dominant weather code. The daily forecast starts tomorrow, so today is
+     * only known through its hours. The summary covers the hours seen by every hourly sync of the
+     * day, including the ones that already left the hourly window, which are read back from the
+     * forecast point table. The network is only hit when no hourly series is cached.
+     *
+     * @param coordinates the coordinates of the location
+     * @return an Observable that emits today as a single daily interval, or an empty list
+     */
+    @Override
+    public Observable<List<WeatherResponse>> getTodayWeatherByLocation(
+            @androidx.annotation.NonNull @NonNull Coordinates coordinates) {
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        String locationKey = snapped.getLocationKey(LOCATION_PRECISION);
+        return Observable.fromCallable(
+                        () -> readCachedForecast(WeatherEntity.Type.HOURLY, locationKey).data())
+                .flatMap(
+                        hourly ->
+                                hourly.isEmpty()
+                                        ? fetchFromBundle(snapped, WeatherEntity.Type.HOURLY)
+                                        : Observable.just(hourly))
+                .map(
+                        hourly -> {
+                            WeatherResponse today =
+                                    aggregateToday(locationKey, hourly, System.currentTimeMillis())
+                                            .toWeatherResponse();
+                            return today == null
+                                    ? Collections.<WeatherResponse>emptyList()
+                                    : List.of(today);
+                        });
+    }
+
+    /**
+     * Reads the latest cached weather data of the given type and location, even if it is expired.
+     * Fresh data is served from memory when possible. The data is expired once past the validity
+     * computed by {@link ForecastFreshness}, which entries written before it was stored get from
+     * their decoded intervals.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param locationKey the grid cell of the location
+     * @return the cached forecast, marked as stale if it is expired, unreadable or missing
+     */
+    private CachedForecast readCachedForecast(
+            @NonNull WeatherEntity.Type type, @NonNull String locationKey) {
+        long now = System.currentTimeMillis();
+        CachedForecast cached = memoryCache.getForecast(type, locationKey, now);
+        if (cached != null) {
+            return cached;
+        }
+        return readEntity(type, locationKey, weatherDao.getLatestWeather(type, locationKey), now);
+    }
+
+    /**
+     * Reads a cached entry as a forecast, expired once past its validity. Fresh data is kept in
+     * memory for the next reads.
+     *
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param locationKey the grid cell of the location
+     * @param entity the latest cached entry, or null if none is cached
+     * @param now the current time, in epoch milliseconds
+     * @return the cached forecast, marked as stale if it is expired, unreadable or missing
+     */
+    private CachedForecast readEntity(
+            @NonNull WeatherEntity.Type type,
+            @NonNull String locationKey,
+            @androidx.annotation.Nullable WeatherEntity entity,
+            long now) {
+        if (entity == null) {
+            return CachedForecast.missing();
+        }
+        List<WeatherResponse> weatherData = decodePayload(entity);
+        long validUntil =
+                entity.getValidUntil() > 0
+                        ? entity.getValidUntil()
+                        : ForecastFreshness.validUntil(type, weatherData, entity.getTimestamp());
+        boolean stale = weatherData.isEmpty() || !ForecastFreshness.isValid(validUntil, now);
+        if (!stale) {
+            memoryCache.put(type, locationKey, weatherData, entity.getTimestamp(), validUntil);
+        }
+        return new CachedForecast(weatherData, stale, entity.getTimestamp());
+    }
+
+    /**
+     * Reads the cached intervals of a series that start in the given range, e.g. the next 12 hours
+     * or days 2 to 5. Only the rows of the range are read, without decoding the whole series, and
+     * expired intervals are returned as well.
+     *
+     * @param coordinates the coordinates of the location
+     * @param resolution the type of the series (DAILY, HOURLY, CURRENT)
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @return an Observable that emits the cached intervals ordered by start time
+     */
+    @Override
+    public Observable<List<WeatherResponse>> getForecastRange(
+            @androidx.annotation.NonNull @NonNull Coordinates coordinates,
+            @androidx.annotation.NonNull @NonNull WeatherEntity.Type resolution,
+            @androidx.annotation.NonNull @NonNull Instant from,
+            @androidx.annotation.NonNull @NonNull Instant to) {
+        String locationKey = coordinates.getLocationKey(LOCATION_PRECISION);
+        return Observable.fromCallable(
+                () -> {
+                    List<WeatherResponse> range = new ArrayList<>();
+                    for (ForecastPointEntity point :
+                            forecastPointDao.getRange(
+                                    locationKey,
+                                    resolution,
+                                    from.getEpochSecond(),
+                                    to.getEpochSecond())) {
+                        range.add(point.toWeatherResponse());
+                    }
+                    return range;
                 });
     }
 
+    /**
+     * Observes the cached weather data of the given type and location.
+     *
+     * <p>The stream is backed by an observable query, so every write to the cache, including the
+     * ones made by background workers, reaches the subscriber without polling. Each entry is read
+     * like {@link #getWeather} reads it: marked as stale once past its validity, and, for expired
+     * current conditions, replaced by the ones derived from the cached hourly series. Room re-runs
+     * the query after any write to the table, which also derives the current conditions again
+     * from a new hourly series; emissions that show the same thing are dropped. Refreshing
+     * expired data is up to the fetch methods.
+     *
+     * @param coordinates the coordinates of the location
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @return an Observable that emits the cached forecast, missing if none is cached
+     */
+    @Override
+    public Observable<CachedForecast> observeForecast(
+            @androidx.annotation.NonNull @NonNull Coordinates coordinates,
+            @androidx.annotation.NonNull @NonNull WeatherEntity.Type type) {
+        String locationKey = coordinates.getLocationKey(LOCATION_PRECISION);
+        return weatherDao
+                .observeLatestWeather(type, locationKey)
+                .map(
+                        entities -> {
+                            WeatherEntity latest = entities.isEmpty() ? null : entities.get(0);
+                            CachedForecast cached =
+                                    readEntity(
+                                            type,
+                                            locationKey,
+                                            latest,
+                                            System.currentTimeMillis());
+                            return deriveIfExpired(type, locationKey, cached);
+                        })
+                .distinctUntilChanged(CachedForecast::hasSameContent)
+                .toObservable();
+    }
+
+    /**
+     * Decodes the payload of a cached entry. A payload that cannot be decoded, e.g. one written
+     * in a format version this build does not know, is treated as a cache miss.
+     *
+     * @param entity the cached entry
+     * @return the cached list of WeatherResponse, or an empty list if it cannot be decoded
+     */
+    private static List<WeatherResponse> decodePayload(@NonNull WeatherEntity entity) {
+        if (entity.getPayload() == null) {
+            return Collections.emptyList();
+        }
+        return decodePayload(entity.getType(), entity.getPayload());
+    }
+
+    private static List<WeatherResponse> decodePayload(
+            WeatherEntity.Type type, @NonNull byte[] payload) {
+        try {
+            return ForecastCodec.decode(payload);
+        } catch (IOException e) {
+            Timber.w(e, "%s: Unreadable cached payload", type);
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * Fetches current weather data by location code (latitude and longitude) using the Tomorrow.io
-     * API. This endpoint supports real-time weather data retrieval.
+     * API. This endpoint supports real-time weather data retrieval. On a cache miss, the current
+     * and hourly timelines are fetched together in a single bundle request.
      *
      * @param coordinates the coordinates of the location
      * @return an Observable that emits a list of UnifiedWeatherResponse
@@ -121,13 +576,14 @@ public class TomorrowIoRepository implements WeatherRepository {
     @Override
     public @NonNull Observable<List<WeatherResponse>> getCurrentWeatherByLocation(
             @androidx.annotation.NonNull @NonNull Coordinates coordinates) {
-        return getCachedWeather(WeatherEntity.Type.CURRENT)
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        return getCachedWeather(snapped, WeatherEntity.Type.CURRENT)
                 .flatMap(
                         cachedWeather -> {
                             if (!cachedWeather.isEmpty()) {
                                 return Observable.just(cachedWeather);
                             }
-                            return fetchAndCacheCurrentWeather(coordinates);
+                            return fetchFromBundle(snapped, WeatherEntity.Type.CURRENT);
                         });
     }
 
@@ -135,6 +591,9 @@ public class TomorrowIoRepository implements WeatherRepository {
      * Fetches and caches current weather data by location code (latitude and longitude) using the
      * Tomorrow.io API.
      *
+     * <p>No request is made while the cached observation is still valid. Concurrent calls for
+     * the same location share a single in-flight request.
+     *
      * @param coordinates the coordinates of the location
      * @return an Observable that emits a list of UnifiedWeatherResponse
      */
@@ -142,49 +601,462 @@ public class TomorrowIoRepository implements WeatherRepository {
     public Observable<List<WeatherResponse>> fetchAndCacheCurrentWeather(
             @androidx.annotation.NonNull @NonNull Coordinates coordinates) {
         WeatherEntity.Type type = WeatherEntity.Type.CURRENT;
-        return tomorrowIoClient
-                .getForecast(
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        return readCachedForecastUnlessStale(type, snapped)
+                .switchIfEmpty(requestCurrentWeather(snapped))
+                .onErrorResumeNext(throwable -> fallbackToCache(throwable, type, snapped));
+    }
+
+    /**
+     * Fetches and caches the current conditions, failing instead of falling back to the cache.
+     *
+     * @param coordinates the snapped coordinates of the location
+     * @return an Observable that emits the fetched list of WeatherResponse
+     */
+    private Observable<List<WeatherResponse>> requestCurrentWeather(
+            @NonNull Coordinates coordinates) {
+        WeatherEntity.Type type = WeatherEntity.Type.CURRENT;
+        RequestKey key =
+                new RequestKey(
+                        type,
                         coordinates,
                         TomorrowIoClient.CURRENT_WEATHER_FIELDS,
-                        TomorrowIoClient.TIMESTEPS_CURRENT,
-                        TimeZone.getDefault(),
-                        tomorrowIoKey)
-                .map(response -> cacheWeatherDataLocally(response, type))
-                .onErrorResumeNext(throwable -> fallbackToEmptyList(throwable, type));
+                        WINDOW_REALTIME);
+        return inFlightRequests.execute(
+                key,
+                () ->
+                        tomorrowIoClient
+                                .getForecast(
+                                        coordinates,
+                                        TomorrowIoClient.CURRENT_WEATHER_FIELDS,
+                                        TomorrowIoClient.TIMESTEPS_CURRENT,
+                                        TimeZone.getDefault(),
+                                        tomorrowIoKey,
+                                        ApiQuotaManager.Priority.BACKGROUND)
+                                .map(
+                                        timelines ->
+                                                cacheWeatherDataLocally(
+                                                        timelines, type, coordinates)));
     }
 
     /**
      * Caches the weather response to the local database.
      *
-     * <p>This method converts the TomorrowIoResponse to a list of UnifiedWeatherResponse and caches
-     * it in the local database. It also deletes any expired weather data from the database before
-     * inserting the new data.
+     * <p>This method takes the single timeline of the decoded response and caches it in the local
+     * database. The older snapshots of the same type and location are evicted in the same
+     * transaction; the rest of the retention is left to the cache maintenance worker.
      *
-     * @param response the TomorrowIoResponse object containing the weather data
+     * @param timelines the decoded response containing the weather data
      * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param coordinates the snapped coordinates the data was requested for
      * @return a list of UnifiedWeatherResponse
      */
     private List<WeatherResponse> cacheWeatherDataLocally(
-            @NonNull TomorrowIoResponse response, @NonNull WeatherEntity.Type type) {
-        List<WeatherResponse> weatherData = TomorrowIoResponse.mapToResponses(response);
+            @NonNull TomorrowIoTimelines timelines,
+            @NonNull WeatherEntity.Type type,
+            @NonNull Coordinates coordinates) {
+        return cacheWeatherDataLocally(timelines.first(), type, coordinates);
+    }
+
+    /**
+     * Caches a list of weather data of the given type to the local database.
+     *
+     * @param weatherData the list of WeatherResponse to cache
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param coordinates the snapped coordinates the data was requested for
+     * @return the cached list of WeatherResponse
+     */
+    private List<WeatherResponse> cacheWeatherDataLocally(
+            @NonNull List<WeatherResponse> weatherData,
+            @NonNull WeatherEntity.Type type,
+            @NonNull Coordinates coordinates) {
+        Map<WeatherEntity.Type, List<WeatherResponse>> series =
+                new EnumMap<>(WeatherEntity.Type.class);
+        series.put(type, weatherData);
+        cacheSeriesLocally(series, coordinates);
+        return weatherData;
+    }
 
-        switch (type) { // Delete expired weather data based on the type
-            case CURRENT -> weatherDao.deleteExpiry(ResponseConstant.CURRENT_EXPIRY_TIME);
-            case DAILY, HOURLY -> weatherDao.deleteExpiry(ResponseConstant.DAILY_EXPIRY_TIME);
+    /**
+     * Caches several series of a location to the local database, e.g. every type of a bundle.
+     *
+     * <p>The snapshots of every series are written in one transaction, and their intervals in
+     * another, so a bundle costs two commits instead of one per series and table. The older
+     * snapshots of the same types and location are evicted in the same transaction; the rest of
+     * the retention is left to the cache maintenance worker. Only the intervals whose values
+     * changed are written to the forecast point table.
+     *
+     * @param series the list of WeatherResponse of each type
+     * @param coordinates the snapped coordinates the data was requested for
+     */
+    private void cacheSeriesLocally(
+            @NonNull Map<WeatherEntity.Type, List<WeatherResponse>> series,
+            @NonNull Coordinates coordinates) {
+        String locationKey = coordinates.getLocationKey(LOCATION_PRECISION);
+        long timestamp = System.currentTimeMillis();
+        List<WeatherEntity> entities = new ArrayList<>(series.size());
+        Map<WeatherEntity.Type, List<ForecastPointEntity>> points =
+                new EnumMap<>(WeatherEntity.Type.class);
+        for (Map.Entry<WeatherEntity.Type, List<WeatherResponse>> entry : series.entrySet()) {
+            WeatherEntity entity = new WeatherEntity();
+            entity.setType(entry.getKey());
+            entity.setLocationKey(locationKey);
+            entity.setPayload(ForecastCodec.encode(entry.getValue()));
+            entity.setTimestamp(timestamp);
+            entity.setValidUntil(
+                    ForecastFreshness.validUntil(entry.getKey(), entry.getValue(), timestamp));
+            entities.add(entity);
+            points.put(
+                    entry.getKey(),
+                    toForecastPoints(entry.getValue(), entry.getKey(), locationKey, timestamp));
         }
 
         // Insert the new weather data into the database
-        WeatherEntity entity = new WeatherEntity();
-        entity.setType(type);
-        entity.setData(new Gson().toJson(weatherData));
-        entity.setTimestamp(System.currentTimeMillis());
-        if (weatherDao.insertWeather(entity) != -1) {
-            Timber.d("%s: Weather data cached successfully", type.name());
+        int inserted = weatherDao.insertAllAndEvict(entities, CacheMaintenance.SNAPSHOTS_PER_KEY);
+        if (inserted == entities.size()) {
+            for (WeatherEntity entity : entities) {
+                List<WeatherResponse> weatherData = series.get(entity.getType());
+                memoryCache.put(
+                        entity.getType(),
+                        locationKey,
+                        weatherData,
+                        timestamp,
+                        entity.getValidUntil());
+            }
+            Timber.d("%s: Weather data cached successfully", series.keySet());
         } else {
-            Timber.e("%s: Failed to cache weather data", type.name());
+            Timber.e("%s: Failed to cache weather data", series.keySet());
         }
+        int written = forecastPointDao.upsertAllSeries(locationKey, points);
+        Timber.d("%s: %d forecast points changed", series.keySet(), written);
+    }
 
-        return weatherData;
+    /**
+     * Converts the intervals of a series to forecast points, so that ranges of it can be read
+     * without the whole series. Intervals without a parsable start time are skipped.
+     *
+     * @param weatherData the list of WeatherResponse of the series
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @param locationKey the grid cell of the location
+     * @param timestamp the time of the write, in epoch milliseconds
+     * @return the forecast points of the series
+     */
+    private static List<ForecastPointEntity> toForecastPoints(
+            @NonNull List<WeatherResponse> weatherData,
+            @NonNull WeatherEntity.Type type,
+            @NonNull String locationKey,
+            long timestamp) {
+        List<ForecastPointEntity> points = new ArrayList<>(weatherData.size());
+        for (WeatherResponse response : weatherData) {
+            ForecastPointEntity point =
+                    ForecastPointEntity.from(locationKey, type, response, timestamp);
+            if (point != null) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Fetches and caches current, hourly and daily weather data in as few round trips as possible.
+     *
+     * <p>The v4/timelines endpoint accepts several timesteps in one call, but with a single window
+     * for all of them. The current and hourly timelines are requested together over the next 25
+     * hours, and the daily series with the request of {@link #fetchAndCacheDailyWeather}, so the
+     * hourly series is not requested for 5 days only to keep 24 hours of it. That costs a second
+     * call when every type is fetched, which is rare, since the daily series stays valid until
+     * midnight. Each timeline of the responses is demultiplexed by its timestep, trimmed to the
+     * window of the matching single-type request and cached under its own type. Concurrent calls
+     * for the same location share a single in-flight request.
+     *
+     * <p>The call is made with background priority, so it is deferred and served from the cache
+     * when the API budget is low.
+     *
+     * @param coordinates the coordinates of the location
+     * @return an Observable that emits the cached weather data of each type
+     */
+    @Override
+    public Observable<Map<WeatherEntity.Type, List<WeatherResponse>>> fetchAndCacheWeatherBundle(
+            @androidx.annotation.NonNull @NonNull Coordinates coordinates) {
+        return fetchAndCacheWeatherBundle(
+                coordinates,
+                ApiQuotaManager.Priority.BACKGROUND,
+                EnumSet.allOf(WeatherEntity.Type.class));
+    }
+
+    /**
+     * Syncs every type of weather data of a location in one pass, requesting only what is stale.
+     *
+     * <p>Types that are still valid are skipped, and so are current conditions that can be
+     * derived from the cached hourly series. Stale current conditions and hourly series are
+     * refreshed together with one bundle request, written in one batch, and either one alone with
+     * its own request, which is the incremental one for the hourly series. A stale daily series is
+     * refreshed with its own request. The sync never falls back to the cache: a failure is
+     * reported instead, so the caller can retry.
+     *
+     * @param coordinates the coordinates of the location
+     * @return an Observable that emits what the sync did
+     */
+    @Override
+    public Observable<SyncReport> syncWeather(
+            @androidx.annotation.NonNull @NonNull Coordinates coordinates) {
+        return syncWeather(coordinates, EnumSet.allOf(WeatherEntity.Type.class));
+    }
+
+    /**
+     * Syncs the given types of weather data of a location, with the same rules as {@link
+     * #syncWeather(Coordinates)}. The other types are not checked, although a bundle request made
+     * for stale current conditions and hourly series refreshes both.
+     *
+     * @param coordinates the coordinates of the location
+     * @param types the types of weather data to sync
+     * @return an Observable that emits what the sync did
+     */
+    @Override
+    public Observable<SyncReport> syncWeather(
+            @androidx.annotation.NonNull @NonNull Coordinates coordinates,
+            @androidx.annotation.NonNull @NonNull Set<WeatherEntity.Type> types) {
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        String locationKey = snapped.getLocationKey(LOCATION_PRECISION);
+        return Observable.fromCallable(() -> findStaleTypes(locationKey, types))
+                .flatMap(stale -> refreshStaleTypes(snapped, stale));
+    }
+
+    /**
+     * Refreshes the given stale types of a location, sharing one bundle request between the
+     * current conditions and the hourly series. The report counts the requests actually sent, so a
+     * stale hourly series whose window is still covered by the cache counts none.
+     *
+     * @param coordinates the snapped coordinates of the location
+     * @param stale the stale types
+     * @return an Observable that emits what the refresh did
+     */
+    private Observable<SyncReport> refreshStaleTypes(
+            @NonNull Coordinates coordinates, @NonNull Set<WeatherEntity.Type> stale) {
+        if (stale.isEmpty()) {
+            Timber.d("SYNC: %s is up to date", coordinates.getLocationKey(LOCATION_PRECISION));
+            return Observable.just(SyncReport.upToDate());
+        }
+        List<Single<SyncReport>> refreshes = new ArrayList<>(2);
+        boolean current = stale.contains(WeatherEntity.Type.CURRENT);
+        boolean hourly = stale.contains(WeatherEntity.Type.HOURLY);
+        if (current && hourly) {
+            refreshes.add(
+                    countRequest(
+                            requestWeatherBundle(
+                                    coordinates,
+                                    ApiQuotaManager.Priority.BACKGROUND,
+                                    EnumSet.of(
+                                            WeatherEntity.Type.CURRENT,
+                                            WeatherEntity.Type.HOURLY))));
+        } else if (hourly) {
+            refreshes.add(
+                    toReport(
+                            syncHourlyWeather(coordinates)
+                                    .map(sync -> sync.requested() ? 1 : 0)
+                                    .lastOrError()));
+        } else if (current) {
+            refreshes.add(countRequest(requestCurrentWeather(coordinates)));
+        }
+        if (stale.contains(WeatherEntity.Type.DAILY)) {
+            refreshes.add(
+                    countRequest(
+                            requestDailyWeather(coordinates, ApiQuotaManager.Priority.BACKGROUND)));
+        }
+        return Single.concat(refreshes)
+                .reduce(
+                        new SyncReport(stale.size(), 0, false),
+                        (total, refresh) ->
+                                new SyncReport(
+                                        total.staleTypes(),
+                                        total.requests() + refresh.requests(),
+                                        total.failed() || refresh.failed()))
+                .toObservable();
+    }
+
+    /**
+     * Counts a request that is always sent to the API once it is subscribed to.
+     *
+     * @param request the request
+     * @return a Single that emits the report of the request
+     */
+    private static Single<SyncReport> countRequest(@NonNull Observable<?> request) {
+        return toReport(request.ignoreElements().toSingleDefault(1));
+    }
+
+    /**
+     * Turns the number of requests a refresh sent into its report. A failed refresh is counted as
+     * one request.
+     *
+     * @param requests the number of requests sent by the refresh
+     * @return a Single that emits the report of the refresh, without types
+     */
+    private static Single<SyncReport> toReport(@NonNull Single<Integer> requests) {
+        return requests.map(count -> new SyncReport(0, count, false))
+                .onErrorReturn(
+                        throwable -> {
+                            logFetchFailure("SYNC", throwable);
+                            return new SyncReport(0, 1, true);
+                        });
+    }
+
+    /**
+     * Finds the given types of weather data of a location that are neither fresh nor derivable.
+     *
+     * @param locationKey the grid cell of the location
+     * @param types the types to check
+     * @return the stale types
+     */
+    private Set<WeatherEntity.Type> findStaleTypes(
+            @NonNull String locationKey, @NonNull Set<WeatherEntity.Type> types) {
+        Set<WeatherEntity.Type> stale = EnumSet.noneOf(WeatherEntity.Type.class);
+        for (WeatherEntity.Type type : types) {
+            if (readOrDeriveForecast(type, locationKey).stale()) {
+                stale.add(type);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Fetches and caches the given types of weather data through the bundle request, with the
+     * given priority.
+     *
+     * @param coordinates the coordinates of the location
+     * @param priority the priority of the call against the API budget
+     * @param types the types of weather data to fetch
+     * @return an Observable that emits the cached weather data of each type
+     */
+    private Observable<Map<WeatherEntity.Type, List<WeatherResponse>>> fetchAndCacheWeatherBundle(
+            @NonNull Coordinates coordinates,
+            @NonNull ApiQuotaManager.Priority priority,
+            @NonNull Set<WeatherEntity.Type> types) {
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        return requestWeatherBundle(snapped, priority, types)
+                .onErrorResumeNext(throwable -> fallbackToCachedBundle(throwable, snapped));
+    }
+
+    /**
+     * Fetches and caches the weather bundle, failing instead of falling back to the cache. The
+     * current and hourly timelines share one call over the next 25 hours, and the daily series is
+     * requested like {@link #fetchAndCacheDailyWeather}, only when it is asked for.
+     *
+     * @param coordinates the snapped coordinates of the location
+     * @param priority the priority of the call against the API budget
+     * @param types the types of weather data to fetch
+     * @return an Observable that emits the fetched weather data of each type
+     */
+    private Observable<Map<WeatherEntity.Type, List<WeatherResponse>>> requestWeatherBundle(
+            @NonNull Coordinates coordinates,
+            @NonNull ApiQuotaManager.Priority priority,
+            @NonNull Set<WeatherEntity.Type> types) {
+        List<Observable<Map<WeatherEntity.Type, List<WeatherResponse>>>> requests =
+                new ArrayList<>(2);
+        if (types.contains(WeatherEntity.Type.CURRENT)
+                || types.contains(WeatherEntity.Type.HOURLY)) {
+            requests.add(requestBundleTimelines(coordinates, priority));
+        }
+        if (types.contains(WeatherEntity.Type.DAILY)) {
+            requests.add(
+                    requestDailyWeather(coordinates, priority)
+                            .map(daily -> Map.of(WeatherEntity.Type.DAILY, daily)));
+        }
+        return Observable.merge(requests)
+                .<Map<WeatherEntity.Type, List<WeatherResponse>>>collect(
+                        () -> new EnumMap<>(WeatherEntity.Type.class), Map::putAll)
+                .toObservable();
+    }
+
+    /**
+     * Requests the current and hourly timelines over the next 25 hours with the bundle fields,
+     * then demultiplexes and caches them.
+     *
+     * @param coordinates the snapped coordinates of the location
+     * @param priority the priority of the call against the API budget
+     * @return an Observable that emits the fetched weather data of each type
+     */
+    private Observable<Map<WeatherEntity.Type, List<WeatherResponse>>> requestBundleTimelines(
+            @NonNull Coordinates coordinates, @NonNull ApiQuotaManager.Priority priority) {
+        RequestKey key =
+                new RequestKey(
+                        null, coordinates, TomorrowIoClient.BUNDLE_WEATHER_FIELDS, WINDOW_BUNDLE);
+        return inFlightRequests.execute(
+                key,
+                () ->
+                        tomorrowIoClient
+                                .getForecast(
+                                        coordinates,
+                                        TomorrowIoClient.BUNDLE_WEATHER_FIELDS,
+                                        TomorrowIoClient.TIMESTEPS_BUNDLE,
+                                        TomorrowIoClient.NOW,
+                                        TomorrowIoClient.PLUS_25_HOURS_FROM_NOW,
+                                        TimeZone.getDefault(),
+                                        tomorrowIoKey,
+                                        priority)
+                                .map(
+                                        timelines ->
+                                                cacheWeatherBundleLocally(
+                                                        timelines, coordinates)));
+    }
+
+    /**
+     * Fetches the weather bundle and extracts the weather data of the given type from it. This is
+     * only done when the UI finds no fresh cached data, so the call has foreground priority.
+     *
+     * @param coordinates the coordinates of the location
+     * @param type the type of weather data (DAILY, HOURLY, CURRENT)
+     * @return an Observable that emits the weather data of the given type, or an empty list
+     */
+    private Observable<List<WeatherResponse>> fetchFromBundle(
+            @NonNull Coordinates coordinates, @NonNull WeatherEntity.Type type) {
+        return fetchAndCacheWeatherBundle(
+                        coordinates, ApiQuotaManager.Priority.FOREGROUND, EnumSet.of(type))
+                .map(bundle -> bundle.getOrDefault(type, Collections.emptyList()));
+    }
+
+    /**
+     * Demultiplexes a bundle response by timestep and caches each timeline under its type, all in
+     * one batch.
+     *
+     * @param timelines the decoded response containing several timelines
+     * @param coordinates the snapped coordinates the bundle was requested for
+     * @return the cached weather data of each type found in the response
+     */
+    private Map<WeatherEntity.Type, List<WeatherResponse>> cacheWeatherBundleLocally(
+            @NonNull TomorrowIoTimelines timelines, @NonNull Coordinates coordinates) {
+        Map<WeatherEntity.Type, List<WeatherResponse>> bundle =
+                new EnumMap<>(WeatherEntity.Type.class);
+        for (Map.Entry<String, List<WeatherResponse>> timeline :
+                timelines.asMap().entrySet()) {
+            List<WeatherResponse> weatherData = timeline.getValue();
+            switch (timeline.getKey()) {
+                case TomorrowIoClient.TIMESTEPS_CURRENT ->
+                        bundle.put(WeatherEntity.Type.CURRENT, weatherData);
+                case TomorrowIoClient.TIMESTEPS_ONE_HOUR ->
+                        bundle.put(
+                                WeatherEntity.Type.HOURLY,
+                                skipFirst(weatherData, HOURLY_INTERVALS));
+                default -> Timber.w("BUNDLE: Unexpected timestep %s", timeline.getKey());
+            }
+        }
+        cacheSeriesLocally(bundle, coordinates);
+        return bundle;
+    }
+
+    /**
+     * Skips the first interval of a timeline, which is the ongoing hour when the bundle starts from
+     * now, and keeps at most the given number of following intervals.
+     *
+     * @param weatherData the list of WeatherResponse of a timeline
+     * @param limit the maximum number of intervals to keep
+     * @return the trimmed list of WeatherResponse
+     */
+    private static List<WeatherResponse> skipFirst(
+            @NonNull List<WeatherResponse> weatherData, int limit) {
+        if (weatherData.size() <= 1) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(weatherData.subList(1, Math.min(weatherData.size(), limit + 1)));
     }
 
     /**
@@ -192,8 +1064,8 @@ public class TomorrowIoRepository implements WeatherRepository {
      * API.
      *
      * <p>This method first checks if there is cached data in the local database. If cached data is
-     * available and not expired, it returns the cached data. Otherwise, it fetches new data from
-     * the API and caches it locally.
+     * available and not expired, it returns the cached data. Otherwise, it fetches the current and
+     * hourly timelines in a single bundle request and caches both of them locally.
      *
      * @param coordinates the coordinates of the location
      * @return an Observable that emits a list of WeatherResponse
@@ -201,13 +1073,14 @@ public class TomorrowIoRepository implements WeatherRepository {
     @Override
     public Observable<List<WeatherResponse>> getHourlyWeatherByLocation(
             @androidx.annotation.NonNull @NonNull Coordinates coordinates) {
-        return getCachedWeather(WeatherEntity.Type.HOURLY)
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        return getCachedWeather(snapped, WeatherEntity.Type.HOURLY)
                 .flatMap(
                         cachedData -> {
                             if (!cachedData.isEmpty()) {
                                 return Observable.just(cachedData);
                             }
-                            return fetchAndCacheHourlyWeather(coordinates);
+                            return fetchFromBundle(snapped, WeatherEntity.Type.HOURLY);
                         });
     }
 
@@ -215,8 +1088,13 @@ public class TomorrowIoRepository implements WeatherRepository {
      * Fetches hourly weather data by location code (latitude and longitude) using the Tomorrow.io
      * API.
      *
-     * <p>This method fetches hourly weather data from the Tomorrow.io API and caches it locally. It
-     * uses the getWeatherByLocationCode method of the TomorrowIoService to retrieve the data.
+     * <p>The hourly sync is incremental. Intervals of the cached series that have already started
+     * are evicted, and only the tail of the window that is not cached yet is requested and merged
+     * into the series, so a regular refresh asks for a single hour instead of the whole day. The
+     * whole window is requested when the cached series is gone or has a gap, and no request is
+     * made when it is complete. The cached series is read even past its validity, since the
+     * intervals it still has in the window are kept. Concurrent calls for the same slice share a
+     * single in-flight request.
      *
      * @param coordinates the coordinates of the location
      * @return an Observable that emits a list of WeatherResponse
@@ -225,30 +1103,163 @@ public class TomorrowIoRepository implements WeatherRepository {
     public Observable<List<WeatherResponse>> fetchAndCacheHourlyWeather(
             @androidx.annotation.NonNull @NonNull Coordinates coordinates) {
         WeatherEntity.Type type = WeatherEntity.Type.HOURLY;
-        return tomorrowIoClient
-                .getForecast(
+        Coordinates snapped = coordinates.snap(LOCATION_PRECISION);
+        return requestHourlyWeather(snapped)
+                .onErrorResumeNext(throwable -> fallbackToCache(throwable, type, snapped));
+    }
+
+    /**
+     * Syncs the hourly series incrementally, failing instead of falling back to the cache.
+     *
+     * @param coordinates the snapped coordinates of the location
+     * @return an Observable that emits the synced list of WeatherResponse
+     */
+    private Observable<List<WeatherResponse>> requestHourlyWeather(
+            @NonNull Coordinates coordinates) {
+        return syncHourlyWeather(coordinates).map(HourlySync::data);
+    }
+
+    /**
+     * Syncs the hourly series incrementally, requesting only the slice of the window that is
+     * missing from the cache, if any.
+     *
+     * @param coordinates the snapped coordinates of the location
+     * @return an Observable that emits the synced series and whether a request was made
+     */
+    private Observable<HourlySync> syncHourlyWeather(@NonNull Coordinates coordinates) {
+        WeatherEntity.Type type = WeatherEntity.Type.HOURLY;
+        String locationKey = coordinates.getLocationKey(LOCATION_PRECISION);
+        return Observable.fromCallable(() -> readCachedForecast(type, locationKey).data())
+                .flatMap(
+                        cachedData -> {
+                            Instant now = Instant.now();
+                            List<WeatherResponse> retained =
+                                    hourlyTimeline.retain(cachedData, now);
+                            HourlyTimeline.Slice slice =
+                                    hourlyTimeline.missingSlice(retained, now);
+                            if (slice == null) {
+                                Timber.d("HOURLY: Cached timeline is complete, skipping request");
+                                return Observable.just(
+                                        new HourlySync(
+                                                retained.size() == cachedData.size()
+                                                        ? retained
+                                                        : cacheWeatherDataLocally(
+                                                                retained, type, coordinates),
+                                                false));
+                            }
+                            return fetchAndMergeHourlySlice(coordinates, retained, slice, now)
+                                    .map(data -> new HourlySync(data, true));
+                        });
+    }
+
+    /**
+     * Requests the given slice of the hourly window, merges it into the retained series and caches
+     * the result.
+     *
+     * @param coordinates the snapped coordinates of the location
+     * @param retained the cached intervals that are still inside the window
+     * @param slice the missing slice of the window
+     * @param now the time the slice was computed at
+     * @return an Observable that emits the merged list of WeatherResponse
+     */
+    private Observable<List<WeatherResponse>> fetchAndMergeHourlySlice(
+            @NonNull Coordinates coordinates,
+            @NonNull List<WeatherResponse> retained,
+            @NonNull HourlyTimeline.Slice slice,
+            @NonNull Instant now) {
+        WeatherEntity.Type type = WeatherEntity.Type.HOURLY;
+        RequestKey key =
+                new RequestKey(
+                        type,
                         coordinates,
                         TomorrowIoClient.HOURLY_WEATHER_FIELDS,
-                        TomorrowIoClient.TIMESTEPS_ONE_HOUR,
-                        DateTimeUtil.getAnHourLater(),
-                        DateTimeUtil.getAnHourLaterTomorrow(),
-                        TimeZone.getDefault(),
-                        tomorrowIoKey)
-                .map(response -> cacheWeatherDataLocally(response, type))
-                .onErrorResumeNext(throwable -> fallbackToEmptyList(throwable, type));
+                        slice.toString());
+        return inFlightRequests.execute(
+                key,
+                () ->
+                        tomorrowIoClient
+                                .getForecast(
+                                        coordinates,
+                                        TomorrowIoClient.HOURLY_WEATHER_FIELDS,
+                                        TomorrowIoClient.TIMESTEPS_ONE_HOUR,
+                                        slice.startTime(),
+                                        slice.endTime(),
+                                        TimeZone.getDefault(),
+                                        tomorrowIoKey,
+                                        ApiQuotaManager.Priority.BACKGROUND)
+                                .map(
+                                        timelines ->
+                                                cacheWeatherDataLocally(
+                                                        hourlyTimeline.merge(
+                                                                retained, timelines.first(), now),
+                                                        type,
+                                                        coordinates)));
+    }
+
+    /**
+     * Observes the remaining Tomorrow.io API budget.
+     *
+     * @return an Observable that emits the remaining budget after every call
+     */
+    @Override
+    public Observable<ApiQuota> observeApiQuota() {
+        return tomorrowIoClient.observeQuota();
     }
 
     /**
      * Fallback method to handle errors when fetching weather data.
      *
-     * <p>This method logs the error and returns an empty list of weather data.
+     * <p>This method logs the error and serves the latest cached weather data of the given type,
+     * even if it is expired, so that a failed refresh does not blank the UI. An empty list is
+     * emitted only if nothing was ever cached.
      *
      * @param throwable the error that occurred
      * @param type the type of weather data (DAILY, HOURLY, CURRENT)
-     * @return an Observable that emits an empty list of WeatherResponse
+     * @param coordinates the coordinates of the location
+     * @return an Observable that emits the cached list of WeatherResponse
+     */
+    private Observable<List<WeatherResponse>> fallbackToCache(
+            @NonNull Throwable throwable,
+            @NonNull WeatherEntity.Type type,
+            @NonNull Coordinates coordinates) {
+        logFetchFailure(type.name(), throwable);
+        String locationKey = coordinates.getLocationKey(LOCATION_PRECISION);
+        return Observable.fromCallable(() -> readCachedForecast(type, locationKey).data());
+    }
+
+    /**
+     * Fallback method to handle errors when fetching the weather bundle, serving the latest cached
+     * weather data of every type, read with a single query.
+     *
+     * @param throwable the error that occurred
+     * @param coordinates the coordinates of the location
+     * @return an Observable that emits the cached weather data of each type
      */
-    private Observable<List<WeatherResponse>> fallbackToEmptyList(
-            @NonNull Throwable throwable, @NonNull WeatherEntity.Type type) {
-        return Observable.just(Collections.emptyList());
+    private Observable<Map<WeatherEntity.Type, List<WeatherResponse>>> fallbackToCachedBundle(
+            @NonNull Throwable throwable, @NonNull Coordinates coordinates) {
+        logFetchFailure("BUNDLE", throwable);
+        String locationKey = coordinates.getLocationKey(LOCATION_PRECISION);
+        return Observable.fromCallable(
+                () -> {
+                    Map<WeatherEntity.Type, List<WeatherResponse>> bundle =
+                            new EnumMap<>(WeatherEntity.Type.class);
+                    for (WeatherEntity.Type type : WeatherEntity.Type.values()) {
+                        bundle.put(type, Collections.emptyList());
+                    }
+                    for (WeatherEntity entity : weatherDao.getLatestWeathers(locationKey)) {
+                        if (entity.getType() != null) {
+                            bundle.put(entity.getType(), decodePayload(entity));
+                        }
+                    }
+                    return bundle;
+                });
+    }
+
+    private static void logFetchFailure(@NonNull String tag, @NonNull Throwable throwable) {
+        if (throwable instanceof CircuitOpenException) {
+            Timber.d("%s: %s, serving cached data", tag, throwable.getMessage());
+        } else {
+            Timber.w(throwable, "%s: Failed to fetch weather, serving cached data", tag);
+        }
     }
 }
@@ -2,10 +2,16 @@ package com.optlab.nimbus.data.repository;
 
 import androidx.annotation.NonNull;
 
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.model.CachedForecast;
 import com.optlab.nimbus.data.model.Coordinates;
 import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.network.quota.ApiQuota;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import io.reactivex.rxjava3.core.Observable;
 
@@ -20,6 +26,14 @@ public interface WeatherRepository {
     Observable<List<WeatherResponse>> getHourlyWeatherByLocation(
             @NonNull Coordinates coordinates);
 
+    Observable<List<WeatherResponse>> getTodayWeatherByLocation(
+            @NonNull Coordinates coordinates);
+
+    Observable<CachedForecast> getWeather(
+            @NonNull Coordinates coordinates,
+            @NonNull WeatherEntity.Type type,
+            @NonNull ReadPolicy policy);
+
     Observable<List<WeatherResponse>> fetchAndCacheDailyWeather(
             @NonNull Coordinates coordinates);
 
@@ -28,4 +42,23 @@ public interface WeatherRepository {
 
     Observable<List<WeatherResponse>> fetchAndCacheHourlyWeather(
             @NonNull Coordinates coordinates);
+
+    Observable<Map<WeatherEntity.Type, List<WeatherResponse>>> fetchAndCacheWeatherBundle(
+            @NonNull Coordinates coordinates);
+
+    Observable<SyncReport> syncWeather(@NonNull Coordinates coordinates);
+
+    Observable<SyncReport> syncWeather(
+            @NonNull Coordinates coordinates, @NonNull Set<WeatherEntity.Type> types);
+
+    Observable<CachedForecast> observeForecast(
+            @NonNull Coordinates coordinates, @NonNull WeatherEntity.Type type);
+
+    Observable<List<WeatherResponse>> getForecastRange(
+            @NonNull Coordinates coordinates,
+            @NonNull WeatherEntity.Type resolution,
+            @NonNull Instant from,
+            @NonNull Instant to);
+
+    Observable<ApiQuota> observeApiQuota();
 }
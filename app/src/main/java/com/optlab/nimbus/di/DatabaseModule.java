@@ -4,9 +4,12 @@ import android.content.Context;
 
 import androidx.annotation.NonNull;
 import androidx.room.Room;
+import androidx.room.RoomDatabase;
 
+import com.optlab.nimbus.data.local.dao.ForecastPointDao;
 import com.optlab.nimbus.data.local.dao.WeatherDao;
 import com.optlab.nimbus.data.local.database.WeatherDatabase;
+import com.optlab.nimbus.data.local.database.WeatherMigrations;
 
 import javax.inject.Singleton;
 
@@ -19,10 +22,18 @@ import dagger.hilt.components.SingletonComponent;
 @Module
 @InstallIn(SingletonComponent.class)
 public class DatabaseModule {
+    /**
+     * Provide the weather database. Write-ahead logging is set explicitly, so that the UI keeps
+     * reading the cache while a background sync writes to it, and each commit only appends to the
+     * log instead of rewriting pages of the main file.
+     */
     @Provides
     @Singleton
     public static WeatherDatabase provideDatabase(@ApplicationContext Context context) {
-        return Room.databaseBuilder(context, WeatherDatabase.class, "nimbus-db").build();
+        return Room.databaseBuilder(context, WeatherDatabase.class, "nimbus-db")
+                .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                .addMigrations(WeatherMigrations.ALL)
+                .build();
     }
 
     @Provides
@@ -30,4 +41,11 @@ public class DatabaseModule {
     public static WeatherDao provideWeatherDao(@NonNull WeatherDatabase weatherDatabase) {
         return weatherDatabase.weatherDao();
     }
+
+    @Provides
+    @Singleton
+    public static ForecastPointDao provideForecastPointDao(
+            @NonNull WeatherDatabase weatherDatabase) {
+        return weatherDatabase.forecastPointDao();
+    }
 }
@@ -0,0 +1,27 @@
+package com.optlab.nimbus.di;
+
+import com.google.gson.Gson;
+
+import javax.inject.Singleton;
+
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.InstallIn;
+import dagger.hilt.components.SingletonComponent;
+
+/**
+ * Dependency injection module for providing the shared Gson instance.
+ *
+ * <p>Timelines are decoded by the streaming converter and cached forecasts by the binary codec, so
+ * this instance only backs the Retrofit fallback. Sharing it keeps the adapter cache of Gson warm,
+ * instead of rebuilding it for every new Gson.
+ */
+@Module
+@InstallIn(SingletonComponent.class)
+public class GsonModule {
+    @Provides
+    @Singleton
+    public static Gson provideGson() {
+        return new Gson();
+    }
+}
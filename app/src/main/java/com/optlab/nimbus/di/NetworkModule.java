@@ -1,23 +1,162 @@
 package com.optlab.nimbus.di;
 
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.optlab.nimbus.BuildConfig;
+import com.optlab.nimbus.data.network.interceptor.CacheControlInterceptor;
+import com.optlab.nimbus.data.network.interceptor.SampledLoggingInterceptor;
+import com.optlab.nimbus.data.network.metrics.MetricsEventListener;
+import com.optlab.nimbus.data.network.metrics.NetworkMetrics;
+import com.optlab.nimbus.data.network.quota.ApiQuotaManager;
+import com.optlab.nimbus.data.network.quota.QuotaInterceptor;
+import com.optlab.nimbus.data.network.resilience.ResilientExecutor;
 import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoClient;
+import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoConverterFactory;
+import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoService;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Singleton;
 
+import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
 import dagger.hilt.components.SingletonComponent;
+import hu.akarnokd.rxjava3.retrofit.RxJava3CallAdapterFactory;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Dependency injection module for providing network clients.
+ *
+ * <p>The module owns a single shared OkHttpClient. Each weather provider derives its own client
+ * from it with {@code newBuilder()}, which adds the provider specific interceptors while sharing
+ * the connection pool, the dispatcher, the disk cache and the metrics of the base client.
  */
 @Module
 @InstallIn(SingletonComponent.class)
 public class NetworkModule {
+    private static final String HTTP_CACHE_DIRECTORY = "http_cache";
+    private static final long HTTP_CACHE_SIZE = 10L * 1024 * 1024; // 10 MiB
+
+    /** Idle connections kept alive in the pool, enough for a few hosts used by the app. */
+    private static final int MAX_IDLE_CONNECTIONS = 4;
+
+    /** How long an idle connection is kept, covering the gap between foreground refreshes. */
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    private static final long CONNECT_TIMEOUT_SECONDS = 10;
+    private static final long READ_TIMEOUT_SECONDS = 15;
+    private static final long WRITE_TIMEOUT_SECONDS = 15;
+    private static final long CALL_TIMEOUT_SECONDS = 30;
+
+    /** Bounds of the dispatcher, which runs every asynchronous call. */
+    private static final int MAX_REQUESTS = 16;
+
+    private static final int MAX_REQUESTS_PER_HOST = 4;
+
+    /** Fraction of responses whose body is logged in debug builds. */
+    private static final double LOG_BODY_SAMPLE_RATE = 0.1;
+
+    /** Maximum number of body bytes logged per response in debug builds. */
+    private static final long LOG_BODY_MAX_BYTES = 4 * 1024;
+
+    /** Provide a bounded on-disk HTTP cache, stored in the app cache directory. */
+    @Provides
+    @Singleton
+    public static Cache provideHttpCache(@ApplicationContext Context context) {
+        return new Cache(new File(context.getCacheDir(), HTTP_CACHE_DIRECTORY), HTTP_CACHE_SIZE);
+    }
+
+    /**
+     * Provide the shared OkHttpClient.
+     *
+     * <p>HTTP/2 is preferred so that concurrent requests to the same host are multiplexed over
+     * one connection, with HTTP/1.1 as fallback. Gzip is negotiated transparently by OkHttp,
+     * which adds the Accept-Encoding header and decompresses the body as long as no interceptor
+     * sets that header itself. Every call is timed by the metrics event listener, and logging is
+     * only installed in debug builds.
+     */
+    @Provides
+    @Singleton
+    public static OkHttpClient provideOkHttpClient(
+            @NonNull Cache cache, @NonNull NetworkMetrics networkMetrics) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        OkHttpClient.Builder builder =
+                new OkHttpClient.Builder()
+                        .cache(cache)
+                        .connectionPool(
+                                new ConnectionPool(
+                                        MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                        .dispatcher(dispatcher)
+                        .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                        .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .callTimeout(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .eventListenerFactory(new MetricsEventListener.Factory(networkMetrics));
+        if (BuildConfig.DEBUG) {
+            builder.addInterceptor(
+                    new SampledLoggingInterceptor(LOG_BODY_SAMPLE_RATE, LOG_BODY_MAX_BYTES));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Provide the Tomorrow.io service, on a client derived from the shared one.
+     *
+     * <p>The cache-control interceptor runs on the network side, rewriting only the responses that
+     * actually come from the server before they are stored. The quota interceptor takes every
+     * call that reaches the server out of the API budget. A failed or refused call is not replaced
+     * by a stale cached body: it fails, so that the retry policy and the circuit breaker see it,
+     * and the repository falls back to its own cache, which knows how old the data is. Timelines
+     * are decoded by the streaming converter, which is registered first; the shared Gson remains
+     * the fallback for any other body type. Calls are enqueued on the shared dispatcher, so its
+     * bounds apply to them.
+     */
+    @Provides
+    @Singleton
+    public static TomorrowIoService provideTomorrowIoService(
+            @NonNull OkHttpClient okHttpClient,
+            @NonNull ApiQuotaManager apiQuotaManager,
+            @NonNull Gson gson) {
+        OkHttpClient tomorrowIoHttpClient =
+                okHttpClient
+                        .newBuilder()
+                        .addNetworkInterceptor(new QuotaInterceptor(apiQuotaManager))
+                        .addNetworkInterceptor(new CacheControlInterceptor())
+                        .build();
+        return new Retrofit.Builder()
+                .baseUrl(TomorrowIoClient.BASE_URL)
+                .client(tomorrowIoHttpClient)
+                .addCallAdapterFactory(RxJava3CallAdapterFactory.createAsync())
+                .addConverterFactory(TomorrowIoConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build()
+                .create(TomorrowIoService.class);
+    }
+
     @Provides
     @Singleton
-    public static TomorrowIoClient provideTomorrowIoClient() {
-        return new TomorrowIoClient();
+    public static TomorrowIoClient provideTomorrowIoClient(
+            @NonNull Lazy<TomorrowIoService> tomorrowIoService,
+            @NonNull ResilientExecutor resilientExecutor,
+            @NonNull ApiQuotaManager apiQuotaManager) {
+        return new TomorrowIoClient(tomorrowIoService, resilientExecutor, apiQuotaManager);
     }
 }
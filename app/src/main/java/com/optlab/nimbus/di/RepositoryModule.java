@@ -2,6 +2,8 @@ package com.optlab.nimbus.di;
 
 import androidx.annotation.NonNull;
 
+import com.optlab.nimbus.data.local.cache.MemoryForecastCache;
+import com.optlab.nimbus.data.local.dao.ForecastPointDao;
 import com.optlab.nimbus.data.local.dao.WeatherDao;
 import com.optlab.nimbus.data.preferences.SecurePrefsManager;
 import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoClient;
@@ -37,11 +39,18 @@ public class RepositoryModule {
             @NonNull WeatherProvider weatherProvider,
             @NonNull TomorrowIoClient tomorrowIoClient,
             @NonNull SecurePrefsManager securePrefsManager,
-            @NonNull WeatherDao weatherDao) {
+            @NonNull WeatherDao weatherDao,
+            @NonNull ForecastPointDao forecastPointDao,
+            @NonNull MemoryForecastCache memoryCache) {
         return switch (weatherProvider) {
             case OPEN_WEATHER -> null;
             case TOMORROW_IO ->
-                    new TomorrowIoRepository(tomorrowIoClient, securePrefsManager, weatherDao);
+                    new TomorrowIoRepository(
+                            tomorrowIoClient,
+                            securePrefsManager,
+                            weatherDao,
+                            forecastPointDao,
+                            memoryCache);
         };
     }
 }
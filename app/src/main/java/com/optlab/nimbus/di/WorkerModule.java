@@ -1,25 +1,42 @@
 package com.optlab.nimbus.di;
 
+import android.content.Context;
+
 import androidx.annotation.NonNull;
 
+import com.optlab.nimbus.data.local.maintenance.CacheMaintenance;
+import com.optlab.nimbus.data.network.metrics.NetworkMetrics;
 import com.optlab.nimbus.data.preferences.UserPreferencesManager;
 import com.optlab.nimbus.data.repository.WeatherRepository;
 import com.optlab.nimbus.worker.FetchingWorkerFactory;
+import com.optlab.nimbus.worker.schedule.SyncScheduler;
 
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
 import dagger.hilt.components.SingletonComponent;
 
 @Module
 @InstallIn(SingletonComponent.class)
 public class WorkerModule {
+    @Provides
+    @Singleton
+    public static SyncScheduler provideSyncScheduler(@ApplicationContext Context context) {
+        return new SyncScheduler(context);
+    }
+
     @Provides
     @Singleton
     public static FetchingWorkerFactory provideFetchingWorkerFactory(
-            @NonNull WeatherRepository repository, @NonNull UserPreferencesManager userPrefs) {
-        return new FetchingWorkerFactory(repository, userPrefs);
+            @NonNull WeatherRepository repository,
+            @NonNull UserPreferencesManager userPrefs,
+            @NonNull CacheMaintenance cacheMaintenance,
+            @NonNull NetworkMetrics networkMetrics,
+            @NonNull SyncScheduler syncScheduler) {
+        return new FetchingWorkerFactory(
+                repository, userPrefs, cacheMaintenance, networkMetrics, syncScheduler);
     }
 }
@@ -8,26 +8,24 @@ import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.model.ForecastSeries;
 import com.optlab.nimbus.data.preferences.UserPreferencesManager;
 import com.optlab.nimbus.databinding.LayoutItemDailyWeatherBinding;
 
 public class DailyForecastAdapter
-        extends ListAdapter<WeatherResponse, DailyForecastAdapter.ViewHolder> {
-    private static final DiffUtil.ItemCallback<WeatherResponse> CALL_BACK =
+        extends ListAdapter<ForecastSeries.Row, DailyForecastAdapter.ViewHolder> {
+    private static final DiffUtil.ItemCallback<ForecastSeries.Row> CALL_BACK =
             new DiffUtil.ItemCallback<>() {
                 @Override
                 public boolean areItemsTheSame(
-                        @NonNull WeatherResponse oldItem,
-                        @NonNull WeatherResponse newItem) {
-                    return oldItem.getDate().equals(newItem.getDate());
+                        @NonNull ForecastSeries.Row oldItem, @NonNull ForecastSeries.Row newItem) {
+                    return oldItem.isSameInterval(newItem);
                 }
 
                 @Override
                 public boolean areContentsTheSame(
-                        @NonNull WeatherResponse oldItem,
-                        @NonNull WeatherResponse newItem) {
-                    return oldItem.equals(newItem);
+                        @NonNull ForecastSeries.Row oldItem, @NonNull ForecastSeries.Row newItem) {
+                    return oldItem.hasSameContent(newItem);
                 }
             };
 
@@ -48,6 +46,15 @@ public class DailyForecastAdapter
         return new ViewHolder(binding);
     }
 
+    /**
+     * Submits the rows of a series to be diffed and displayed.
+     *
+     * @param series the series to display, or null to clear the list
+     */
+    public void submitSeries(ForecastSeries series) {
+        submitList(series == null ? null : series.rows());
+    }
+
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
         holder.bind(getItem(position));
@@ -61,8 +68,8 @@ public class DailyForecastAdapter
             this.binding = binding;
         }
 
-        public void bind(@NonNull WeatherResponse response) {
-            binding.setResponse(response);
+        public void bind(@NonNull ForecastSeries.Row row) {
+            binding.setRow(row);
             binding.executePendingBindings();
         }
     }
@@ -18,6 +18,7 @@ import com.optlab.nimbus.utility.convertor.PressureConvertor;
 import com.optlab.nimbus.utility.convertor.TemperatureConvertor;
 import com.optlab.nimbus.utility.convertor.WindSpeedConvertor;
 
+import java.time.ZoneOffset;
 import java.time.format.TextStyle;
 import java.util.Locale;
 
@@ -112,6 +113,24 @@ public class UnitBindingAdapter {
         view.setText(DateTimeUtil.getDayOfWeek(date, style));
     }
 
+    /**
+     * Sets the day of the week based on the provided epoch timestamp.
+     *
+     * @param view the TextView to set the day on
+     * @param epochMillis the timestamp in milliseconds since the epoch
+     * @param offset the zone offset the day is computed in
+     * @param style the style of the day of the week
+     */
+    @BindingAdapter(value = {"day_epoch", "zone_offset", "style"})
+    public static void setDay(
+            @NonNull TextView view, long epochMillis, ZoneOffset offset, TextStyle style) {
+        if (offset == null || style == null) {
+            view.setText("");
+            return;
+        }
+        view.setText(DateTimeUtil.getDayOfWeek(epochMillis, offset, style));
+    }
+
     /**
      * Sets the day and time based on the provided date string.
      *
@@ -157,6 +176,22 @@ public class UnitBindingAdapter {
         view.setText(DateTimeUtil.getHours(dateTime));
     }
 
+    /**
+     * Sets the hour based on the provided epoch timestamp.
+     *
+     * @param view the TextView to set the hour on
+     * @param epochMillis the timestamp in milliseconds since the epoch
+     * @param offset the zone offset the hour is shown in
+     */
+    @BindingAdapter(value = {"hour_epoch", "zone_offset"})
+    public static void setHour(@NonNull TextView view, long epochMillis, ZoneOffset offset) {
+        if (offset == null) {
+            view.setText("");
+            return;
+        }
+        view.setText(DateTimeUtil.getHours(epochMillis, offset));
+    }
+
     /**
      * Sets the updated time based on the provided date time string.
      *
@@ -75,6 +75,6 @@ public class DailyWeatherFragment extends Fragment {
     }
 
     private void observeViewModel() {
-        viewModel.getDaily().observe(getViewLifecycleOwner(), adapter::submitList);
+        viewModel.getDailySeries().observe(getViewLifecycleOwner(), adapter::submitSeries);
     }
 }
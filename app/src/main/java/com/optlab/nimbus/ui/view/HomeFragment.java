@@ -54,6 +54,7 @@ public class HomeFragment extends Fragment {
                     @Override
                     public void onLocationResult(Coordinates coordinates) {
                         userPrefs.setLocation(coordinates);
+                        viewModel.observeForecastByLocation(coordinates);
                         viewModel.fetchCurrentWeatherByLocation(coordinates);
                         viewModel.fetchHourlyWeathersByLocation(coordinates);
                     }
@@ -76,6 +77,7 @@ public class HomeFragment extends Fragment {
 
     private void initViewModel() {
         viewModel = new ViewModelProvider(this).get(HomeViewModel.class);
+        viewModel.observeApiQuota(); // Subscribes once per ViewModel, shown by tv_api_quota
     }
 
     @Override
@@ -97,7 +99,7 @@ public class HomeFragment extends Fragment {
     }
 
     private void observeViewModel() {
-        viewModel.getHourly().observe(getViewLifecycleOwner(), adapter::submitList);
+        viewModel.getHourlySeries().observe(getViewLifecycleOwner(), adapter::submitSeries);
     }
 
     private void initRecyclerView() {
@@ -16,11 +16,16 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.optlab.nimbus.R;
+import com.optlab.nimbus.worker.schedule.SyncScheduler;
+
+import javax.inject.Inject;
 
 import dagger.hilt.android.AndroidEntryPoint;
 
 @AndroidEntryPoint
 public class MainActivity extends AppCompatActivity {
+    @Inject protected SyncScheduler syncScheduler;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -36,4 +41,10 @@ public class MainActivity extends AppCompatActivity {
                 });
 
     }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        syncScheduler.recordAppOpen(); // Learn when the app is opened to sync ahead of it.
+    }
 }
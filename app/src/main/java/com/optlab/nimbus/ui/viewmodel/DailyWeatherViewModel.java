@@ -5,12 +5,13 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.model.CachedForecast;
 import com.optlab.nimbus.data.model.Coordinates;
-import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.model.ForecastSeries;
+import com.optlab.nimbus.data.repository.ReadPolicy;
 import com.optlab.nimbus.data.repository.WeatherRepository;
 
-import java.util.List;
-
 import javax.inject.Inject;
 
 import dagger.hilt.android.lifecycle.HiltViewModel;
@@ -23,7 +24,7 @@ import timber.log.Timber;
 public class DailyWeatherViewModel extends ViewModel {
     private final WeatherRepository repository;
     private final CompositeDisposable disposable = new CompositeDisposable();
-    private final MutableLiveData<List<WeatherResponse>> daily = new MutableLiveData<>();
+    private final MutableLiveData<ForecastSeries> dailySeries = new MutableLiveData<>();
 
     @Inject
     public DailyWeatherViewModel(@NonNull WeatherRepository repository) {
@@ -36,28 +37,38 @@ public class DailyWeatherViewModel extends ViewModel {
         super.onCleared();
     }
 
-    public LiveData<List<WeatherResponse>> getDaily() {
-        return daily;
+    /** The daily forecast as a columnar series, whose first row is tomorrow. */
+    public LiveData<ForecastSeries> getDailySeries() {
+        return dailySeries;
     }
 
+    /**
+     * Fetches the daily forecast. The cached forecast is published at once, even if expired, and
+     * replaced when a fresh one arrives.
+     */
     public void fetchDailyWeatherByLocation(@NonNull Coordinates coordinates) {
         disposable.add(
                 repository
-                        .getDailyWeatherByLocation(coordinates)
+                        .getWeather(
+                                coordinates,
+                                WeatherEntity.Type.DAILY,
+                                ReadPolicy.STALE_WHILE_REVALIDATE)
                         .subscribeOn(Schedulers.io())
+                        .map(CachedForecast::data)
+                        .map(ForecastSeries::from)
                         .observeOn(AndroidSchedulers.mainThread())
                         .subscribe(this::onDailyFetchedSuccessful, this::onDailyFetchedFail));
     }
 
     private void onDailyFetchedFail(Throwable throwable) {
         Timber.e("onError: %s", throwable.getMessage());
-        daily.setValue(null);
+        dailySeries.setValue(null);
     }
 
-    private void onDailyFetchedSuccessful(List<WeatherResponse> weatherResponses) {
-        if (weatherResponses != null && !weatherResponses.isEmpty()) {
-            daily.setValue(weatherResponses);
-            Timber.d("onSuccess: %s", weatherResponses.size());
+    private void onDailyFetchedSuccessful(ForecastSeries series) {
+        if (!series.isEmpty()) {
+            dailySeries.setValue(series);
+            Timber.d("onSuccess: %s", series.size());
         } else {
             Timber.d("onSuccess: response is null or empty");
         }
@@ -5,8 +5,13 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.model.CachedForecast;
 import com.optlab.nimbus.data.model.Coordinates;
+import com.optlab.nimbus.data.model.ForecastSeries;
 import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.network.quota.ApiQuota;
+import com.optlab.nimbus.data.repository.ReadPolicy;
 import com.optlab.nimbus.data.repository.WeatherRepository;
 
 import java.util.List;
@@ -16,6 +21,7 @@ import javax.inject.Inject;
 import dagger.hilt.android.lifecycle.HiltViewModel;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.SerialDisposable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import timber.log.Timber;
 
@@ -23,8 +29,11 @@ import timber.log.Timber;
 public class HomeViewModel extends ViewModel {
     private final WeatherRepository repository;
     private final CompositeDisposable disposable = new CompositeDisposable();
+    private final SerialDisposable forecastSubscription = new SerialDisposable();
+    private final SerialDisposable quotaSubscription = new SerialDisposable();
     private final MutableLiveData<List<WeatherResponse>> current = new MutableLiveData<>();
-    private final MutableLiveData<List<WeatherResponse>> hourly = new MutableLiveData<>();
+    private final MutableLiveData<ForecastSeries> hourlySeries = new MutableLiveData<>();
+    private final MutableLiveData<ApiQuota> apiQuota = new MutableLiveData<>();
 
     @Inject
     public HomeViewModel(@NonNull WeatherRepository repository) {
@@ -34,14 +43,24 @@ public class HomeViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         disposable.clear();
+        forecastSubscription.dispose();
+        quotaSubscription.dispose();
         super.onCleared();
     }
 
+    /**
+     * Fetches the current weather. The cached data is published at once, even if expired, and
+     * replaced when a fresh one arrives.
+     */
     public void fetchCurrentWeatherByLocation(@NonNull Coordinates coordinates) {
         disposable.add(
                 repository
-                        .getCurrentWeatherByLocation(coordinates)
+                        .getWeather(
+                                coordinates,
+                                WeatherEntity.Type.CURRENT,
+                                ReadPolicy.STALE_WHILE_REVALIDATE)
                         .subscribeOn(Schedulers.io())
+                        .map(CachedForecast::data)
                         .observeOn(AndroidSchedulers.mainThread())
                         .subscribe(
                                 this::onCurrentWeatherFetchSuccessful,
@@ -61,21 +80,30 @@ public class HomeViewModel extends ViewModel {
         }
     }
 
+    /**
+     * Fetches the hourly forecast. The cached forecast is published at once, even if expired, and
+     * replaced when a fresh one arrives.
+     */
     public void fetchHourlyWeathersByLocation(@NonNull Coordinates coordinates) {
         disposable.add(
                 repository
-                        .getHourlyWeatherByLocation(coordinates)
+                        .getWeather(
+                                coordinates,
+                                WeatherEntity.Type.HOURLY,
+                                ReadPolicy.STALE_WHILE_REVALIDATE)
                         .subscribeOn(Schedulers.io())
+                        .map(CachedForecast::data)
+                        .map(ForecastSeries::from)
                         .observeOn(AndroidSchedulers.mainThread())
                         .subscribe(
                                 this::onHourlyWeatherFetchSuccessful,
                                 this::onHourlyWeathersFetchFail));
     }
 
-    private void onHourlyWeatherFetchSuccessful(List<WeatherResponse> weatherResponses) {
-        if (weatherResponses != null && !weatherResponses.isEmpty()) {
-            hourly.setValue(weatherResponses);
-            Timber.d("Hourly: %s", weatherResponses.size());
+    private void onHourlyWeatherFetchSuccessful(ForecastSeries series) {
+        if (!series.isEmpty()) {
+            hourlySeries.setValue(series);
+            Timber.d("Hourly: %s", series.size());
         } else {
             Timber.e("Hourly: No data received");
         }
@@ -85,8 +113,64 @@ public class HomeViewModel extends ViewModel {
         Timber.e("Hourly: %s", throwable.getMessage());
     }
 
-    public LiveData<List<WeatherResponse>> getHourly() {
-        return hourly;
+    /**
+     * Starts observing the cached current and hourly weather of a location, until another location
+     * is observed or the ViewModel is cleared. Whatever a background sync writes to the cache is
+     * published without another fetch. The repository reads each entry like a fetch does, so
+     * expired current conditions are replaced by the ones derived from the hourly series.
+     *
+     * @param coordinates the coordinates of the location
+     */
+    public void observeForecastByLocation(@NonNull Coordinates coordinates) {
+        CompositeDisposable subscriptions = new CompositeDisposable();
+        subscriptions.add(
+                repository
+                        .observeForecast(coordinates, WeatherEntity.Type.CURRENT)
+                        .subscribeOn(Schedulers.io())
+                        .map(CachedForecast::data)
+                        .filter(weatherResponses -> !weatherResponses.isEmpty())
+                        .observeOn(AndroidSchedulers.mainThread())
+                        .subscribe(
+                                this::onCurrentWeatherFetchSuccessful,
+                                this::onCurrentWeatherFetchFail));
+        subscriptions.add(
+                repository
+                        .observeForecast(coordinates, WeatherEntity.Type.HOURLY)
+                        .subscribeOn(Schedulers.io())
+                        .map(CachedForecast::data)
+                        .filter(weatherResponses -> !weatherResponses.isEmpty())
+                        .map(ForecastSeries::from)
+                        .observeOn(AndroidSchedulers.mainThread())
+                        .subscribe(
+                                this::onHourlyWeatherFetchSuccessful,
+                                this::onHourlyWeathersFetchFail));
+        forecastSubscription.set(subscriptions);
+    }
+
+    /**
+     * Starts observing the remaining API budget, until the ViewModel is cleared. Only the first
+     * call subscribes, so the owner may call it each time it is created again.
+     */
+    public void observeApiQuota() {
+        if (quotaSubscription.get() != null) {
+            return;
+        }
+        quotaSubscription.set(
+                repository
+                        .observeApiQuota()
+                        .observeOn(AndroidSchedulers.mainThread())
+                        .subscribe(
+                                apiQuota::setValue,
+                                throwable -> Timber.e("Quota: %s", throwable.getMessage())));
+    }
+
+    public LiveData<ApiQuota> getApiQuota() {
+        return apiQuota;
+    }
+
+    /** The hourly forecast as a columnar series. */
+    public LiveData<ForecastSeries> getHourlySeries() {
+        return hourlySeries;
     }
 
     public LiveData<List<WeatherResponse>> getCurrent() {
@@ -2,8 +2,10 @@ package com.optlab.nimbus.utility;
 
 import androidx.annotation.NonNull;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
@@ -16,6 +18,7 @@ import java.util.TimeZone;
  * retrieve specific components of a date.
  */
 public final class DateTimeUtil {
+    private static final DateTimeFormatter HOURS_FORMATTER = DateTimeFormatter.ofPattern("h a");
 
     private DateTimeUtil() {
         // Private constructor to prevent instantiation
@@ -137,4 +140,33 @@ public final class DateTimeUtil {
     public static String getHours(@NonNull String dateTime) {
         return ZonedDateTime.parse(dateTime).format(DateTimeFormatter.ofPattern("h a"));
     }
+
+    /**
+     * Get the hours from an epoch timestamp, formatted as "h a" (e.g., "12 PM").
+     *
+     * @param epochMillis The timestamp in milliseconds since the epoch.
+     * @param offset The zone offset the hours are shown in.
+     * @return The formatted hours as a string (e.g., "12 PM").
+     */
+    public static String getHours(long epochMillis, @NonNull ZoneOffset offset) {
+        return HOURS_FORMATTER
+                .withLocale(Locale.getDefault())
+                .format(Instant.ofEpochMilli(epochMillis).atOffset(offset));
+    }
+
+    /**
+     * Get the day of the week from an epoch timestamp.
+     *
+     * @param epochMillis The timestamp in milliseconds since the epoch.
+     * @param offset The zone offset the day is computed in.
+     * @param style The style of the day of the week (e.g., FULL, SHORT).
+     * @return The day of the week as a string (e.g., "MONDAY", "Mon").
+     */
+    public static String getDayOfWeek(
+            long epochMillis, @NonNull ZoneOffset offset, TextStyle style) {
+        return Instant.ofEpochMilli(epochMillis)
+                .atOffset(offset)
+                .getDayOfWeek()
+                .getDisplayName(style, Locale.getDefault());
+    }
 }
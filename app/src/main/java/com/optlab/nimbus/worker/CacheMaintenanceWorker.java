@@ -0,0 +1,54 @@
+package com.optlab.nimbus.worker;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.optlab.nimbus.data.local.maintenance.CacheMaintenance;
+import com.optlab.nimbus.data.local.maintenance.CacheStats;
+
+import timber.log.Timber;
+
+/**
+ * CacheMaintenanceWorker prunes the local cache and reports its size. It is scheduled as
+ * low-priority periodic work, only when the device is idle and the battery is not low.
+ */
+public class CacheMaintenanceWorker extends Worker {
+    public static final String KEY_ENTRIES = "entries";
+    public static final String KEY_PAYLOAD_BYTES = "payload_bytes";
+    public static final String KEY_DATABASE_BYTES = "database_bytes";
+    public static final String KEY_DELETED_ENTRIES = "deleted_entries";
+    public static final String KEY_VACUUMED = "vacuumed";
+
+    private final CacheMaintenance cacheMaintenance;
+
+    public CacheMaintenanceWorker(
+            @NonNull Context context,
+            @NonNull WorkerParameters workerParams,
+            @NonNull CacheMaintenance cacheMaintenance) {
+        super(context, workerParams);
+        this.cacheMaintenance = cacheMaintenance;
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            CacheStats stats = cacheMaintenance.run(System.currentTimeMillis());
+            return Result.success(
+                    new Data.Builder()
+                            .putInt(KEY_ENTRIES, stats.entries())
+                            .putLong(KEY_PAYLOAD_BYTES, stats.payloadBytes())
+                            .putLong(KEY_DATABASE_BYTES, stats.databaseBytes())
+                            .putInt(KEY_DELETED_ENTRIES, stats.deletedEntries())
+                            .putBoolean(KEY_VACUUMED, stats.vacuumed())
+                            .build());
+        } catch (Exception e) {
+            Timber.e(e, "Cache maintenance failed");
+            return Result.failure();
+        }
+    }
+}
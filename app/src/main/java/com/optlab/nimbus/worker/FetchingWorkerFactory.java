@@ -8,8 +8,11 @@ import androidx.work.ListenableWorker;
 import androidx.work.WorkerFactory;
 import androidx.work.WorkerParameters;
 
+import com.optlab.nimbus.data.local.maintenance.CacheMaintenance;
+import com.optlab.nimbus.data.network.metrics.NetworkMetrics;
 import com.optlab.nimbus.data.preferences.UserPreferencesManager;
 import com.optlab.nimbus.data.repository.WeatherRepository;
+import com.optlab.nimbus.worker.schedule.SyncScheduler;
 
 import timber.log.Timber;
 
@@ -21,11 +24,21 @@ import timber.log.Timber;
 public class FetchingWorkerFactory extends WorkerFactory {
     private final WeatherRepository repository;
     private final UserPreferencesManager userPrefs;
+    private final CacheMaintenance cacheMaintenance;
+    private final NetworkMetrics networkMetrics;
+    private final SyncScheduler syncScheduler;
 
     public FetchingWorkerFactory(
-            @NonNull WeatherRepository repository, @NonNull UserPreferencesManager userPrefs) {
+            @NonNull WeatherRepository repository,
+            @NonNull UserPreferencesManager userPrefs,
+            @NonNull CacheMaintenance cacheMaintenance,
+            @NonNull NetworkMetrics networkMetrics,
+            @NonNull SyncScheduler syncScheduler) {
         this.repository = repository;
         this.userPrefs = userPrefs;
+        this.cacheMaintenance = cacheMaintenance;
+        this.networkMetrics = networkMetrics;
+        this.syncScheduler = syncScheduler;
     }
 
     @Nullable
@@ -35,14 +48,17 @@ public class FetchingWorkerFactory extends WorkerFactory {
             @NonNull String workerClassName, // Name of the worker class to be created
             @NonNull WorkerParameters workerParameters) {
         try {
-            if (workerClassName.equals(CurrentWeatherWorker.class.getName())) {
-                return new CurrentWeatherWorker(context, workerParameters, repository, userPrefs);
+            if (workerClassName.equals(WeatherSyncWorker.class.getName())) {
+                return new WeatherSyncWorker(
+                        context,
+                        workerParameters,
+                        repository,
+                        userPrefs,
+                        networkMetrics,
+                        syncScheduler);
             }
-            if (workerClassName.equals(DailyWeatherWorker.class.getName())) {
-                return new DailyWeatherWorker(context, workerParameters, repository, userPrefs);
-            }
-            if (workerClassName.equals(HourlyWeatherWorker.class.getName())) {
-                return new HourlyWeatherWorker(context, workerParameters, repository, userPrefs);
+            if (workerClassName.equals(CacheMaintenanceWorker.class.getName())) {
+                return new CacheMaintenanceWorker(context, workerParameters, cacheMaintenance);
             }
         } catch (Exception e) {
             Timber.e("Error creating worker: %s", e.getMessage());
@@ -0,0 +1,65 @@
+package com.optlab.nimbus.worker;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+
+import com.optlab.nimbus.data.network.metrics.EndpointMetrics;
+import com.optlab.nimbus.data.network.metrics.NetworkMetrics;
+
+/**
+ * NetworkUsage measures the traffic and the duration of one run of a worker, so that the worker
+ * can report them in its output data.
+ *
+ * <p>The bytes are the difference between the totals of {@link NetworkMetrics} at the start and
+ * at the end of the run, so they also count any call the app made meanwhile.
+ */
+public final class NetworkUsage {
+    public static final String KEY_BYTES_SENT = "bytes_sent";
+    public static final String KEY_BYTES_RECEIVED = "bytes_received";
+    public static final String KEY_DURATION_MILLIS = "duration_millis";
+
+    private final NetworkMetrics networkMetrics;
+    private final long startBytesSent;
+    private final long startBytesReceived;
+    private final long startTime;
+
+    private NetworkUsage(@NonNull NetworkMetrics networkMetrics) {
+        this.networkMetrics = networkMetrics;
+        long sent = 0;
+        long received = 0;
+        for (EndpointMetrics.Snapshot endpoint : networkMetrics.snapshot().values()) {
+            sent += endpoint.requestBytes();
+            received += endpoint.responseBytes();
+        }
+        this.startBytesSent = sent;
+        this.startBytesReceived = received;
+        this.startTime = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Starts measuring a run.
+     *
+     * @param networkMetrics the store of the network metrics of the app
+     * @return the usage, to be written when the run ends
+     */
+    @NonNull
+    static NetworkUsage start(@NonNull NetworkMetrics networkMetrics) {
+        return new NetworkUsage(networkMetrics);
+    }
+
+    /**
+     * Writes the traffic and the duration of the run so far into the given output data.
+     *
+     * @param data the builder of the output data
+     * @return the same builder
+     */
+    @NonNull
+    Data.Builder writeTo(@NonNull Data.Builder data) {
+        NetworkUsage now = new NetworkUsage(networkMetrics);
+        return data.putLong(KEY_BYTES_SENT, now.startBytesSent - startBytesSent)
+                .putLong(KEY_BYTES_RECEIVED, now.startBytesReceived - startBytesReceived)
+                .putLong(KEY_DURATION_MILLIS, now.startTime - startTime);
+    }
+}
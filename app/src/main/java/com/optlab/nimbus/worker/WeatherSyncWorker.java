@@ -0,0 +1,159 @@
+package com.optlab.nimbus.worker;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.WorkerParameters;
+import androidx.work.rxjava3.RxWorker;
+
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.model.Coordinates;
+import com.optlab.nimbus.data.network.metrics.NetworkMetrics;
+import com.optlab.nimbus.data.preferences.UserPreferences;
+import com.optlab.nimbus.data.repository.SyncReport;
+import com.optlab.nimbus.data.repository.WeatherRepository;
+import com.optlab.nimbus.worker.schedule.SyncScheduler;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+
+import timber.log.Timber;
+
+/**
+ * WeatherSyncWorker keeps the weather data of every saved location fresh in a single wake-up. For
+ * each location, the repository checks the freshness of every type and requests only the stale
+ * ones, so a run where everything is fresh costs no request at all. The locations are synced one
+ * after the other, and the worker reports what it did in its output data.
+ *
+ * <p>When asked through {@link #KEY_DEFER_DAILY_ON_METERED}, the daily series is not checked while
+ * the network is metered, so it is only refreshed there when it comes with the other types in one
+ * bundle. Every run is reported to the {@link SyncScheduler}, which adapts the next ones.
+ */
+public class WeatherSyncWorker extends RxWorker {
+    public static final String KEY_DEFER_DAILY_ON_METERED = "defer_daily_on_metered";
+    public static final String KEY_LOCATIONS = "locations";
+    public static final String KEY_STALE_TYPES = "stale_types";
+    public static final String KEY_FETCHED_TYPES = "fetched_types";
+    public static final String KEY_REQUESTS = "requests";
+    public static final String KEY_FAILURES = "failures";
+
+    private final WeatherRepository repository;
+    private final UserPreferences userPrefs;
+    private final NetworkMetrics networkMetrics;
+    private final SyncScheduler syncScheduler;
+
+    public WeatherSyncWorker(
+            @NonNull Context context,
+            @NonNull WorkerParameters workerParams,
+            @NonNull WeatherRepository repository,
+            @NonNull UserPreferences userPrefs,
+            @NonNull NetworkMetrics networkMetrics,
+            @NonNull SyncScheduler syncScheduler) {
+        super(context, workerParams);
+        this.repository = repository;
+        this.userPrefs = userPrefs;
+        this.networkMetrics = networkMetrics;
+        this.syncScheduler = syncScheduler;
+    }
+
+    @NonNull
+    @Override
+    public Single<Result> createWork() {
+        List<Coordinates> locations = getSavedLocations();
+        Set<WeatherEntity.Type> types = getTypesToSync();
+        NetworkUsage usage = NetworkUsage.start(networkMetrics);
+        return Observable.fromIterable(locations)
+                .concatMap(coordinates -> repository.syncWeather(coordinates, types))
+                .toList()
+                .map(reports -> toResult(locations.size(), reports, usage))
+                .onErrorReturn(
+                        throwable -> {
+                            Timber.e(throwable, "Weather sync failed");
+                            return Result.retry();
+                        });
+    }
+
+    /**
+     * Gets the types to sync, leaving out the daily series if it is deferred on the current
+     * network.
+     *
+     * @return the types to sync
+     */
+    @NonNull
+    private Set<WeatherEntity.Type> getTypesToSync() {
+        if (getInputData().getBoolean(KEY_DEFER_DAILY_ON_METERED, false)) {
+            ConnectivityManager connectivity =
+                    getApplicationContext().getSystemService(ConnectivityManager.class);
+            if (connectivity == null || connectivity.isActiveNetworkMetered()) {
+                Timber.d("Metered network, deferring the daily weather sync");
+                return EnumSet.of(WeatherEntity.Type.CURRENT, WeatherEntity.Type.HOURLY);
+            }
+        }
+        return EnumSet.allOf(WeatherEntity.Type.class);
+    }
+
+    /**
+     * Gets the coordinates of every saved location, skipping the ones that cannot be read.
+     *
+     * @return the saved locations
+     */
+    @NonNull
+    private List<Coordinates> getSavedLocations() {
+        int count = userPrefs.getLocations().size();
+        List<Coordinates> locations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Coordinates coordinates = userPrefs.getLocation(i);
+            if (coordinates != null) {
+                locations.add(coordinates);
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * Sums the reports of the locations into the result of the work, and reports the run to the
+     * scheduler. Any failed location makes the work retry, which is cheap, since the locations
+     * synced meanwhile are fresh and skipped.
+     *
+     * @param locations the number of locations synced
+     * @param reports the report of each location
+     * @param usage the network usage of the work
+     * @return the result of the work
+     */
+    @NonNull
+    private Result toResult(
+            int locations, @NonNull List<SyncReport> reports, @NonNull NetworkUsage usage) {
+        int staleTypes = 0;
+        int fetchedTypes = 0;
+        int requests = 0;
+        int failures = 0;
+        for (SyncReport report : reports) {
+            staleTypes += report.staleTypes();
+            fetchedTypes += report.fetchedTypes();
+            requests += report.requests();
+            failures += report.failed() ? 1 : 0;
+        }
+        Timber.d(
+                "Weather sync: %d locations, %d stale types, %d fetched, %d requests, %d failed",
+                locations, staleTypes, fetchedTypes, requests, failures);
+        syncScheduler.recordSyncRun(staleTypes == 0);
+        if (failures > 0) {
+            return Result.retry();
+        }
+        return Result.success(
+                usage.writeTo(new Data.Builder())
+                        .putInt(KEY_LOCATIONS, locations)
+                        .putInt(KEY_STALE_TYPES, staleTypes)
+                        .putInt(KEY_FETCHED_TYPES, fetchedTypes)
+                        .putInt(KEY_REQUESTS, requests)
+                        .putInt(KEY_FAILURES, failures)
+                        .build());
+    }
+}
@@ -0,0 +1,66 @@
+package com.optlab.nimbus.worker.schedule;
+
+import androidx.annotation.NonNull;
+
+import com.optlab.nimbus.constant.ResponseConstant;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+/**
+ * AdaptiveSyncPolicy decides how often the weather is synced in the background, from the habits
+ * of the user and from how useful the last syncs were.
+ *
+ * <ul>
+ *   <li>The interval starts at the expiry of current conditions, and doubles for every few runs
+ *       in a row that found everything still fresh, up to a limit. A run that had to fetch
+ *       anything brings it back to the start.
+ *   <li>Overnight, unless the user usually opens the app at that hour, the interval is widened to
+ *       a few hours.
+ *   <li>A one-off sync is planned a little ahead of the next hour the user usually opens the app,
+ *       so that the open is served fresh from the cache.
+ * </ul>
+ *
+ * <p>The class is pure: the time is always passed in.
+ */
+public final class AdaptiveSyncPolicy {
+    static final Duration BASE_INTERVAL = Duration.ofMillis(ResponseConstant.CURRENT_EXPIRY_TIME);
+    static final Duration NIGHT_INTERVAL = Duration.ofHours(6);
+    static final Duration PRE_SYNC_LEAD = Duration.ofMinutes(20);
+
+    /** Fresh runs in a row needed to double the interval once. */
+    static final int FRESH_RUNS_PER_STEP = 2;
+
+    /** Times the interval may be doubled. */
+    static final int MAX_WIDENING_STEPS = 2;
+
+    private static final int NIGHT_START_HOUR = 22;
+    private static final int NIGHT_END_HOUR = 6;
+
+    /**
+     * Plans the next syncs.
+     *
+     * @param opens the hours the user usually opens the app at
+     * @param now the current local time
+     * @param freshRuns the number of runs in a row that found everything still fresh
+     * @return the plan
+     */
+    @NonNull
+    public SyncPlan plan(
+            @NonNull AppOpenHistogram opens, @NonNull ZonedDateTime now, int freshRuns) {
+        int steps = Math.min(Math.max(freshRuns, 0) / FRESH_RUNS_PER_STEP, MAX_WIDENING_STEPS);
+        Duration interval = BASE_INTERVAL.multipliedBy(1L << steps);
+        if (isQuietNight(opens, now.getHour()) && interval.compareTo(NIGHT_INTERVAL) < 0) {
+            interval = NIGHT_INTERVAL;
+        }
+        ZonedDateTime open = opens.nextUsualOpen(now, PRE_SYNC_LEAD);
+        Instant preSyncAt = open == null ? null : open.minus(PRE_SYNC_LEAD).toInstant();
+        return new SyncPlan(interval, preSyncAt);
+    }
+
+    private static boolean isQuietNight(@NonNull AppOpenHistogram opens, int hour) {
+        boolean night = hour >= NIGHT_START_HOUR || hour < NIGHT_END_HOUR;
+        return night && (!opens.isTrained() || opens.isQuiet(hour));
+    }
+}
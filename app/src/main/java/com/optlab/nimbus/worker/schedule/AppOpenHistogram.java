@@ -0,0 +1,151 @@
+package com.optlab.nimbus.worker.schedule;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * AppOpenHistogram learns at which local hours the user usually opens the app.
+ *
+ * <p>Each open adds one to the bucket of its hour, after every bucket has been decayed, so that a
+ * change of habits takes over within a few weeks. An hour is usual when it holds a large enough
+ * share of the opens, and quiet when it holds almost none. Until enough opens have been seen,
+ * no hour is usual, and the quiet hours are left to the caller's defaults.
+ */
+public final class AppOpenHistogram {
+    static final int HOURS = 24;
+
+    /** Weight kept by every bucket at each open. */
+    private static final double DECAY = 0.97;
+
+    /** Total weight needed before the histogram is trusted. */
+    private static final double MIN_WEIGHT = 5;
+
+    /** Share of the opens an hour needs to be usual. */
+    private static final double USUAL_SHARE = 0.1;
+
+    /** Share of the opens under which an hour is quiet. */
+    private static final double QUIET_SHARE = 0.02;
+
+    private final double[] weights;
+
+    /** Creates an empty histogram. */
+    public AppOpenHistogram() {
+        this(new double[HOURS]);
+    }
+
+    private AppOpenHistogram(@NonNull double[] weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * Parses a histogram saved with {@link #serialize()}.
+     *
+     * @param serialized the saved histogram, or null
+     * @return the histogram, empty if nothing was saved or it cannot be read
+     */
+    @NonNull
+    public static AppOpenHistogram parse(@Nullable String serialized) {
+        if (serialized == null) {
+            return new AppOpenHistogram();
+        }
+        String[] values = serialized.split(",");
+        if (values.length != HOURS) {
+            return new AppOpenHistogram();
+        }
+        double[] weights = new double[HOURS];
+        try {
+            for (int hour = 0; hour < HOURS; hour++) {
+                weights[hour] = Double.parseDouble(values[hour]);
+            }
+        } catch (NumberFormatException e) {
+            return new AppOpenHistogram();
+        }
+        return new AppOpenHistogram(weights);
+    }
+
+    /**
+     * Serializes the histogram, to be saved in the preferences.
+     *
+     * @return the weights of the hours, comma separated
+     */
+    @NonNull
+    public String serialize() {
+        StringBuilder serialized = new StringBuilder();
+        for (int hour = 0; hour < HOURS; hour++) {
+            if (hour > 0) {
+                serialized.append(',');
+            }
+            serialized.append(weights[hour]);
+        }
+        return serialized.toString();
+    }
+
+    /**
+     * Records an open of the app.
+     *
+     * @param hour the local hour of the open, from 0 to 23
+     */
+    public void record(int hour) {
+        for (int i = 0; i < HOURS; i++) {
+            weights[i] *= DECAY;
+        }
+        weights[hour] += 1;
+    }
+
+    /**
+     * Gets whether enough opens have been recorded to trust the histogram.
+     *
+     * @return true if the histogram is trusted
+     */
+    public boolean isTrained() {
+        return totalWeight() >= MIN_WEIGHT;
+    }
+
+    /**
+     * Gets whether the user usually opens the app at the given hour.
+     *
+     * @param hour the local hour, from 0 to 23
+     * @return true if the histogram is trusted and the hour holds a large enough share of opens
+     */
+    public boolean isUsual(int hour) {
+        return isTrained() && weights[hour] / totalWeight() >= USUAL_SHARE;
+    }
+
+    /**
+     * Gets whether the user almost never opens the app at the given hour.
+     *
+     * @param hour the local hour, from 0 to 23
+     * @return true if the histogram is trusted and the hour holds almost no opens
+     */
+    public boolean isQuiet(int hour) {
+        return isTrained() && weights[hour] / totalWeight() < QUIET_SHARE;
+    }
+
+    /**
+     * Finds the start of the next usual hour that is still at least the given lead away.
+     *
+     * @param now the current local time
+     * @param lead the time needed before the open
+     * @return the start of the hour, or null if no hour of the next day is usual
+     */
+    @Nullable
+    public ZonedDateTime nextUsualOpen(@NonNull ZonedDateTime now, @NonNull Duration lead) {
+        ZonedDateTime hourStart = now.truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i <= HOURS + 1; i++) {
+            ZonedDateTime candidate = hourStart.plusHours(i);
+            if (isUsual(candidate.getHour()) && candidate.minus(lead).isAfter(now)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private double totalWeight() {
+        return Arrays.stream(weights).sum();
+    }
+}
@@ -0,0 +1,14 @@
+package com.optlab.nimbus.worker.schedule;
+
+import androidx.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * SyncPlan tells how the weather sync should be scheduled next.
+ *
+ * @param interval the interval of the periodic sync
+ * @param preSyncAt when to sync once ahead of the next usual open, or null if none is known
+ */
+public record SyncPlan(Duration interval, @Nullable Instant preSyncAt) {}
@@ -0,0 +1,205 @@
+package com.optlab.nimbus.worker.schedule;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.WorkRequest;
+
+import com.optlab.nimbus.worker.WeatherSyncWorker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import timber.log.Timber;
+
+/**
+ * SyncScheduler keeps the background weather sync in line with {@link AdaptiveSyncPolicy}.
+ *
+ * <p>It learns the hours the app is opened at and counts the syncs in a row that found everything
+ * fresh, both persisted in SharedPreferences so that they survive process death. After each open
+ * and each sync, the plan is computed again: the periodic sync is re-enqueued with {@link
+ * ExistingPeriodicWorkPolicy#UPDATE} when its interval changed, and a one-off sync is enqueued
+ * ahead of the next usual open. Both only run with a network and when the battery is not low, and
+ * the periodic one leaves a lone daily refresh to unmetered networks.
+ */
+public class SyncScheduler {
+    public static final String WEATHER_SYNC = "WeatherSync";
+    public static final String WEATHER_PRE_SYNC = "WeatherPreSync";
+
+    /** Opens closer together than this are counted once. */
+    private static final Duration MIN_OPEN_SPACING = Duration.ofMinutes(30);
+
+    private static final String PREF_NAME = "sync_schedule";
+    private static final String OPEN_HISTOGRAM = "open_histogram";
+    private static final String LAST_OPEN_AT = "last_open_at";
+    private static final String FRESH_RUNS = "fresh_runs";
+    private static final String INTERVAL = "interval";
+    private static final String PRE_SYNC_AT = "pre_sync_at";
+
+    private static final Constraints SYNC_CONSTRAINT =
+            new Constraints.Builder()
+                    .setRequiredNetworkType(NetworkType.CONNECTED)
+                    .setRequiresBatteryNotLow(true)
+                    .build();
+
+    private final SharedPreferences schedulePrefs;
+    private final Supplier<WorkManager> workManager;
+    private final Clock clock;
+    private final AdaptiveSyncPolicy policy = new AdaptiveSyncPolicy();
+    private final AppOpenHistogram opens;
+    private int freshRuns;
+
+    public SyncScheduler(@NonNull Context context) {
+        this(
+                context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE),
+                () -> WorkManager.getInstance(context),
+                Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates the scheduler on top of the given preferences, restoring what it learned.
+     *
+     * @param schedulePrefs the preferences the schedule is persisted in
+     * @param workManager the source of the WorkManager the syncs are enqueued in
+     * @param clock the source of the current time and zone
+     */
+    public SyncScheduler(
+            @NonNull SharedPreferences schedulePrefs,
+            @NonNull Supplier<WorkManager> workManager,
+            @NonNull Clock clock) {
+        this.schedulePrefs = schedulePrefs;
+        this.workManager = workManager;
+        this.clock = clock;
+        this.opens = AppOpenHistogram.parse(schedulePrefs.getString(OPEN_HISTOGRAM, null));
+        this.freshRuns = schedulePrefs.getInt(FRESH_RUNS, 0);
+    }
+
+    /** Schedules the syncs with what has been learned so far, e.g. when the app starts. */
+    public synchronized void schedule() {
+        apply(plan(), true);
+    }
+
+    /** Records that the app was opened, and schedules the syncs again. */
+    public synchronized void recordAppOpen() {
+        Instant now = clock.instant();
+        long lastOpenAt = schedulePrefs.getLong(LAST_OPEN_AT, 0);
+        if (now.toEpochMilli() - lastOpenAt < MIN_OPEN_SPACING.toMillis()) {
+            return;
+        }
+        opens.record(ZonedDateTime.now(clock).getHour());
+        schedulePrefs
+                .edit()
+                .putString(OPEN_HISTOGRAM, opens.serialize())
+                .putLong(LAST_OPEN_AT, now.toEpochMilli())
+                .apply();
+        apply(plan(), true);
+    }
+
+    /**
+     * Records the outcome of a sync, and schedules the periodic sync again. The one-off sync is
+     * left alone, since the run may be that very sync.
+     *
+     * @param everythingFresh whether the sync found nothing to fetch
+     */
+    public synchronized void recordSyncRun(boolean everythingFresh) {
+        freshRuns = everythingFresh ? freshRuns + 1 : 0;
+        schedulePrefs.edit().putInt(FRESH_RUNS, freshRuns).apply();
+        apply(plan(), false);
+    }
+
+    @NonNull
+    private SyncPlan plan() {
+        return policy.plan(opens, ZonedDateTime.now(clock), freshRuns);
+    }
+
+    private void apply(@NonNull SyncPlan plan, boolean includePreSync) {
+        SharedPreferences.Editor editor = schedulePrefs.edit();
+
+        long interval = plan.interval().toMillis();
+        boolean intervalChanged = interval != schedulePrefs.getLong(INTERVAL, 0);
+        workManager
+                .get()
+                .enqueueUniquePeriodicWork(
+                        WEATHER_SYNC,
+                        intervalChanged
+                                ? ExistingPeriodicWorkPolicy.UPDATE
+                                : ExistingPeriodicWorkPolicy.KEEP,
+                        getPeriodicSyncRequest(plan.interval()));
+        if (intervalChanged) {
+            Timber.d("Weather sync every %d minutes", plan.interval().toMinutes());
+            editor.putLong(INTERVAL, interval);
+        }
+
+        Instant preSyncAt = plan.preSyncAt();
+        if (includePreSync
+                && preSyncAt != null
+                && preSyncAt.toEpochMilli() != schedulePrefs.getLong(PRE_SYNC_AT, 0)) {
+            Duration delay = Duration.between(clock.instant(), preSyncAt);
+            workManager
+                    .get()
+                    .enqueueUniqueWork(
+                            WEATHER_PRE_SYNC,
+                            ExistingWorkPolicy.REPLACE,
+                            getPreSyncRequest(delay));
+            Timber.d("Weather pre-sync at %s", preSyncAt);
+            editor.putLong(PRE_SYNC_AT, preSyncAt.toEpochMilli());
+        }
+
+        editor.apply();
+    }
+
+    /**
+     * Creates the periodic work request of the weather sync, which defers a lone daily refresh
+     * while the network is metered.
+     *
+     * @param interval the interval of the sync
+     * @return a PeriodicWorkRequest object for the weather sync
+     */
+    @NonNull
+    private static PeriodicWorkRequest getPeriodicSyncRequest(@NonNull Duration interval) {
+        return new PeriodicWorkRequest.Builder(
+                        WeatherSyncWorker.class, interval.toMillis(), TimeUnit.MILLISECONDS)
+                .setConstraints(SYNC_CONSTRAINT)
+                .setBackoffCriteria(
+                        BackoffPolicy.EXPONENTIAL,
+                        WorkRequest.MIN_BACKOFF_MILLIS,
+                        TimeUnit.MILLISECONDS)
+                .setInputData(
+                        new Data.Builder()
+                                .putBoolean(WeatherSyncWorker.KEY_DEFER_DAILY_ON_METERED, true)
+                                .build())
+                .build();
+    }
+
+    /**
+     * Creates the one-off work request that syncs every type ahead of the next usual open.
+     *
+     * @param delay the time until the sync
+     * @return a OneTimeWorkRequest object for the pre-sync
+     */
+    @NonNull
+    private static OneTimeWorkRequest getPreSyncRequest(@NonNull Duration delay) {
+        return new OneTimeWorkRequest.Builder(WeatherSyncWorker.class)
+                .setInitialDelay(delay.toMillis(), TimeUnit.MILLISECONDS)
+                .setConstraints(SYNC_CONSTRAINT)
+                .setBackoffCriteria(
+                        BackoffPolicy.EXPONENTIAL,
+                        WorkRequest.MIN_BACKOFF_MILLIS,
+                        TimeUnit.MILLISECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.optlab.nimbus.data.local.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.optlab.nimbus.constant.ResponseConstant;
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import org.junit.Test;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+// | Scenario                        | Description                                          | Expected Result                          |
+// |---------------------------------|------------------------------------------------------|------------------------------------------|
+// | Hourly series                   | Series starting at the next full hour                | Valid until its first interval starts    |
+// | Daily series                    | Series starting tomorrow, fetched in the afternoon   | Valid until the next local midnight      |
+// | Daily series just before 0:00   | Series fetched a minute before local midnight        | Valid for that minute only               |
+// | Current conditions              | Realtime observation                                 | Valid for the fixed current expiry time  |
+// | Unparsable first interval       | Hourly series whose first date cannot be read        | Falls back to the fixed expiry time      |
+// | Far first interval              | Hourly series starting days after the fetch          | Capped at the daily expiry time          |
+// | Validity boundary               | Check at the end of the validity                     | No longer valid                          |
+
+public class ForecastFreshnessTest {
+    private static final long FETCHED_AT = epochMillis("2025-06-15T14:20:00+07:00");
+
+    private static long epochMillis(String date) {
+        return OffsetDateTime.parse(date).toInstant().toEpochMilli();
+    }
+
+    private static List<WeatherResponse> series(String firstDate) {
+        WeatherResponse response = new WeatherResponse();
+        response.setDate(firstDate);
+        return Collections.singletonList(response);
+    }
+
+    @Test
+    public void validUntil_hourly_isFirstIntervalStart() {
+        long validUntil =
+                ForecastFreshness.validUntil(
+                        WeatherEntity.Type.HOURLY,
+                        series("2025-06-15T15:00:00+07:00"),
+                        FETCHED_AT);
+
+        assertEquals(epochMillis("2025-06-15T15:00:00+07:00"), validUntil);
+    }
+
+    @Test
+    public void validUntil_daily_isNextLocalMidnight() {
+        long validUntil =
+                ForecastFreshness.validUntil(
+                        WeatherEntity.Type.DAILY, series("2025-06-16T06:00:00+07:00"), FETCHED_AT);
+
+        assertEquals(epochMillis("2025-06-16T00:00:00+07:00"), validUntil);
+    }
+
+    @Test
+    public void validUntil_dailyFetchedBeforeMidnight_rollsOverAtMidnight() {
+        long fetchedAt = epochMillis("2025-06-15T23:59:00+07:00");
+
+        long validUntil =
+                ForecastFreshness.validUntil(
+                        WeatherEntity.Type.DAILY, series("2025-06-16T06:00:00+07:00"), fetchedAt);
+
+        assertEquals(fetchedAt + 60_000, validUntil);
+    }
+
+    @Test
+    public void validUntil_current_usesCurrentExpiryTime() {
+        long validUntil =
+                ForecastFreshness.validUntil(
+                        WeatherEntity.Type.CURRENT,
+                        series("2025-06-15T14:20:00+07:00"),
+                        FETCHED_AT);
+
+        assertEquals(FETCHED_AT + ResponseConstant.CURRENT_EXPIRY_TIME, validUntil);
+    }
+
+    @Test
+    public void validUntil_unparsableDate_fallsBackToExpiryTime() {
+        long validUntil =
+                ForecastFreshness.validUntil(
+                        WeatherEntity.Type.HOURLY, series("not a date"), FETCHED_AT);
+
+        assertEquals(FETCHED_AT + ResponseConstant.DAILY_EXPIRY_TIME, validUntil);
+    }
+
+    @Test
+    public void validUntil_farFirstInterval_isCappedAtDailyExpiryTime() {
+        long validUntil =
+                ForecastFreshness.validUntil(
+                        WeatherEntity.Type.HOURLY,
+                        series("2025-06-20T15:00:00+07:00"),
+                        FETCHED_AT);
+
+        assertEquals(FETCHED_AT + ResponseConstant.DAILY_EXPIRY_TIME, validUntil);
+    }
+
+    @Test
+    public void isValid_atValidityEnd_returnsFalse() {
+        assertTrue(ForecastFreshness.isValid(FETCHED_AT, FETCHED_AT - 1));
+        assertFalse(ForecastFreshness.isValid(FETCHED_AT, FETCHED_AT));
+    }
+}
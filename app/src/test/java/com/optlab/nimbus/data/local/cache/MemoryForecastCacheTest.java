@@ -0,0 +1,121 @@
+package com.optlab.nimbus.data.local.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import android.content.ComponentCallbacks2;
+
+import com.optlab.nimbus.constant.ResponseConstant;
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// | Scenario                        | Description                                          | Expected Result                          |
+// |---------------------------------|------------------------------------------------------|------------------------------------------|
+// | Read after write                | Forecast put then read before it expires             | Hit, same data                           |
+// | Unknown key                     | Read of a type or location never written             | Miss                                     |
+// | Expired entry                   | Read after the end of the validity of the entry      | Miss, entry evicted                      |
+// | Over capacity                   | More keys written than the cache holds               | Least recently used key evicted          |
+// | Returned list                   | Caller modifies the returned forecast                | Rejected                                 |
+// | Background trim                 | System trims memory with the app in background       | Every entry dropped                      |
+// | Running low trim                | System trims memory while the app runs low           | Half of the entries kept                 |
+
+public class MemoryForecastCacheTest {
+    private static final long NOW = 1_750_000_000_000L;
+    private static final long VALID_UNTIL = NOW + ResponseConstant.CURRENT_EXPIRY_TIME;
+    private static final String LOCATION_KEY = "10.78,106.70";
+
+    private MemoryForecastCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new MemoryForecastCache(4);
+    }
+
+    private static List<WeatherResponse> forecast(double temperature) {
+        WeatherResponse response = new WeatherResponse();
+        response.setDate("2025-05-19T06:00:00+07:00");
+        response.setTemperature(temperature);
+        List<WeatherResponse> forecast = new ArrayList<>();
+        forecast.add(response);
+        return forecast;
+    }
+
+    @Test
+    public void get_afterPut_returnsDataAndCountsHit() {
+        List<WeatherResponse> forecast = forecast(30);
+        cache.put(WeatherEntity.Type.HOURLY, LOCATION_KEY, forecast, NOW, VALID_UNTIL);
+
+        assertEquals(forecast, cache.get(WeatherEntity.Type.HOURLY, LOCATION_KEY, NOW + 1000));
+        assertEquals(new MemoryForecastCache.Stats(1, 0, 0, 1), cache.snapshot());
+    }
+
+    @Test
+    public void get_unknownKey_returnsNullAndCountsMiss() {
+        cache.put(WeatherEntity.Type.HOURLY, LOCATION_KEY, forecast(30), NOW, VALID_UNTIL);
+
+        assertNull(cache.get(WeatherEntity.Type.DAILY, LOCATION_KEY, NOW));
+        assertNull(cache.get(WeatherEntity.Type.HOURLY, "21.03,105.85", NOW));
+        assertEquals(2, cache.snapshot().misses());
+    }
+
+    @Test
+    public void get_expiredEntry_returnsNullAndEvicts() {
+        cache.put(WeatherEntity.Type.CURRENT, LOCATION_KEY, forecast(30), NOW, VALID_UNTIL);
+
+        assertNull(cache.get(WeatherEntity.Type.CURRENT, LOCATION_KEY, VALID_UNTIL));
+        assertEquals(new MemoryForecastCache.Stats(0, 1, 1, 0), cache.snapshot());
+    }
+
+    @Test
+    public void put_overCapacity_evictsLeastRecentlyUsed() {
+        for (int i = 0; i < 4; i++) {
+            cache.put(WeatherEntity.Type.DAILY, "location " + i, forecast(i), NOW, VALID_UNTIL);
+        }
+        cache.get(WeatherEntity.Type.DAILY, "location 0", NOW); // Mark as recently used
+
+        cache.put(WeatherEntity.Type.DAILY, "location 4", forecast(4), NOW, VALID_UNTIL);
+
+        assertNotNull(cache.get(WeatherEntity.Type.DAILY, "location 0", NOW));
+        assertNull(cache.get(WeatherEntity.Type.DAILY, "location 1", NOW));
+        assertEquals(1, cache.snapshot().evictions());
+    }
+
+    @Test
+    public void get_returnedList_isUnmodifiable() {
+        cache.put(WeatherEntity.Type.HOURLY, LOCATION_KEY, forecast(30), NOW, VALID_UNTIL);
+
+        List<WeatherResponse> cached = cache.get(WeatherEntity.Type.HOURLY, LOCATION_KEY, NOW);
+
+        assertThrows(UnsupportedOperationException.class, cached::clear);
+    }
+
+    @Test
+    public void onTrimMemory_background_dropsEverything() {
+        cache.put(WeatherEntity.Type.HOURLY, LOCATION_KEY, forecast(30), NOW, VALID_UNTIL);
+        cache.put(WeatherEntity.Type.DAILY, LOCATION_KEY, forecast(30), NOW, VALID_UNTIL);
+
+        cache.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+
+        assertEquals(new MemoryForecastCache.Stats(0, 0, 2, 0), cache.snapshot());
+    }
+
+    @Test
+    public void onTrimMemory_runningLow_keepsHalf() {
+        for (int i = 0; i < 4; i++) {
+            cache.put(WeatherEntity.Type.DAILY, "location " + i, forecast(i), NOW, VALID_UNTIL);
+        }
+
+        cache.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+
+        assertEquals(2, cache.snapshot().size());
+        assertNotNull(cache.get(WeatherEntity.Type.DAILY, "location 3", NOW));
+    }
+}
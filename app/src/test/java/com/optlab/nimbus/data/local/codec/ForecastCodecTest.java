@@ -0,0 +1,126 @@
+package com.optlab.nimbus.data.local.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.optlab.nimbus.R;
+import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoResponse;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+// | Scenario                        | Description                                          | Expected Result                          |
+// |---------------------------------|------------------------------------------------------|------------------------------------------|
+// | 5-day fixture round trip        | Fixture timeline encoded then decoded                | Equal responses                          |
+// | Size against JSON               | Same timeline as binary payload and as cached JSON   | Payload at most a quarter of the JSON    |
+// | Offsets and negative values     | UTC and negative offsets, sub-zero temperatures      | Dates and values restored                |
+// | Missing start time              | Interval without a date                              | Date stays null, later deltas intact     |
+// | Unknown version                 | First byte is not a known version                    | IOException                              |
+// | Truncated payload               | Payload cut in the middle of an interval             | IOException                              |
+
+public class ForecastCodecTest {
+    private static List<WeatherResponse> readFixture() throws IOException {
+        byte[] bytes =
+                Files.readAllBytes(
+                        Paths.get(
+                                "src/test/java/com/optlab/nimbus/data/network/tomorrowio/"
+                                        + "5days_response.json"));
+        String json = new String(bytes, StandardCharsets.UTF_8);
+        return TomorrowIoResponse.mapToResponses(
+                new Gson().fromJson(json, TomorrowIoResponse.class));
+    }
+
+    private static WeatherResponse response(String date, double temperature, int weatherCode) {
+        WeatherResponse response = new WeatherResponse();
+        response.setDate(date);
+        response.setTemperature(temperature);
+        response.setTemperatureMax(temperature + 1.25);
+        response.setTemperatureMin(temperature - 1.25);
+        response.setPressure(1013.25);
+        response.setWindSpeed(4.5);
+        response.setHumidity(67);
+        response.setWeatherCode(weatherCode);
+        return response;
+    }
+
+    @Test
+    public void encodeThenDecode_fixture_returnsEqualResponses() throws IOException {
+        List<WeatherResponse> responses = readFixture();
+
+        assertEquals(responses, ForecastCodec.decode(ForecastCodec.encode(responses)));
+    }
+
+    @Test
+    public void encode_fixture_isMuchSmallerThanJson() throws IOException {
+        List<WeatherResponse> responses = readFixture();
+        int jsonSize =
+                new Gson()
+                        .toJson(responses, new TypeToken<List<WeatherResponse>>() {}.getType())
+                        .getBytes(StandardCharsets.UTF_8)
+                        .length;
+
+        int binarySize = ForecastCodec.encode(responses).length;
+
+        assertTrue(binarySize + " vs " + jsonSize, binarySize * 4 <= jsonSize);
+    }
+
+    @Test
+    public void encodeThenDecode_offsetsAndNegativeValues_areRestored() throws IOException {
+        List<WeatherResponse> responses =
+                List.of(
+                        response("2025-01-10T00:00:00Z", -12.5, 5101),
+                        response("2025-01-10T01:00:00-03:30", -0.01, 7102),
+                        response("2025-01-09T23:00:00+05:45", 0, 9999));
+
+        List<WeatherResponse> decoded = ForecastCodec.decode(ForecastCodec.encode(responses));
+
+        assertEquals(responses.get(0).getDate(), decoded.get(0).getDate());
+        assertEquals(responses.get(1).getDate(), decoded.get(1).getDate());
+        assertEquals(responses.get(2).getDate(), decoded.get(2).getDate());
+        assertEquals(-12.5, decoded.get(0).getTemperature(), 0.0);
+        assertEquals(-0.01, decoded.get(1).getTemperature(), 0.0);
+        assertEquals(R.string.light_ice_pellets, decoded.get(1).getWeatherDescription());
+        assertEquals(9999, decoded.get(2).getWeatherCode());
+    }
+
+    @Test
+    public void encodeThenDecode_missingDate_keepsFollowingDates() throws IOException {
+        List<WeatherResponse> responses =
+                List.of(
+                        response("2025-05-01T10:00:00+07:00", 30, 1000),
+                        response(null, 31, 1000),
+                        response("2025-05-01T12:00:00+07:00", 32, 1000));
+
+        List<WeatherResponse> decoded = ForecastCodec.decode(ForecastCodec.encode(responses));
+
+        assertNull(decoded.get(1).getDate());
+        assertEquals("2025-05-01T12:00:00+07:00", decoded.get(2).getDate());
+    }
+
+    @Test
+    public void decode_unknownVersion_throws() {
+        byte[] payload = ForecastCodec.encode(List.of(response("2025-05-01T10:00:00Z", 1, 1000)));
+        payload[0] = (byte) (ForecastCodec.VERSION + 1);
+
+        assertThrows(IOException.class, () -> ForecastCodec.decode(payload));
+    }
+
+    @Test
+    public void decode_truncatedPayload_throws() {
+        byte[] payload = ForecastCodec.encode(List.of(response("2025-05-01T10:00:00Z", 1, 1000)));
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 3);
+
+        assertThrows(IOException.class, () -> ForecastCodec.decode(truncated));
+    }
+}
@@ -0,0 +1,100 @@
+package com.optlab.nimbus.data.local.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import org.junit.Test;
+
+// | Scenario                        | Description                                          | Expected Result                          |
+// |---------------------------------|------------------------------------------------------|------------------------------------------|
+// | Round trip of an interval       | Interval mapped to a row and back                    | Equal response, offset kept              |
+// | Start time as key               | Interval with a zone offset                          | Start stored in epoch seconds            |
+// | Missing or invalid start time   | Interval without a readable date                     | No row                                   |
+// | Same values, other write time   | Two rows of the same interval written at other times | Same values                              |
+// | Changed value                   | Two rows of the same interval, other temperature     | Not the same values                      |
+
+public class ForecastPointEntityTest {
+    private static final String LOCATION_KEY = "10.78,106.70";
+
+    private static WeatherResponse response(String date, double temperature) {
+        return new WeatherResponse(
+                date,
+                temperature,
+                32.1,
+                25.3,
+                1009.42,
+                3.2,
+                87,
+                4001,
+                WeatherCodeRegistry.iconOf(4001),
+                WeatherCodeRegistry.descriptionOf(4001));
+    }
+
+    @Test
+    public void fromThenToWeatherResponse_interval_returnsEqualResponse() {
+        WeatherResponse response = response("2025-05-19T06:00:00+07:00", 30.5);
+
+        ForecastPointEntity point =
+                ForecastPointEntity.from(LOCATION_KEY, WeatherEntity.Type.HOURLY, response, 1L);
+
+        assertEquals(response, point.toWeatherResponse());
+    }
+
+    @Test
+    public void from_intervalWithOffset_storesEpochSeconds() {
+        ForecastPointEntity point =
+                ForecastPointEntity.from(
+                        LOCATION_KEY,
+                        WeatherEntity.Type.DAILY,
+                        response("2025-05-19T06:00:00+07:00", 30.5),
+                        1L);
+
+        assertEquals(1747609200L, point.getStartEpoch());
+        assertEquals(7 * 3600, point.getOffsetSeconds());
+        assertEquals(WeatherEntity.Type.DAILY, point.getResolution());
+    }
+
+    @Test
+    public void from_missingOrInvalidDate_returnsNull() {
+        assertNull(
+                ForecastPointEntity.from(
+                        LOCATION_KEY, WeatherEntity.Type.HOURLY, response(null, 30.5), 1L));
+        assertNull(
+                ForecastPointEntity.from(
+                        LOCATION_KEY, WeatherEntity.Type.HOURLY, response("tomorrow", 30.5), 1L));
+    }
+
+    @Test
+    public void hasSameValues_otherWriteTime_returnsTrue() {
+        WeatherResponse response = response("2025-05-19T06:00:00+07:00", 30.5);
+        ForecastPointEntity first =
+                ForecastPointEntity.from(LOCATION_KEY, WeatherEntity.Type.HOURLY, response, 1L);
+        ForecastPointEntity second =
+                ForecastPointEntity.from(LOCATION_KEY, WeatherEntity.Type.HOURLY, response, 2L);
+
+        assertTrue(first.hasSameValues(second));
+    }
+
+    @Test
+    public void hasSameValues_changedTemperature_returnsFalse() {
+        ForecastPointEntity first =
+                ForecastPointEntity.from(
+                        LOCATION_KEY,
+                        WeatherEntity.Type.HOURLY,
+                        response("2025-05-19T06:00:00+07:00", 30.5),
+                        1L);
+        ForecastPointEntity second =
+                ForecastPointEntity.from(
+                        LOCATION_KEY,
+                        WeatherEntity.Type.HOURLY,
+                        response("2025-05-19T06:00:00+07:00", 30.6),
+                        1L);
+
+        assertFalse(first.hasSameValues(second));
+    }
+}
@@ -0,0 +1,67 @@
+package com.optlab.nimbus.data.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Locale;
+
+// | Scenario                              | Description                                      | Expected Result                    |
+// |---------------------------------------|--------------------------------------------------|------------------------------------|
+// | Nearby points in the same cell        | Two GPS fixes a few meters apart                 | Same location key                  |
+// | Points in different cells             | Two points about 2 km apart                      | Different location keys            |
+// | Negative zero                         | Coordinates rounding to -0.0                     | Key without a minus sign           |
+// | Snap rounds half up                   | Value exactly on the cell boundary               | Rounded to the nearest cell        |
+// | Locale with a decimal comma           | Default locale formats decimals with a comma     | Key and precision format use a dot |
+
+public class CoordinatesTest {
+    private final Locale defaultLocale = Locale.getDefault();
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void getLocationKey_nearbyPoints_shareKey() {
+        Coordinates first = new Coordinates(10.77689, 106.70081);
+        Coordinates second = new Coordinates(10.77712, 106.70249);
+
+        assertEquals("10.78,106.70", first.getLocationKey());
+        assertEquals(first.getLocationKey(), second.getLocationKey());
+    }
+
+    @Test
+    public void getLocationKey_distantPoints_differentKeys() {
+        Coordinates first = new Coordinates(10.776, 106.700);
+        Coordinates second = new Coordinates(10.795, 106.700);
+
+        assertNotEquals(first.getLocationKey(), second.getLocationKey());
+    }
+
+    @Test
+    public void getLocationKey_negativeZero_hasNoMinusSign() {
+        Coordinates coordinates = new Coordinates(-0.001, -0.004);
+
+        assertEquals("0.00,0.00", coordinates.getLocationKey());
+    }
+
+    @Test
+    public void snap_roundsToNearestCell() {
+        Coordinates snapped = new Coordinates(51.50735, -0.12776).snap(2);
+
+        assertEquals(51.51, snapped.lat(), 0.0);
+        assertEquals(-0.13, snapped.lon(), 0.0);
+    }
+
+    @Test
+    public void getLocationKey_decimalCommaLocale_usesDot() {
+        Locale.setDefault(Locale.GERMANY);
+        Coordinates coordinates = new Coordinates(48.13743, 11.57549);
+
+        assertEquals("48.14,11.58", coordinates.getLocationKey());
+        assertEquals("48.137,11.575", coordinates.getCoordinates(3));
+    }
+}
@@ -0,0 +1,111 @@
+package com.optlab.nimbus.data.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.optlab.nimbus.R;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+// | Scenario                        | Description                                      | Expected Result                             |
+// |---------------------------------|--------------------------------------------------|---------------------------------------------|
+// | Columns from responses          | Two intervals with an offset in their dates      | Values copied, dates parsed to epoch millis |
+// | Unparsable or missing dates     | Intervals without a valid start time             | Intervals skipped                           |
+// | Empty list                      | No interval                                      | Empty series in UTC                         |
+// | Row content comparison          | Rows of two series built from equal timelines    | Same interval and same content              |
+// | Row with a changed value        | Same interval, different temperature             | Same interval, different content            |
+// | Row outside the series          | Index of an empty series                         | IndexOutOfBoundsException                   |
+
+public class ForecastSeriesTest {
+    private static WeatherResponse response(String date, double temperature, int weatherCode) {
+        WeatherResponse response = new WeatherResponse();
+        response.setDate(date);
+        response.setTemperature(temperature);
+        response.setTemperatureMin(temperature - 2);
+        response.setTemperatureMax(temperature + 2);
+        response.setHumidity(80);
+        response.setWeatherCode(weatherCode);
+        return response;
+    }
+
+    @Test
+    public void from_responses_copiesColumnsAndParsesDates() {
+        ForecastSeries series =
+                ForecastSeries.from(
+                        List.of(
+                                response("2025-05-01T10:00:00+07:00", 31.5, 1000),
+                                response("2025-05-01T11:00:00+07:00", 32.0, 4001)));
+
+        assertEquals(2, series.size());
+        assertEquals(ZoneOffset.ofHours(7), series.getZoneOffset());
+        assertEquals(Instant.parse("2025-05-01T03:00:00Z").toEpochMilli(), series.epochMillis(0));
+        assertEquals(31.5f, series.temperature(0), 0f);
+        assertEquals(34.0f, series.temperatureMax(1), 0f);
+        assertEquals(4001, series.weatherCode(1));
+
+        ForecastSeries.Row row = series.rows().get(1);
+        assertEquals(32.0, row.getTemperature(), 0.0);
+        assertEquals(R.string.rain, row.getWeatherDescription());
+    }
+
+    @Test
+    public void from_invalidDates_skipsIntervals() {
+        ForecastSeries series =
+                ForecastSeries.from(
+                        List.of(
+                                response(null, 20, 1000),
+                                response("tomorrow", 21, 1000),
+                                response("2025-05-01T10:00:00Z", 22, 1000)));
+
+        assertEquals(1, series.size());
+        assertEquals(22f, series.temperature(0), 0f);
+    }
+
+    @Test
+    public void from_emptyList_returnsEmptySeriesInUtc() {
+        ForecastSeries series = ForecastSeries.from(List.of());
+
+        assertTrue(series.isEmpty());
+        assertTrue(series.rows().isEmpty());
+        assertEquals(ZoneOffset.UTC, series.getZoneOffset());
+    }
+
+    @Test
+    public void row_equalTimelines_haveSameContent() {
+        List<WeatherResponse> timeline = List.of(response("2025-05-01T10:00:00Z", 25, 1101));
+        ForecastSeries.Row first = ForecastSeries.from(timeline).rows().get(0);
+        ForecastSeries.Row second = ForecastSeries.from(timeline).rows().get(0);
+
+        assertTrue(first.isSameInterval(second));
+        assertTrue(first.hasSameContent(second));
+    }
+
+    @Test
+    public void row_changedValue_hasDifferentContent() {
+        ForecastSeries.Row first =
+                ForecastSeries.from(List.of(response("2025-05-01T10:00:00Z", 25, 1101)))
+                        .rows()
+                        .get(0);
+        ForecastSeries.Row second =
+                ForecastSeries.from(List.of(response("2025-05-01T10:00:00Z", 26, 1101)))
+                        .rows()
+                        .get(0);
+
+        assertTrue(first.isSameInterval(second));
+        assertFalse(first.hasSameContent(second));
+    }
+
+    @Test
+    public void row_outsideSeries_throws() {
+        ForecastSeries series = ForecastSeries.from(List.of());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> series.row(0));
+    }
+}
@@ -0,0 +1,109 @@
+package com.optlab.nimbus.data.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.optlab.nimbus.R;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+// | Scenario                        | Description                                         | Expected Result                          |
+// |---------------------------------|-----------------------------------------------------|------------------------------------------|
+// | Known codes                     | Every code of the former switch statements          | Same icon and description as before      |
+// | Night variant                   | Clear sky looked up for the night                   | Night icon                               |
+// | Unknown code of a known family  | 4999 is not a rain code, 3001 has no own entry      | Condition of the family                  |
+// | Code sharing a hash slot        | 1002 hashes to the slot of 1100                     | Cloudy fallback, not mostly clear        |
+// | Code outside every family       | 0, 9000, negative and huge codes                    | UNKNOWN                                  |
+// | Fuzzing                         | 100k random codes                                   | Never throws, family kept or UNKNOWN     |
+
+public class WeatherCodeRegistryTest {
+    private static final int[][] KNOWN = {
+        {1000, R.drawable.ic_large_2x_10000_clear, R.string.clear_sunny},
+        {1001, R.drawable.ic_large_2x_10010_cloudy, R.string.cloudy},
+        {1100, R.drawable.ic_large_2x_11000_mostly_clear, R.string.mostly_clear},
+        {1101, R.drawable.ic_large_2x_11010_partly_cloudy, R.string.partly_cloudy},
+        {1102, R.drawable.ic_large_2x_11020_mostly_cloudy, R.string.mostly_cloudy},
+        {2000, R.drawable.ic_large_2x_20000_fog, R.string.fog},
+        {2100, R.drawable.ic_large_2x_21000_light_fog, R.string.light_fog},
+        {4000, R.drawable.ic_large_2x_40000_drizzle, R.string.drizzle},
+        {4001, R.drawable.ic_large_2x_40010_rain, R.string.rain},
+        {4200, R.drawable.ic_large_2x_42000_light_rain, R.string.light_rain},
+        {4201, R.drawable.ic_large_2x_42010_heavy_rain, R.string.heavy_rain},
+        {5000, R.drawable.ic_large_2x_50000_snow, R.string.snow},
+        {5001, R.drawable.ic_large_2x_50010_flurries, R.string.flurries},
+        {5100, R.drawable.ic_large_2x_51000_light_snow, R.string.light_snow},
+        {5101, R.drawable.ic_large_2x_51010_heavy_snow, R.string.heavy_snow},
+        {6000, R.drawable.ic_large_2x_60000_freezing_rain_drizzle, R.string.freezing_drizzle},
+        {6001, R.drawable.ic_large_2x_60010_freezing_rain, R.string.freezing_rain},
+        {6200, R.drawable.ic_large_2x_62000_light_freezing_rain, R.string.light_freezing_rain},
+        {6201, R.drawable.ic_large_2x_62010_heavy_freezing_rain, R.string.heavy_freezing_rain},
+        {7000, R.drawable.ic_large_2x_70000_ice_pellets, R.string.ice_pellets},
+        {7101, R.drawable.ic_large_2x_71010_heavy_ice_pellets, R.string.heavy_ice_pellets},
+        {7102, R.drawable.ic_large_2x_71020_light_ice_pellets, R.string.light_ice_pellets},
+        {8000, R.drawable.ic_large_2x_80000_thunderstorm, R.string.thunderstorm},
+    };
+
+    @Test
+    public void lookup_knownCodes_matchFormerMapping() {
+        for (int[] known : KNOWN) {
+            WeatherCodeRegistry.Condition condition = WeatherCodeRegistry.lookup(known[0]);
+
+            assertEquals(known[0], condition.code());
+            assertEquals(known[1], condition.dayIcon());
+            assertEquals(known[2], condition.description());
+            assertTrue(WeatherCodeRegistry.isKnown(known[0]));
+        }
+    }
+
+    @Test
+    public void icon_clearAtNight_returnsNightVariant() {
+        WeatherCodeRegistry.Condition clear = WeatherCodeRegistry.lookup(1000);
+
+        assertEquals(R.drawable.clear_night, clear.icon(true));
+        assertEquals(R.drawable.ic_large_2x_10000_clear, clear.icon(false));
+    }
+
+    @Test
+    public void lookup_unknownCodeOfKnownFamily_fallsBackToFamily() {
+        assertEquals(R.string.rain, WeatherCodeRegistry.descriptionOf(4999));
+        assertEquals(R.string.wind, WeatherCodeRegistry.descriptionOf(3001));
+        assertEquals(
+                WeatherCodeRegistry.Severity.SEVERE, WeatherCodeRegistry.lookup(8001).severity());
+        assertFalse(WeatherCodeRegistry.isKnown(4999));
+    }
+
+    @Test
+    public void lookup_codeSharingSlot_fallsBackToFamily() {
+        assertEquals(R.string.cloudy, WeatherCodeRegistry.descriptionOf(1002));
+        assertFalse(WeatherCodeRegistry.isKnown(1002));
+    }
+
+    @Test
+    public void lookup_codeOutsideFamilies_returnsUnknown() {
+        for (int code : new int[] {0, 999, 9000, -4001, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            assertSame(WeatherCodeRegistry.UNKNOWN, WeatherCodeRegistry.lookup(code));
+            assertFalse(WeatherCodeRegistry.isKnown(code));
+        }
+    }
+
+    @Test
+    public void lookup_randomCodes_neverThrows() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int code = i % 2 == 0 ? random.nextInt() : random.nextInt(10_000);
+
+            WeatherCodeRegistry.Condition condition = WeatherCodeRegistry.lookup(code);
+
+            assertNotNull(condition);
+            assertNotNull(condition.severity());
+            if (condition != WeatherCodeRegistry.UNKNOWN) {
+                assertEquals(code / 1000, condition.code() / 1000);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.optlab.nimbus.data.network.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import okhttp3.HttpUrl;
+
+// | Scenario                     | Description                                      | Expected Result                        |
+// |------------------------------|--------------------------------------------------|----------------------------------------|
+// | No samples                   | Snapshot of an empty histogram                   | All percentiles are zero               |
+// | 1..100 samples               | Record 1 to 100 ms                               | p50=50, p95=95, p99=99, max=100        |
+// | Capacity overflow            | Record more samples than the capacity            | Only the most recent samples are kept  |
+// | Negative sample              | Record a negative latency                        | Ignored                                |
+// | Endpoint key                 | URL with timesteps, location and API key         | Path and timesteps only                |
+
+public class LatencyHistogramTest {
+    @Test
+    public void snapshot_noSamples_returnsZeros() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(new LatencyHistogram.Snapshot(0, 0, 0, 0, 0), snapshot);
+    }
+
+    @Test
+    public void snapshot_uniformSamples_returnsNearestRankPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 100; i >= 1; i--) { // Recorded out of order on purpose
+            histogram.record(i);
+        }
+
+        assertEquals(new LatencyHistogram.Snapshot(100, 50, 95, 99, 100), histogram.snapshot());
+    }
+
+    @Test
+    public void snapshot_capacityOverflow_keepsMostRecentSamples() {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        for (long i = 1; i <= 6; i++) {
+            histogram.record(i * 1000);
+        }
+        histogram.record(1); // Overwrites the oldest kept sample
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(7, snapshot.count());
+        assertEquals(4000, snapshot.p50());
+        assertEquals(6000, snapshot.max());
+    }
+
+    @Test
+    public void record_negativeSample_isIgnored() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+
+        assertEquals(0, histogram.snapshot().count());
+    }
+
+    @Test
+    public void keyOf_timelinesUrl_keepsPathAndTimestepsOnly() {
+        HttpUrl url =
+                HttpUrl.get(
+                        "https://api.tomorrow.io/v4/timelines?location=1,2"
+                                + "&timesteps=current,1h,1d&apikey=secret");
+
+        assertEquals("/v4/timelines [current,1h,1d]", NetworkMetrics.keyOf(url));
+    }
+}
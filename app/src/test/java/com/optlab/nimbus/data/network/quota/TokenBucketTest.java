@@ -0,0 +1,118 @@
+package com.optlab.nimbus.data.network.quota;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.SharedPreferences;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// | Scenario                          | Description                                         | Expected Result                          |
+// |-----------------------------------|-----------------------------------------------------|------------------------------------------|
+// | Full bucket                       | Consume up to the capacity                          | Every call allowed, then refused         |
+// | Reserve                           | Consume with a reserve                              | Stops while the reserve is still left    |
+// | Refill                            | Half the refill period elapses on an empty bucket   | Half the capacity is available again     |
+// | Refill cap                        | Several periods elapse                              | Never more than the capacity             |
+// | Clock moved backwards             | Time goes back, then forward                        | No tokens are created from the jump      |
+// | Background reserve                | Background calls on a fresh quota                   | Stop at 80% of the hourly bucket         |
+// | Foreground after background       | Foreground call once background is deferred         | Still allowed                            |
+// | Restored state                    | Saved tokens are restored from preferences          | Budget continues from the saved state    |
+
+public class TokenBucketTest {
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    public void tryConsume_fullBucket_allowsUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, HOUR, 3, 0);
+
+        assertTrue(bucket.tryConsume(1, 0, 0));
+        assertTrue(bucket.tryConsume(1, 0, 0));
+        assertTrue(bucket.tryConsume(1, 0, 0));
+        assertFalse(bucket.tryConsume(1, 0, 0));
+        assertEquals(0, bucket.available(0));
+    }
+
+    @Test
+    public void tryConsume_withReserve_keepsReserve() {
+        TokenBucket bucket = new TokenBucket(10, HOUR, 10, 0);
+
+        int consumed = 0;
+        while (bucket.tryConsume(1, 2, 0)) {
+            consumed++;
+        }
+
+        assertEquals(8, consumed);
+        assertEquals(2, bucket.available(0));
+    }
+
+    @Test
+    public void available_halfPeriodElapsed_refillsHalf() {
+        TokenBucket bucket = new TokenBucket(10, HOUR, 0, 0);
+
+        assertEquals(5, bucket.available(HOUR / 2));
+    }
+
+    @Test
+    public void available_severalPeriodsElapsed_cappedAtCapacity() {
+        TokenBucket bucket = new TokenBucket(10, HOUR, 4, 0);
+
+        assertEquals(10, bucket.available(5 * HOUR));
+    }
+
+    @Test
+    public void available_clockMovedBackwards_createsNoTokens() {
+        TokenBucket bucket = new TokenBucket(10, HOUR, 0, HOUR);
+
+        assertEquals(0, bucket.available(0)); // Refill restarts from the earlier time
+        assertEquals(0, bucket.available(HOUR / 20)); // Half a token
+        assertEquals(1, bucket.available(HOUR / 10));
+    }
+
+    private static SharedPreferences mockPrefs(float hourlyTokens, long updatedAt) {
+        SharedPreferences prefs = mock(SharedPreferences.class);
+        SharedPreferences.Editor editor = mock(SharedPreferences.Editor.class, RETURNS_SELF);
+        when(prefs.edit()).thenReturn(editor);
+        when(prefs.getFloat(anyString(), anyFloat()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(prefs.getFloat("hourly_tokens", ApiQuotaManager.HOURLY_LIMIT))
+                .thenReturn(hourlyTokens);
+        when(prefs.getLong(anyString(), anyLong())).thenReturn(updatedAt);
+        return prefs;
+    }
+
+    @Test
+    public void tryAcquire_background_stopsAtReserve() {
+        ApiQuotaManager manager =
+                new ApiQuotaManager(mockPrefs(ApiQuotaManager.HOURLY_LIMIT, 0), () -> 0L);
+
+        int allowed = 0;
+        while (manager.tryAcquire(ApiQuotaManager.Priority.BACKGROUND)) {
+            allowed++;
+        }
+
+        assertEquals(20, allowed); // 80% of the 25 calls per hour
+        assertFalse(manager.getQuota().backgroundAllowed());
+        assertTrue(manager.tryAcquire(ApiQuotaManager.Priority.FOREGROUND));
+        assertEquals(4, manager.getQuota().hourlyRemaining());
+    }
+
+    @Test
+    public void tryAcquire_restoredState_continuesFromSavedTokens() {
+        AtomicLong clock = new AtomicLong(HOUR);
+        ApiQuotaManager manager = new ApiQuotaManager(mockPrefs(1, HOUR), clock::get);
+
+        assertTrue(manager.tryAcquire(ApiQuotaManager.Priority.FOREGROUND));
+        assertFalse(manager.tryAcquire(ApiQuotaManager.Priority.FOREGROUND));
+        manager.observeQuota().test().assertValue(quota -> quota.hourlyRemaining() == 0);
+    }
+}
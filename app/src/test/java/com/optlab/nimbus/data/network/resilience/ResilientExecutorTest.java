@@ -0,0 +1,180 @@
+package com.optlab.nimbus.data.network.resilience;
+
+import static org.junit.Assert.assertEquals;
+
+import com.optlab.nimbus.data.network.metrics.NetworkMetrics;
+import com.optlab.nimbus.data.network.quota.ApiQuotaManager;
+import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoConverterFactory;
+import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoService;
+import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoTimelines;
+
+import hu.akarnokd.rxjava3.retrofit.RxJava3CallAdapterFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.HttpException;
+import retrofit2.Retrofit;
+
+// | Scenario                          | Description                                         | Expected Result                              |
+// |-----------------------------------|-----------------------------------------------------|----------------------------------------------|
+// | 503 then 200                      | Transient server error followed by a success        | Retried once, success emitted                |
+// | 400                               | Client error                                        | Not retried, error emitted                   |
+// | Retry-After within the cap        | 429 with Retry-After: 0, then 200                   | Retried after the header delay               |
+// | Retry-After beyond the cap        | 429 with Retry-After: 120                           | Not retried, breaker open for the period     |
+// | Consecutive failures              | Failures reach the threshold                        | Breaker opens, next call skips the network   |
+// | Open period elapsed               | Clock moves past the open period, probe succeeds    | Breaker closes again                         |
+// | Exponential delay                 | Delay of the 1st, 2nd and 3rd retry without header  | Doubles with equal jitter, capped at the max |
+
+public class ResilientExecutorTest {
+    private static final String ENDPOINT = "/v4/timelines [1h]";
+    private static final String EMPTY_BODY = "{\"data\": {\"timelines\": []}}";
+    private static final RetryPolicy POLICY =
+            new RetryPolicy(3, 1, 20, 3, TimeUnit.SECONDS.toMillis(30));
+
+    private MockWebServer server;
+    private TomorrowIoService service;
+    private NetworkMetrics metrics;
+    private AtomicLong clock;
+    private ResilientExecutor executor;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        service =
+                new Retrofit.Builder()
+                        .baseUrl(server.url("/"))
+                        .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
+                        .addConverterFactory(TomorrowIoConverterFactory.create())
+                        .build()
+                        .create(TomorrowIoService.class);
+        metrics = new NetworkMetrics();
+        clock = new AtomicLong(1_000_000);
+        executor =
+                new ResilientExecutor(
+                        metrics, POLICY, Schedulers.trampoline(), clock::get, new Random(42));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private Observable<TomorrowIoTimelines> call() {
+        return executor.execute(
+                ENDPOINT,
+                () ->
+                        service.getWeatherByLocationCode(
+                                "1,2",
+                                "temperature",
+                                "1h",
+                                "metric",
+                                "UTC",
+                                "key",
+                                ApiQuotaManager.Priority.FOREGROUND));
+    }
+
+    private void enqueue(int code) {
+        server.enqueue(new MockResponse().setResponseCode(code).setBody(EMPTY_BODY));
+    }
+
+    @Test
+    public void execute_transientErrorThenSuccess_retries() {
+        enqueue(503);
+        enqueue(200);
+
+        call().test().awaitDone(5, TimeUnit.SECONDS).assertValueCount(1).assertComplete();
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, metrics.snapshot().get(ENDPOINT).retries());
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getState(ENDPOINT));
+    }
+
+    @Test
+    public void execute_clientError_isNotRetried() {
+        enqueue(400);
+
+        call().test().awaitDone(5, TimeUnit.SECONDS).assertError(HttpException.class);
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getState(ENDPOINT));
+    }
+
+    @Test
+    public void execute_shortRetryAfter_retriesAfterHeaderDelay() {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        enqueue(200);
+
+        call().test().awaitDone(5, TimeUnit.SECONDS).assertComplete();
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void execute_longRetryAfter_tripsBreakerWithoutRetry() {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "120"));
+
+        call().test().awaitDone(5, TimeUnit.SECONDS).assertError(HttpException.class);
+        call().test().awaitDone(5, TimeUnit.SECONDS).assertError(CircuitOpenException.class);
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.OPEN, executor.getState(ENDPOINT));
+        assertEquals(CircuitBreaker.State.OPEN, metrics.snapshot().get(ENDPOINT).circuitState());
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(119));
+        assertEquals(CircuitBreaker.State.OPEN, executor.getState(ENDPOINT));
+    }
+
+    @Test
+    public void execute_failuresReachThreshold_opensBreaker() {
+        enqueue(500);
+        enqueue(500);
+        enqueue(500);
+
+        call().test().awaitDone(5, TimeUnit.SECONDS).assertError(HttpException.class);
+        call().test().awaitDone(5, TimeUnit.SECONDS).assertError(CircuitOpenException.class);
+
+        assertEquals(3, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.OPEN, executor.getState(ENDPOINT));
+    }
+
+    @Test
+    public void execute_openPeriodElapsed_probeClosesBreaker() {
+        enqueue(500);
+        enqueue(500);
+        enqueue(500);
+        call().test().awaitDone(5, TimeUnit.SECONDS);
+
+        clock.addAndGet(POLICY.openMillis());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, executor.getState(ENDPOINT));
+        enqueue(200);
+
+        call().test().awaitDone(5, TimeUnit.SECONDS).assertComplete();
+
+        assertEquals(4, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getState(ENDPOINT));
+    }
+
+    @Test
+    public void delayMillis_noHeader_growsExponentiallyWithJitter() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 300, 3, 1000);
+        IOException error = new IOException("Network error");
+
+        assertEquals(50, policy.delayMillis(1, error, 0, 0.0));
+        assertEquals(99, policy.delayMillis(1, error, 0, 0.999999));
+        assertEquals(100, policy.delayMillis(2, error, 0, 0.0));
+        assertEquals(150, policy.delayMillis(3, error, 0, 0.0)); // Capped at 300 before jitter
+        assertEquals(-1, policy.delayMillis(5, error, 0, 0.0)); // Out of attempts
+    }
+}
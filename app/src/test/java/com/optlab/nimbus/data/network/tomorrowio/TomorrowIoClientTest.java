@@ -0,0 +1,34 @@
+package com.optlab.nimbus.data.network.tomorrowio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// | Scenario                         | Description                                              | Expected Result                          |
+// |----------------------------------|----------------------------------------------------------|------------------------------------------|
+// | Bundle fields                    | Fields of the current, hourly and daily timelines        | Every field requested once in the bundle |
+
+public class TomorrowIoClientTest {
+    private static List<String> fieldsOf(String fieldList) {
+        return Arrays.asList(fieldList.split(","));
+    }
+
+    @Test
+    public void bundleWeatherFields_coverEveryTimestepOnce() {
+        List<String> bundle = fieldsOf(TomorrowIoClient.BUNDLE_WEATHER_FIELDS);
+
+        assertEquals(new HashSet<>(bundle).size(), bundle.size());
+        Set<String> expected = new HashSet<>();
+        expected.addAll(fieldsOf(TomorrowIoClient.CURRENT_WEATHER_FIELDS));
+        expected.addAll(fieldsOf(TomorrowIoClient.HOURLY_WEATHER_FIELDS));
+        expected.addAll(fieldsOf(TomorrowIoClient.DAILY_WEATHER_FIELDS));
+        assertTrue(bundle.containsAll(expected));
+        assertEquals(expected.size(), bundle.size());
+    }
+}
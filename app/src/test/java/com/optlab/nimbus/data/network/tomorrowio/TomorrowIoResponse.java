@@ -1,15 +1,18 @@
 package com.optlab.nimbus.data.network.tomorrowio;
 
-import androidx.annotation.DrawableRes;
-import androidx.annotation.StringRes;
-
 import com.google.gson.annotations.SerializedName;
-import com.optlab.nimbus.R;
+import com.optlab.nimbus.data.network.WeatherCodeRegistry;
 import com.optlab.nimbus.data.network.WeatherResponse;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * TomorrowIoResponse is the reflective model of a v4/timelines response, mapped by Gson.
+ *
+ * <p>The app decodes timelines with {@link TomorrowIoStreamingDecoder}; this model is kept in the
+ * tests as the reference the streaming decoder is checked against.
+ */
 public record TomorrowIoResponse(@SerializedName("data") Data data) {
     /**
      * Maps a TomorrowIoResponse to a list of WeatherResponse objects. Performs null and bounds
@@ -19,15 +22,23 @@ public record TomorrowIoResponse(@SerializedName("data") Data data) {
      * @return List of WeatherResponse objects
      */
     public static List<WeatherResponse> mapToResponses(TomorrowIoResponse response) {
-        List<WeatherResponse> responses = new ArrayList<>();
-
         if (response == null
                 || response.data() == null
                 || response.data().timelines() == null
                 || response.data().timelines().isEmpty()) {
-            return responses;
+            return new ArrayList<>();
         }
-        Timeline timeline = response.data().timelines().get(0);
+        return mapToResponses(response.data().timelines().get(0));
+    }
+
+    /**
+     * Maps a single Timeline to a list of WeatherResponse objects, skipping null intervals.
+     *
+     * @param timeline The Timeline to map
+     * @return List of WeatherResponse objects
+     */
+    public static List<WeatherResponse> mapToResponses(Timeline timeline) {
+        List<WeatherResponse> responses = new ArrayList<>();
         if (timeline == null || timeline.intervals() == null || timeline.intervals().isEmpty()) {
             return responses;
         }
@@ -45,74 +56,14 @@ public record TomorrowIoResponse(@SerializedName("data") Data data) {
 
             int weatherCode = values.weatherCode();
             weather.setWeatherCode(weatherCode);
-            weather.setWeatherIcon(mapWeatherCodeToIcon(weatherCode));
-            weather.setWeatherDescription(mapWeatherCodeToDescription(weatherCode));
+            weather.setWeatherIcon(WeatherCodeRegistry.iconOf(weatherCode));
+            weather.setWeatherDescription(WeatherCodeRegistry.descriptionOf(weatherCode));
 
             responses.add(weather);
         }
         return responses;
     }
 
-    @StringRes
-    private static int mapWeatherCodeToDescription(int code) {
-        return switch (code) {
-            case 1000 -> R.string.clear_sunny;
-            case 1100 -> R.string.mostly_clear;
-            case 1101 -> R.string.partly_cloudy;
-            case 1102 -> R.string.mostly_cloudy;
-            case 1001 -> R.string.cloudy;
-            case 2000 -> R.string.fog;
-            case 2100 -> R.string.light_fog;
-            case 4000 -> R.string.drizzle;
-            case 4001 -> R.string.rain;
-            case 4200 -> R.string.light_rain;
-            case 4201 -> R.string.heavy_rain;
-            case 5000 -> R.string.snow;
-            case 5001 -> R.string.flurries;
-            case 5100 -> R.string.light_snow;
-            case 5101 -> R.string.heavy_snow;
-            case 6000 -> R.string.freezing_drizzle;
-            case 6001 -> R.string.freezing_rain;
-            case 6200 -> R.string.light_freezing_rain;
-            case 6201 -> R.string.heavy_freezing_rain;
-            case 7000 -> R.string.ice_pellets;
-            case 7101 -> R.string.heavy_ice_pellets;
-            case 7102 -> R.string.light_ice_pellets;
-            case 8000 -> R.string.thunderstorm;
-            default -> R.string.unknown;
-        };
-    }
-
-    @DrawableRes
-    private static int mapWeatherCodeToIcon(int code) {
-        return switch (code) {
-            case 1000 -> R.drawable.ic_large_2x_10000_clear;
-            case 1001 -> R.drawable.ic_large_2x_10010_cloudy;
-            case 1100 -> R.drawable.ic_large_2x_11000_mostly_clear;
-            case 1101 -> R.drawable.ic_large_2x_11010_partly_cloudy;
-            case 1102 -> R.drawable.ic_large_2x_11020_mostly_cloudy;
-            case 2000 -> R.drawable.ic_large_2x_20000_fog;
-            case 2100 -> R.drawable.ic_large_2x_21000_light_fog;
-            case 4000 -> R.drawable.ic_large_2x_40000_drizzle;
-            case 4001 -> R.drawable.ic_large_2x_40010_rain;
-            case 4200 -> R.drawable.ic_large_2x_42000_light_rain;
-            case 4201 -> R.drawable.ic_large_2x_42010_heavy_rain;
-            case 5000 -> R.drawable.ic_large_2x_50000_snow;
-            case 5001 -> R.drawable.ic_large_2x_50010_flurries;
-            case 5100 -> R.drawable.ic_large_2x_51000_light_snow;
-            case 5101 -> R.drawable.ic_large_2x_51010_heavy_snow;
-            case 6000 -> R.drawable.ic_large_2x_60000_freezing_rain_drizzle;
-            case 6001 -> R.drawable.ic_large_2x_60010_freezing_rain;
-            case 6200 -> R.drawable.ic_large_2x_62000_light_freezing_rain;
-            case 6201 -> R.drawable.ic_large_2x_62010_heavy_freezing_rain;
-            case 7000 -> R.drawable.ic_large_2x_70000_ice_pellets;
-            case 7101 -> R.drawable.ic_large_2x_71010_heavy_ice_pellets;
-            case 7102 -> R.drawable.ic_large_2x_71020_light_ice_pellets;
-            case 8000 -> R.drawable.ic_large_2x_80000_thunderstorm;
-            default -> throw new IllegalStateException("Invalid weather code: " + code);
-        };
-    }
-
     public record Values(
             @SerializedName("temperature") double temperature,
             @SerializedName("temperatureMax") double temperatureMax,
@@ -0,0 +1,143 @@
+package com.optlab.nimbus.data.network.tomorrowio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+// | Scenario                         | Description                                              | Expected Result                          |
+// |----------------------------------|----------------------------------------------------------|------------------------------------------|
+// | Recorded 5-day response          | Decode the mock Tomorrow.io response                     | Same list as Gson + mapToResponses       |
+// | Unknown fields                   | Unknown objects, arrays and values at every level        | Skipped, known fields still decoded      |
+// | Timestep after intervals         | "timestep" appears after "intervals" in a timeline       | Timeline still keyed by its timestep     |
+// | Null timestep, values, numbers   | Timeline without timestep, interval without values, etc. | Dropped or defaulted like mapToResponses |
+// | Several timelines                | Bundle response with current, 1h and 1d timelines        | Keyed by timestep in response order      |
+// | Null or empty body               | Body is null or has no data                              | Empty timelines                          |
+
+public class TomorrowIoStreamingDecoderTest {
+    private static TomorrowIoTimelines decode(String json) throws IOException {
+        return TomorrowIoStreamingDecoder.decode(new JsonReader(new StringReader(json)));
+    }
+
+    @Test
+    public void decode_recordedResponse_matchesReflectiveMapping() throws IOException {
+        byte[] bytes =
+                Files.readAllBytes(
+                        Paths.get(
+                                "src/test/java/com/optlab/nimbus/data/network/tomorrowio/5days_response.json"));
+        String json = new String(bytes, StandardCharsets.UTF_8);
+
+        TomorrowIoResponse response = new Gson().fromJson(json, TomorrowIoResponse.class);
+        List<WeatherResponse> expected = TomorrowIoResponse.mapToResponses(response);
+        List<WeatherResponse> actual = decode(json).first();
+
+        assertEquals(5, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void decode_unknownFields_areSkipped() throws IOException {
+        String json =
+                """
+                {"warnings": [{"code": 1}], "data": {"meta": {"a": [1, 2]}, "timelines": [
+                  {"timestep": "1d", "startTime": "x", "intervals": [
+                    {"startTime": "2025-05-19T06:00:00+07:00", "extra": {"nested": [true]},
+                     "values": {"temperature": 31.9, "dewPoint": 20.1, "weatherCode": 1001,
+                                "humidity": 95, "unknown": {"x": null}}}
+                  ]}
+                ]}}
+                """;
+
+        List<WeatherResponse> actual = decode(json).get("1d");
+
+        assertEquals(1, actual.size());
+        WeatherResponse weather = actual.get(0);
+        assertEquals("2025-05-19T06:00:00+07:00", weather.getDate());
+        assertEquals(31.9, weather.getTemperature(), 0.01);
+        assertEquals(95, weather.getHumidity(), 0.01);
+        assertEquals(1001, weather.getWeatherCode());
+        assertTrue(weather.getWeatherIcon() != 0);
+        assertTrue(weather.getWeatherDescription() != 0);
+    }
+
+    @Test
+    public void decode_timestepAfterIntervals_isKeyedByTimestep() throws IOException {
+        String json =
+                """
+                {"data": {"timelines": [
+                  {"intervals": [{"values": {"weatherCode": 1000}, "startTime": "t"}],
+                   "timestep": "1h"}
+                ]}}
+                """;
+
+        List<WeatherResponse> actual = decode(json).get("1h");
+
+        assertEquals(1, actual.size());
+        assertEquals("t", actual.get(0).getDate());
+    }
+
+    @Test
+    public void decode_nullParts_areDroppedOrDefaulted() throws IOException {
+        String json =
+                """
+                {"data": {"timelines": [
+                  null,
+                  {"timestep": null, "intervals": [{"startTime": "a", "values": {}}]},
+                  {"timestep": "1d", "intervals": [
+                    null,
+                    {"startTime": "b", "values": null},
+                    {"startTime": "c"},
+                    {"startTime": "d", "values": {"temperature": null, "weatherCode": 1000}}
+                  ]}
+                ]}}
+                """;
+
+        TomorrowIoTimelines timelines = decode(json);
+
+        assertEquals(1, timelines.asMap().size());
+        List<WeatherResponse> actual = timelines.get("1d");
+        assertEquals(1, actual.size());
+        assertEquals("d", actual.get(0).getDate());
+        assertEquals(0, actual.get(0).getTemperature(), 0);
+    }
+
+    @Test
+    public void decode_severalTimelines_keyedInResponseOrder() throws IOException {
+        String json =
+                """
+                {"data": {"timelines": [
+                  {"timestep": "current", "intervals": [{"values": {"weatherCode": 1000}}]},
+                  {"timestep": "1h", "intervals": [
+                    {"values": {"weatherCode": 1000}}, {"values": {"weatherCode": 1001}}]},
+                  {"timestep": "1d", "intervals": []}
+                ]}}
+                """;
+
+        TomorrowIoTimelines timelines = decode(json);
+
+        assertEquals(List.of("current", "1h", "1d"), List.copyOf(timelines.asMap().keySet()));
+        assertEquals(1, timelines.first().size());
+        assertEquals(2, timelines.get("1h").size());
+        assertTrue(timelines.get("1d").isEmpty());
+        assertTrue(timelines.get("1m").isEmpty());
+    }
+
+    @Test
+    public void decode_nullOrEmptyBody_returnsEmptyTimelines() throws IOException {
+        assertTrue(decode("null").asMap().isEmpty());
+        assertTrue(decode("{}").first().isEmpty());
+        assertTrue(decode("{\"data\": null}").first().isEmpty());
+        assertTrue(decode("{\"data\": {\"timelines\": null}}").first().isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package com.optlab.nimbus.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+// | Scenario                          | Description                                          | Expected Result                          |
+// |-----------------------------------|------------------------------------------------------|------------------------------------------|
+// | Hours of the day                  | Several hourly intervals of the day                  | Lowest, highest and most frequent code   |
+// | Hours of another day              | Intervals before and after the local day             | Ignored                                  |
+// | Same hour fed again               | Interval already counted with the same values        | Aggregate unchanged                      |
+// | Revised hour                      | Interval already counted with a new temperature      | Aggregate rebuilt with the new value     |
+// | Tie between codes                 | Two codes seen in as many hours                      | The more severe code wins                |
+// | Hours leave the window            | Second feed without the earlier hours                | Earlier hours still counted              |
+// | Nothing counted                   | No interval of the day                               | No daily interval                        |
+
+public class DailyAggregatorTest {
+    private static final ZoneOffset ZONE = ZoneOffset.ofHours(7);
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 1);
+
+    private final DailyAggregator aggregator = new DailyAggregator(DAY, ZONE);
+
+    private static WeatherResponse hour(String time, double temperature, int code) {
+        WeatherResponse weather = new WeatherResponse();
+        weather.setDate(time);
+        weather.setTemperature(temperature);
+        weather.setWeatherCode(code);
+        return weather;
+    }
+
+    @Test
+    public void accept_hoursOfDay_aggregatesRangeAndCode() {
+        aggregator.acceptAll(
+                List.of(
+                        hour("2025-05-01T06:00:00+07:00", 25, 1000),
+                        hour("2025-05-01T13:00:00+07:00", 33, 1000),
+                        hour("2025-05-01T17:00:00+07:00", 29, 4001)));
+
+        WeatherResponse day = aggregator.toWeatherResponse();
+
+        assertEquals(25, day.getTemperatureMin(), 0.0);
+        assertEquals(33, day.getTemperatureMax(), 0.0);
+        assertEquals(1000, day.getWeatherCode());
+        assertEquals("2025-05-01T00:00:00+07:00", day.getDate());
+    }
+
+    @Test
+    public void accept_hoursOfAnotherDay_areIgnored() {
+        assertFalse(aggregator.accept(hour("2025-04-30T23:00:00+07:00", 20, 1000)));
+        assertFalse(aggregator.accept(hour("2025-05-02T00:00:00+07:00", 20, 1000)));
+        // Still the 1st of May in the zone of the day
+        assertTrue(aggregator.accept(hour("2025-04-30T17:00:00Z", 20, 1000)));
+
+        assertEquals(1, aggregator.size());
+    }
+
+    @Test
+    public void accept_sameHourAgain_leavesAggregateUnchanged() {
+        aggregator.accept(hour("2025-05-01T06:00:00+07:00", 25, 1000));
+
+        assertFalse(aggregator.accept(hour("2025-05-01T06:00:00+07:00", 25, 1000)));
+        assertEquals(1, aggregator.size());
+    }
+
+    @Test
+    public void accept_revisedHour_rebuildsAggregate() {
+        aggregator.acceptAll(
+                List.of(
+                        hour("2025-05-01T06:00:00+07:00", 25, 1000),
+                        hour("2025-05-01T13:00:00+07:00", 35, 1000)));
+
+        assertTrue(aggregator.accept(hour("2025-05-01T13:00:00+07:00", 31, 1000)));
+
+        assertEquals(31, aggregator.max(), 0.0);
+        assertEquals(25, aggregator.min(), 0.0);
+    }
+
+    @Test
+    public void dominantWeatherCode_tie_prefersMoreSevere() {
+        aggregator.acceptAll(
+                List.of(
+                        hour("2025-05-01T06:00:00+07:00", 25, 1000),
+                        hour("2025-05-01T07:00:00+07:00", 25, 8000)));
+
+        assertEquals(8000, aggregator.dominantWeatherCode());
+    }
+
+    @Test
+    public void accept_hoursLeaveWindow_stayCounted() {
+        aggregator.acceptAll(
+                List.of(
+                        hour("2025-05-01T06:00:00+07:00", 22, 1000),
+                        hour("2025-05-01T07:00:00+07:00", 24, 1000)));
+
+        aggregator.acceptAll(List.of(hour("2025-05-01T08:00:00+07:00", 26, 1000)));
+
+        assertEquals(3, aggregator.size());
+        assertEquals(22, aggregator.min(), 0.0);
+    }
+
+    @Test
+    public void toWeatherResponse_nothingCounted_returnsNull() {
+        assertNull(aggregator.toWeatherResponse());
+        assertTrue(Double.isNaN(aggregator.max()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.optlab.nimbus.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// | Scenario                          | Description                                          | Expected Result                          |
+// |-----------------------------------|------------------------------------------------------|------------------------------------------|
+// | Between two intervals             | Instant 20 minutes into an hour                      | Values a third of the way, nearest code  |
+// | Observation leads the series      | Instant between the observation and the next hour    | Interpolated from the observation        |
+// | Overlapped interval               | Observation later than the first hourly interval     | Interval skipped, observation used       |
+// | Exactly on an interval            | Instant equal to the last interval start             | Values of that interval                  |
+// | Before the series                 | Instant earlier than every point                     | Nothing derived                          |
+// | Gap in the series                 | Bracketing points two hours apart                    | Nothing derived                          |
+
+public class HourlyInterpolatorTest {
+    private static final Instant TEN = Instant.parse("2025-05-01T10:00:00Z");
+    private static final Instant ELEVEN = Instant.parse("2025-05-01T11:00:00Z");
+
+    private final HourlyInterpolator interpolator = new HourlyInterpolator(Duration.ofHours(1));
+
+    private static WeatherResponse point(Instant time, double temperature, int code) {
+        WeatherResponse weather = new WeatherResponse();
+        weather.setDate(time.toString());
+        weather.setTemperature(temperature);
+        weather.setHumidity(temperature * 2);
+        weather.setWeatherCode(code);
+        return weather;
+    }
+
+    @Test
+    public void interpolate_betweenIntervals_blendsValues() {
+        WeatherResponse derived =
+                interpolator.interpolate(
+                        List.of(point(TEN, 27, 1000), point(ELEVEN, 30, 4001)),
+                        TEN.plus(Duration.ofMinutes(20)));
+
+        assertNotNull(derived);
+        assertEquals(28, derived.getTemperature(), 1e-9);
+        assertEquals(56, derived.getHumidity(), 1e-9);
+        assertEquals(1000, derived.getWeatherCode());
+        assertEquals("2025-05-01T10:20:00Z", derived.getDate());
+    }
+
+    @Test
+    public void interpolate_observationLeadsSeries_usesObservation() {
+        Instant observed = TEN.plus(Duration.ofMinutes(30));
+
+        WeatherResponse derived =
+                interpolator.interpolate(
+                        List.of(point(observed, 26, 1000), point(ELEVEN, 30, 1001)),
+                        TEN.plus(Duration.ofMinutes(45)));
+
+        assertNotNull(derived);
+        assertEquals(28, derived.getTemperature(), 1e-9);
+        assertEquals(1001, derived.getWeatherCode());
+    }
+
+    @Test
+    public void interpolate_observationOverlapsInterval_skipsInterval() {
+        Instant observed = TEN.plus(Duration.ofMinutes(30));
+
+        WeatherResponse derived =
+                interpolator.interpolate(
+                        List.of(
+                                point(observed, 26, 1000),
+                                point(TEN, 99, 8000),
+                                point(ELEVEN, 30, 1001)),
+                        observed);
+
+        assertNotNull(derived);
+        assertEquals(26, derived.getTemperature(), 1e-9);
+    }
+
+    @Test
+    public void interpolate_onLastInterval_returnsItsValues() {
+        WeatherResponse derived =
+                interpolator.interpolate(
+                        List.of(point(TEN, 27, 1000), point(ELEVEN, 30, 4001)), ELEVEN);
+
+        assertNotNull(derived);
+        assertEquals(30, derived.getTemperature(), 1e-9);
+        assertEquals(4001, derived.getWeatherCode());
+    }
+
+    @Test
+    public void interpolate_beforeSeries_returnsNull() {
+        assertNull(
+                interpolator.interpolate(
+                        List.of(point(TEN, 27, 1000), point(ELEVEN, 30, 4001)),
+                        TEN.minus(Duration.ofMinutes(1))));
+    }
+
+    @Test
+    public void interpolate_gapInSeries_returnsNull() {
+        assertNull(
+                interpolator.interpolate(
+                        List.of(point(TEN, 27, 1000), point(ELEVEN.plusSeconds(3600), 30, 1000)),
+                        ELEVEN));
+    }
+}
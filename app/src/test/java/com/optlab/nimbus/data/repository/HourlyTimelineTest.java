@@ -0,0 +1,114 @@
+package com.optlab.nimbus.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.optlab.nimbus.data.network.WeatherResponse;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+// | Scenario                          | Description                                          | Expected Result                          |
+// |-----------------------------------|------------------------------------------------------|------------------------------------------|
+// | Empty cache                       | Nothing cached for the location                      | Whole window is requested                |
+// | Complete cache                    | Every interval of the window is cached               | No request                               |
+// | One hour passed                   | Cache written an hour ago                            | Past interval evicted, last hour fetched |
+// | Gap in the cached series          | An interval in the middle is missing                 | Whole window is requested                |
+// | Merge replaces and trims          | Fetched overlaps cached and exceeds the window       | Fetched wins, result fits the window     |
+// | Unparsable dates                  | Cached interval without a valid start time           | Interval is dropped                      |
+
+public class HourlyTimelineTest {
+    private static final int INTERVALS = 24;
+    private static final Instant NOW = Instant.parse("2025-05-01T10:20:00Z");
+    private static final Instant NEXT_HOUR = Instant.parse("2025-05-01T11:00:00Z");
+
+    private final HourlyTimeline timeline = new HourlyTimeline(INTERVALS);
+
+    private static WeatherResponse hour(Instant time, double temperature) {
+        WeatherResponse weather = new WeatherResponse();
+        weather.setDate(time.toString());
+        weather.setTemperature(temperature);
+        return weather;
+    }
+
+    private static List<WeatherResponse> series(Instant from, int count, double temperature) {
+        List<WeatherResponse> series = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            series.add(hour(from.plus(i, ChronoUnit.HOURS), temperature));
+        }
+        return series;
+    }
+
+    @Test
+    public void missingSlice_emptyCache_requestsWholeWindow() {
+        HourlyTimeline.Slice slice = timeline.missingSlice(List.of(), NOW);
+
+        assertEquals(NEXT_HOUR, slice.start());
+        assertEquals(NEXT_HOUR.plus(INTERVALS - 1, ChronoUnit.HOURS), slice.end());
+    }
+
+    @Test
+    public void missingSlice_completeCache_returnsNull() {
+        List<WeatherResponse> retained = timeline.retain(series(NEXT_HOUR, INTERVALS, 20), NOW);
+
+        assertNull(timeline.missingSlice(retained, NOW));
+    }
+
+    @Test
+    public void retain_oneHourPassed_evictsPastAndRequestsLastHour() {
+        List<WeatherResponse> cached = series(NEXT_HOUR, INTERVALS, 20);
+        Instant later = NOW.plus(1, ChronoUnit.HOURS);
+
+        List<WeatherResponse> retained = timeline.retain(cached, later);
+        HourlyTimeline.Slice slice = timeline.missingSlice(retained, later);
+
+        assertEquals(INTERVALS - 1, retained.size());
+        assertEquals(NEXT_HOUR.plus(1, ChronoUnit.HOURS).toString(), retained.get(0).getDate());
+        assertEquals(NEXT_HOUR.plus(INTERVALS, ChronoUnit.HOURS), slice.start());
+        assertEquals(slice.start(), slice.end());
+    }
+
+    @Test
+    public void missingSlice_gapInSeries_requestsWholeWindow() {
+        List<WeatherResponse> cached = series(NEXT_HOUR, INTERVALS, 20);
+        cached.remove(5);
+
+        HourlyTimeline.Slice slice = timeline.missingSlice(timeline.retain(cached, NOW), NOW);
+
+        assertEquals(NEXT_HOUR, slice.start());
+        assertEquals(NEXT_HOUR.plus(INTERVALS - 1, ChronoUnit.HOURS), slice.end());
+    }
+
+    @Test
+    public void merge_fetchedOverlapsAndExceedsWindow_fetchedWinsAndIsTrimmed() {
+        List<WeatherResponse> retained = series(NEXT_HOUR, 20, 20);
+        List<WeatherResponse> fetched = series(NEXT_HOUR.plus(18, ChronoUnit.HOURS), 10, 25);
+
+        List<WeatherResponse> merged = timeline.merge(retained, fetched, NOW);
+
+        assertEquals(INTERVALS, merged.size());
+        assertEquals(20, merged.get(17).getTemperature(), 0.0);
+        assertEquals(25, merged.get(18).getTemperature(), 0.0);
+        assertEquals(
+                NEXT_HOUR.plus(INTERVALS - 1, ChronoUnit.HOURS).toString(),
+                merged.get(INTERVALS - 1).getDate());
+    }
+
+    @Test
+    public void retain_unparsableDate_dropsInterval() {
+        WeatherResponse invalid = hour(NEXT_HOUR, 20);
+        invalid.setDate("not a date");
+        WeatherResponse missing = hour(NEXT_HOUR, 20);
+        missing.setDate(null);
+
+        List<WeatherResponse> retained =
+                timeline.retain(List.of(invalid, missing, hour(NEXT_HOUR, 21)), NOW);
+
+        assertEquals(1, retained.size());
+        assertEquals(21, retained.get(0).getTemperature(), 0.0);
+    }
+}
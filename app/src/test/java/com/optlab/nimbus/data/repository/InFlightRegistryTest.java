@@ -0,0 +1,97 @@
+package com.optlab.nimbus.data.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+// | Scenario                                   | Description                                        | Expected Result                         |
+// |--------------------------------------------|----------------------------------------------------|-----------------------------------------|
+// | Same key while in flight                   | Two subscribers ask for the same key concurrently  | Upstream is subscribed once             |
+// | Different keys                             | Two subscribers ask for different keys             | Upstream is subscribed twice            |
+// | Subscriber disposes before completion      | One subscriber disposes, the other keeps listening | Upstream still completes for the others |
+// | Same key after completion                  | Second call after the first one terminated         | A new upstream is started               |
+// | Upstream fails                             | Upstream emits an error                            | Error is shared and the key is released |
+
+public class InFlightRegistryTest {
+    private InFlightRegistry<String> registry;
+    private PublishSubject<Integer> upstream;
+    private AtomicInteger subscriptions;
+
+    @Before
+    public void setUp() {
+        registry = new InFlightRegistry<>();
+        upstream = PublishSubject.create();
+        subscriptions = new AtomicInteger();
+    }
+
+    private Observable<Integer> countedUpstream() {
+        return upstream.doOnSubscribe(d -> subscriptions.incrementAndGet()).take(1);
+    }
+
+    @Test
+    public void execute_sameKeyWhileInFlight_sharesUpstream() {
+        TestObserver<Integer> first = registry.execute("key", this::countedUpstream).test();
+        TestObserver<Integer> second = registry.execute("key", this::countedUpstream).test();
+
+        upstream.onNext(1);
+
+        assertEquals(1, subscriptions.get());
+        first.assertValue(1).assertComplete();
+        second.assertValue(1).assertComplete();
+    }
+
+    @Test
+    public void execute_differentKeys_startsSeparateUpstreams() {
+        registry.execute("first", this::countedUpstream).test();
+        registry.execute("second", this::countedUpstream).test();
+
+        assertEquals(2, subscriptions.get());
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void execute_subscriberDisposes_upstreamStillCompletes() {
+        AtomicInteger completions = new AtomicInteger();
+        TestObserver<Integer> first =
+                registry.execute(
+                                "key",
+                                () -> countedUpstream().doOnComplete(completions::incrementAndGet))
+                        .test();
+        first.dispose();
+
+        upstream.onNext(1);
+
+        assertEquals(1, completions.get());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void execute_sameKeyAfterCompletion_startsNewUpstream() {
+        registry.execute("key", this::countedUpstream).test();
+        upstream.onNext(1);
+
+        registry.execute("key", this::countedUpstream).test();
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    public void execute_upstreamFails_sharesErrorAndReleasesKey() {
+        RuntimeException error = new RuntimeException("Network error");
+        TestObserver<Integer> first = registry.execute("key", this::countedUpstream).test();
+        TestObserver<Integer> second = registry.execute("key", this::countedUpstream).test();
+
+        upstream.onError(error);
+
+        first.assertError(error);
+        second.assertError(error);
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,456 @@
+package com.optlab.nimbus.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.optlab.nimbus.constant.ResponseConstant;
+import com.optlab.nimbus.data.local.cache.MemoryForecastCache;
+import com.optlab.nimbus.data.local.codec.ForecastCodec;
+import com.optlab.nimbus.data.local.dao.ForecastPointDao;
+import com.optlab.nimbus.data.local.dao.WeatherDao;
+import com.optlab.nimbus.data.local.entity.ForecastPointEntity;
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.model.CachedForecast;
+import com.optlab.nimbus.data.model.Coordinates;
+import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoClient;
+import com.optlab.nimbus.data.network.tomorrowio.TomorrowIoTimelines;
+import com.optlab.nimbus.data.preferences.SecurePrefsManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.observers.TestObserver;
+
+// | Scenario                                | Description                                   | Expected Result                          |
+// |-----------------------------------------|-----------------------------------------------|------------------------------------------|
+// | Fresh cache, stale-while-revalidate     | Cached forecast not expired                   | Cached forecast only, no request         |
+// | Expired cache, request succeeds         | Stale-while-revalidate on an expired forecast | Stale forecast, then the fresh one       |
+// | Expired cache, request fails            | Stale-while-revalidate, network error         | Stale forecast only, no error            |
+// | Expired cache, cache-first              | Cache-first on an expired forecast            | Fresh forecast only                      |
+// | Nothing cached, request fails           | Stale-while-revalidate, network error         | Missing forecast, marked as stale        |
+// | Stored validity has passed              | Recent entry whose validity already ended     | Forecast marked as stale                 |
+// | Sync of a valid series                  | Daily sync while the cached series is valid   | Cached series, no request                |
+// | Current derivable from hourly           | No current cached, hourly covers the present  | Interpolated current, no request         |
+// | Observed expired current                | Expired current, hourly covers the present    | Derived current, not the expired row     |
+// | Observed expired series                 | Hourly row past its validity                  | Cached series, marked as stale           |
+// | Today after a restart                   | Earlier hour stored only as a forecast point  | Hour counted in today's range            |
+// | Sync of a fresh location                | Every type cached and valid                   | Up to date, no request                   |
+// | Sync of an empty location, no network   | Nothing cached, requests fail                 | Three stale types, two failed requests   |
+// | Sync of an empty location               | Nothing cached                                | Hourly bundle over 25 hours, daily apart |
+// | Sync of one fresh type                  | Daily sync of a valid cached series           | Up to date, no request                   |
+// | Sync of one stale type, no network      | Daily sync with nothing cached, request fails | One stale type, one failed request       |
+// | Sync of an expired but complete series  | Hourly sync, cache still covers the window    | One stale type, no request counted       |
+
+public class TomorrowIoRepositoryTest {
+    private static final Coordinates COORDINATES = new Coordinates(10.7769, 106.7009);
+    private static final String LOCATION_KEY = COORDINATES.getLocationKey();
+
+    private TomorrowIoClient tomorrowIoClient;
+    private WeatherDao weatherDao;
+    private ForecastPointDao forecastPointDao;
+    private TomorrowIoRepository repository;
+
+    @Before
+    public void setUp() {
+        tomorrowIoClient = mock(TomorrowIoClient.class);
+        weatherDao = mock(WeatherDao.class);
+        forecastPointDao = mock(ForecastPointDao.class);
+        repository =
+                new TomorrowIoRepository(
+                        tomorrowIoClient,
+                        mock(SecurePrefsManager.class),
+                        weatherDao,
+                        forecastPointDao,
+                        new MemoryForecastCache());
+    }
+
+    private static WeatherResponse response(String date, double temperature) {
+        WeatherResponse response = new WeatherResponse();
+        response.setDate(date);
+        response.setTemperature(temperature);
+        response.setWeatherCode(1000);
+        return response;
+    }
+
+    private static List<WeatherResponse> cachedForecast() {
+        List<WeatherResponse> forecast =
+                List.of(
+                        response("2025-05-20T06:00:00+07:00", 30),
+                        response("2025-05-21T06:00:00+07:00", 31));
+        try {
+            // As it comes out of the cache, with icons resolved from the codes
+            return ForecastCodec.decode(ForecastCodec.encode(forecast));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void givenCached(List<WeatherResponse> forecast, long age) {
+        givenCached(forecast, age, 0);
+    }
+
+    private void givenCached(List<WeatherResponse> forecast, long age, long validUntil) {
+        givenCached(WeatherEntity.Type.DAILY, forecast, age, validUntil);
+    }
+
+    private WeatherEntity givenCached(
+            WeatherEntity.Type type, List<WeatherResponse> forecast, long age, long validUntil) {
+        WeatherEntity entity = new WeatherEntity();
+        entity.setType(type);
+        entity.setLocationKey(LOCATION_KEY);
+        entity.setPayload(ForecastCodec.encode(forecast));
+        entity.setTimestamp(System.currentTimeMillis() - age);
+        entity.setValidUntil(validUntil);
+        when(weatherDao.getLatestWeather(type, LOCATION_KEY)).thenReturn(entity);
+        return entity;
+    }
+
+    private void givenNetwork(Observable<TomorrowIoTimelines> result) {
+        when(tomorrowIoClient.getForecast(
+                        any(),
+                        anyString(),
+                        anyString(),
+                        anyString(),
+                        anyString(),
+                        any(),
+                        any(),
+                        any()))
+                .thenReturn(result);
+    }
+
+    /** A response holding a daily timeline, which starts with tomorrow as requested. */
+    private static TomorrowIoTimelines dailyTimeline(List<WeatherResponse> daily) {
+        LinkedHashMap<String, List<WeatherResponse>> timelines = new LinkedHashMap<>();
+        timelines.put(TomorrowIoClient.TIMESTEPS_ONE_DAY, daily);
+        return new TomorrowIoTimelines(timelines);
+    }
+
+    private TestObserver<CachedForecast> getDaily(ReadPolicy policy) {
+        TestObserver<CachedForecast> observer =
+                repository.getWeather(COORDINATES, WeatherEntity.Type.DAILY, policy).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+        return observer;
+    }
+
+    private void verifyNoRequest() {
+        verify(tomorrowIoClient, never())
+                .getForecast(
+                        any(),
+                        anyString(),
+                        anyString(),
+                        anyString(),
+                        anyString(),
+                        any(),
+                        any(),
+                        any());
+    }
+
+    @Test
+    public void getWeather_freshCache_emitsCachedOnly() {
+        givenCached(cachedForecast(), 0);
+
+        TestObserver<CachedForecast> observer = getDaily(ReadPolicy.STALE_WHILE_REVALIDATE);
+
+        observer.assertValueCount(1).assertComplete();
+        assertFalse(observer.values().get(0).stale());
+        assertEquals(cachedForecast(), observer.values().get(0).data());
+        verifyNoRequest();
+    }
+
+    @Test
+    public void getWeather_expiredCacheRequestSucceeds_emitsStaleThenFresh() {
+        givenCached(cachedForecast(), ResponseConstant.DAILY_EXPIRY_TIME + 1);
+        List<WeatherResponse> fetched =
+                List.of(
+                        response("2025-05-21T06:00:00+07:00", 28),
+                        response("2025-05-22T06:00:00+07:00", 29),
+                        response("2025-05-23T06:00:00+07:00", 27));
+        givenNetwork(Observable.just(dailyTimeline(fetched)));
+
+        TestObserver<CachedForecast> observer = getDaily(ReadPolicy.STALE_WHILE_REVALIDATE);
+
+        observer.assertValueCount(2).assertComplete();
+        assertTrue(observer.values().get(0).stale());
+        assertEquals(cachedForecast(), observer.values().get(0).data());
+        assertFalse(observer.values().get(1).stale());
+        assertEquals(fetched, observer.values().get(1).data());
+    }
+
+    @Test
+    public void getWeather_expiredCacheRequestFails_keepsStale() {
+        givenCached(cachedForecast(), ResponseConstant.DAILY_EXPIRY_TIME + 1);
+        givenNetwork(Observable.error(new RuntimeException("Network error")));
+
+        TestObserver<CachedForecast> observer = getDaily(ReadPolicy.STALE_WHILE_REVALIDATE);
+
+        observer.assertNoErrors().assertValueCount(1).assertComplete();
+        assertTrue(observer.values().get(0).stale());
+        assertEquals(cachedForecast(), observer.values().get(0).data());
+    }
+
+    @Test
+    public void getWeather_expiredCacheCacheFirst_emitsFreshOnly() {
+        givenCached(cachedForecast(), ResponseConstant.DAILY_EXPIRY_TIME + 1);
+        givenNetwork(
+                Observable.just(
+                        dailyTimeline(
+                                List.of(
+                                        response("2025-05-21T06:00:00+07:00", 28),
+                                        response("2025-05-22T06:00:00+07:00", 29)))));
+
+        TestObserver<CachedForecast> observer = getDaily(ReadPolicy.CACHE_FIRST);
+
+        observer.assertValueCount(1).assertComplete();
+        assertFalse(observer.values().get(0).stale());
+    }
+
+    @Test
+    public void getWeather_nothingCachedRequestFails_emitsMissing() {
+        givenNetwork(Observable.error(new RuntimeException("Network error")));
+
+        TestObserver<CachedForecast> observer = getDaily(ReadPolicy.STALE_WHILE_REVALIDATE);
+
+        observer.assertNoErrors().assertValue(CachedForecast.missing()).assertComplete();
+    }
+
+    @Test
+    public void getWeather_storedValidityPassed_marksStale() {
+        givenCached(cachedForecast(), 0, System.currentTimeMillis() - 1);
+        givenNetwork(Observable.error(new RuntimeException("Network error")));
+
+        TestObserver<CachedForecast> observer = getDaily(ReadPolicy.STALE_WHILE_REVALIDATE);
+
+        observer.assertNoErrors().assertValueCount(1).assertComplete();
+        assertTrue(observer.values().get(0).stale());
+    }
+
+    @Test
+    public void fetchAndCacheDailyWeather_validCache_skipsRequest() {
+        givenCached(cachedForecast(), 0, System.currentTimeMillis() + 60_000);
+
+        TestObserver<List<WeatherResponse>> observer =
+                repository.fetchAndCacheDailyWeather(COORDINATES).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValue(cachedForecast()).assertComplete();
+        verifyNoRequest();
+    }
+
+    @Test
+    public void getWeather_currentDerivableFromHourly_emitsDerivedWithoutRequest() {
+        Instant hour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        givenCached(
+                WeatherEntity.Type.HOURLY,
+                List.of(
+                        response(hour.toString(), 30),
+                        response(hour.plus(1, ChronoUnit.HOURS).toString(), 30),
+                        response(hour.plus(2, ChronoUnit.HOURS).toString(), 34)),
+                0,
+                0);
+
+        TestObserver<CachedForecast> observer =
+                repository
+                        .getWeather(
+                                COORDINATES,
+                                WeatherEntity.Type.CURRENT,
+                                ReadPolicy.STALE_WHILE_REVALIDATE)
+                        .test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValueCount(1).assertComplete();
+        CachedForecast current = observer.values().get(0);
+        assertFalse(current.stale());
+        assertEquals(30, current.data().get(0).getTemperature(), 0.0);
+        verifyNoRequest();
+    }
+
+
+    @Test
+    public void observeForecast_expiredCurrentDerivableFromHourly_emitsDerived() {
+        Instant hour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        givenCached(
+                WeatherEntity.Type.HOURLY,
+                List.of(
+                        response(hour.toString(), 30),
+                        response(hour.plus(1, ChronoUnit.HOURS).toString(), 30),
+                        response(hour.plus(2, ChronoUnit.HOURS).toString(), 34)),
+                0,
+                0);
+        WeatherEntity expired =
+                givenCached(
+                        WeatherEntity.Type.CURRENT,
+                        List.of(response(hour.minus(3, ChronoUnit.HOURS).toString(), 20)),
+                        TimeUnit.HOURS.toMillis(3),
+                        1);
+        when(weatherDao.observeLatestWeather(WeatherEntity.Type.CURRENT, LOCATION_KEY))
+                .thenReturn(Flowable.just(List.of(expired)));
+
+        TestObserver<CachedForecast> observer =
+                repository.observeForecast(COORDINATES, WeatherEntity.Type.CURRENT).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValueCount(1).assertComplete();
+        CachedForecast current = observer.values().get(0);
+        assertFalse(current.stale());
+        assertEquals(30, current.data().get(0).getTemperature(), 0.0);
+    }
+
+    @Test
+    public void observeForecast_expiredSeries_emitsItAsStale() {
+        WeatherEntity expired = givenCached(WeatherEntity.Type.HOURLY, cachedForecast(), 0, 1);
+        when(weatherDao.observeLatestWeather(WeatherEntity.Type.HOURLY, LOCATION_KEY))
+                .thenReturn(Flowable.just(List.of(expired)));
+
+        TestObserver<CachedForecast> observer =
+                repository.observeForecast(COORDINATES, WeatherEntity.Type.HOURLY).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValueCount(1).assertComplete();
+        assertTrue(observer.values().get(0).stale());
+        assertEquals(cachedForecast(), observer.values().get(0).data());
+    }
+
+    @Test
+    public void getTodayWeather_earlierHourOnlyStored_countsItInRange() {
+        Instant hour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        givenCached(WeatherEntity.Type.HOURLY, List.of(response(hour.toString(), 30)), 0, 0);
+        Instant midnight = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant();
+        // In the first hour of the day, the stored hour is the one of the series
+        assumeTrue(hour.isAfter(midnight));
+        ForecastPointEntity earlier =
+                ForecastPointEntity.from(
+                        LOCATION_KEY,
+                        WeatherEntity.Type.HOURLY,
+                        response(midnight.toString(), 20),
+                        System.currentTimeMillis());
+        when(forecastPointDao.getRange(
+                        eq(LOCATION_KEY), eq(WeatherEntity.Type.HOURLY), anyLong(), anyLong()))
+                .thenReturn(List.of(earlier));
+
+        TestObserver<List<WeatherResponse>> observer =
+                repository.getTodayWeatherByLocation(COORDINATES).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValueCount(1).assertComplete();
+        WeatherResponse today = observer.values().get(0).get(0);
+        assertEquals(20, today.getTemperatureMin(), 0.0);
+        assertEquals(30, today.getTemperatureMax(), 0.0);
+        verifyNoRequest();
+    }
+    @Test
+    public void syncWeather_everyTypeFresh_reportsUpToDate() {
+        long validUntil = System.currentTimeMillis() + ResponseConstant.CURRENT_EXPIRY_TIME;
+        for (WeatherEntity.Type type : WeatherEntity.Type.values()) {
+            givenCached(type, cachedForecast(), 0, validUntil);
+        }
+
+        TestObserver<SyncReport> observer = repository.syncWeather(COORDINATES).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValue(SyncReport.upToDate()).assertComplete();
+        verifyNoRequest();
+    }
+
+    @Test
+    public void syncWeather_nothingCachedRequestsFail_reportsTwoFailedRequests() {
+        givenNetwork(Observable.error(new IOException("offline")));
+
+        TestObserver<SyncReport> observer = repository.syncWeather(COORDINATES).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValue(new SyncReport(3, 2, true)).assertComplete();
+        assertEquals(0, observer.values().get(0).fetchedTypes());
+    }
+
+    @Test
+    public void syncWeather_nothingCached_requestsDailyApartFromHourlyBundle() {
+        givenNetwork(Observable.error(new IOException("offline")));
+
+        repository.syncWeather(COORDINATES).test().awaitDone(5, TimeUnit.SECONDS);
+
+        verify(tomorrowIoClient)
+                .getForecast(
+                        any(),
+                        anyString(),
+                        eq(TomorrowIoClient.TIMESTEPS_BUNDLE),
+                        eq(TomorrowIoClient.NOW),
+                        eq(TomorrowIoClient.PLUS_25_HOURS_FROM_NOW),
+                        any(),
+                        any(),
+                        any());
+        verify(tomorrowIoClient)
+                .getForecast(
+                        any(),
+                        anyString(),
+                        eq(TomorrowIoClient.TIMESTEPS_ONE_DAY),
+                        anyString(),
+                        eq(TomorrowIoClient.PLUS_5_DAYS_FROM_TODAY),
+                        any(),
+                        any(),
+                        any());
+    }
+
+    @Test
+    public void syncWeatherOfType_freshType_reportsUpToDate() {
+        givenCached(cachedForecast(), 0);
+
+        TestObserver<SyncReport> observer =
+                repository.syncWeather(COORDINATES, EnumSet.of(WeatherEntity.Type.DAILY)).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValue(SyncReport.upToDate()).assertComplete();
+        verifyNoRequest();
+    }
+
+    @Test
+    public void syncWeatherOfType_staleTypeRequestFails_reportsFailure() {
+        givenNetwork(Observable.error(new IOException("offline")));
+
+        TestObserver<SyncReport> observer =
+                repository.syncWeather(COORDINATES, EnumSet.of(WeatherEntity.Type.DAILY)).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValue(new SyncReport(1, 1, true)).assertComplete();
+    }
+
+    @Test
+    public void syncWeatherOfType_expiredHourlyCoveringWindow_reportsNoRequest() {
+        Instant nextHour = Instant.now().truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.HOURS);
+        List<WeatherResponse> hourly = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            hourly.add(response(nextHour.plus(i, ChronoUnit.HOURS).toString(), 30));
+        }
+        givenCached(WeatherEntity.Type.HOURLY, hourly, 0, System.currentTimeMillis() - 1);
+
+        TestObserver<SyncReport> observer =
+                repository.syncWeather(COORDINATES, EnumSet.of(WeatherEntity.Type.HOURLY)).test();
+        observer.awaitDone(5, TimeUnit.SECONDS);
+
+        observer.assertValue(new SyncReport(1, 0, false)).assertComplete();
+        verifyNoRequest();
+    }
+}
@@ -6,8 +6,12 @@ import static org.mockito.Mockito.*;
 import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
 import androidx.lifecycle.Observer;
 
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.model.CachedForecast;
 import com.optlab.nimbus.data.model.Coordinates;
+import com.optlab.nimbus.data.model.ForecastSeries;
 import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.repository.ReadPolicy;
 import com.optlab.nimbus.data.repository.WeatherRepository;
 
 import io.reactivex.rxjava3.android.plugins.RxAndroidPlugins;
@@ -20,6 +24,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -32,14 +37,15 @@ public class DailyWeatherViewModelTest {
     @Rule public InstantTaskExecutorRule instantExecutorRule = new InstantTaskExecutorRule();
 
     @Mock WeatherRepository repository;
-    @Mock Observer<List<WeatherResponse>> dailyObserver;
+    @Mock Observer<ForecastSeries> dailySeriesObserver;
 
     @InjectMocks DailyWeatherViewModel viewModel;
 
     AutoCloseable closeable;
 
     Coordinates coordinates = new Coordinates(1.0, 1.0);
-    List<WeatherResponse> dailyResponse = List.of(new WeatherResponse(), new WeatherResponse());
+    List<WeatherResponse> dailyResponse =
+            List.of(response("2025-05-20T06:00:00+07:00"), response("2025-05-21T06:00:00+07:00"));
 
     @Before
     public void setUp() {
@@ -47,55 +53,51 @@ public class DailyWeatherViewModelTest {
                 schedulerCallable -> Schedulers.trampoline());
         closeable = MockitoAnnotations.openMocks(this);
         // viewModel = new DailyWeatherViewModel(repository);
-        viewModel.getDaily().observeForever(dailyObserver);
+        viewModel.getDailySeries().observeForever(dailySeriesObserver);
     }
 
     @After
     public void tearDown() throws Exception {
-        viewModel.getDaily().removeObserver(dailyObserver);
+        viewModel.getDailySeries().removeObserver(dailySeriesObserver);
         RxAndroidPlugins.reset();
         closeable.close();
     }
 
     @Test
-    public void getDaily_returns_initial_LiveData() {
-        assertNotNull(viewModel.getDaily());
+    public void getDailySeries_returns_initial_LiveData() {
+        assertNotNull(viewModel.getDailySeries());
     }
 
     @Test
     public void fetchDailyWeatherByLocation_successful_fetch_updates_LiveData() {
-        when(repository.getDailyWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.just(dailyResponse));
+        givenFresh(WeatherEntity.Type.DAILY, Observable.just(dailyResponse));
         viewModel.fetchDailyWeatherByLocation(coordinates);
-        ArgumentCaptor<List<WeatherResponse>> captor = ArgumentCaptor.forClass(List.class);
-        verify(dailyObserver).onChanged(captor.capture());
-        assertEquals(dailyResponse, captor.getValue());
+        ArgumentCaptor<ForecastSeries> captor = ArgumentCaptor.forClass(ForecastSeries.class);
+        verify(dailySeriesObserver).onChanged(captor.capture());
+        assertEquals(dailyResponse.size(), captor.getValue().size());
     }
 
     @Test
     public void fetchDailyWeatherByLocation_successful_fetch_with_empty_list() {
-        when(repository.getDailyWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.just(Collections.emptyList()));
+        givenFresh(WeatherEntity.Type.DAILY, Observable.just(Collections.emptyList()));
         viewModel.fetchDailyWeatherByLocation(coordinates);
 
-        verify(dailyObserver, never()).onChanged(any());
-        assertNull(viewModel.getDaily().getValue());
+        verify(dailySeriesObserver, never()).onChanged(any());
+        assertNull(viewModel.getDailySeries().getValue());
     }
 
     @Test
     public void fetchDailyWeatherByLocation_failure_sets_LiveData_to_null() {
-        when(repository.getDailyWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.error(new Exception("error")));
+        givenFresh(WeatherEntity.Type.DAILY, Observable.error(new Exception("error")));
         viewModel.fetchDailyWeatherByLocation(coordinates);
 
-        verify(dailyObserver, never()).onChanged(any());
-        assertNull(viewModel.getDaily().getValue());
+        verify(dailySeriesObserver, never()).onChanged(any());
+        assertNull(viewModel.getDailySeries().getValue());
     }
 
     @Test
     public void fetchDailyWeatherByLocation_adds_disposable_to_CompositeDisposable() {
-        when(repository.getDailyWeatherByLocation(coordinates))
-                .thenReturn(Observable.just(Collections.emptyList()));
+        givenFresh(WeatherEntity.Type.DAILY, Observable.just(Collections.emptyList()));
         int before = getCompositeDisposableSize(viewModel);
         viewModel.fetchDailyWeatherByLocation(coordinates);
         int after = getCompositeDisposableSize(viewModel);
@@ -104,8 +106,7 @@ public class DailyWeatherViewModelTest {
 
     @Test
     public void onCleared_clears_disposables() {
-        when(repository.getDailyWeatherByLocation(coordinates))
-                .thenReturn(Observable.just(Collections.emptyList()));
+        givenFresh(WeatherEntity.Type.DAILY, Observable.just(Collections.emptyList()));
         viewModel.fetchDailyWeatherByLocation(coordinates);
         viewModel.onCleared();
         assertEquals(0, getCompositeDisposableSize(viewModel));
@@ -116,6 +117,37 @@ public class DailyWeatherViewModelTest {
         viewModel.fetchDailyWeatherByLocation(null);
     }
 
+    private static WeatherResponse response(String date) {
+        WeatherResponse response = new WeatherResponse();
+        response.setDate(date);
+        return response;
+    }
+
+    /** Stubs the stale-while-revalidate read of the given type with a fresh forecast. */
+    private void givenFresh(WeatherEntity.Type type, Observable<List<WeatherResponse>> result) {
+        when(repository.getWeather(
+                        any(Coordinates.class), eq(type), eq(ReadPolicy.STALE_WHILE_REVALIDATE)))
+                .thenReturn(result.map(data -> new CachedForecast(data, false, 0)));
+    }
+
+    @Test
+    public void fetchDailyWeatherByLocation_staleThenFresh_publishesBothInOrder() {
+        List<WeatherResponse> staleResponse = List.of(response("2025-05-20T06:00:00+07:00"));
+        when(repository.getWeather(
+                        any(Coordinates.class),
+                        eq(WeatherEntity.Type.DAILY),
+                        eq(ReadPolicy.STALE_WHILE_REVALIDATE)))
+                .thenReturn(
+                        Observable.just(
+                                new CachedForecast(staleResponse, true, 1),
+                                new CachedForecast(dailyResponse, false, 2)));
+        viewModel.fetchDailyWeatherByLocation(coordinates);
+        InOrder inOrder = inOrder(dailySeriesObserver);
+        inOrder.verify(dailySeriesObserver).onChanged(argThat(series -> series.size() == 1));
+        inOrder.verify(dailySeriesObserver).onChanged(argThat(series -> series.size() == 2));
+        assertEquals(dailyResponse.size(), viewModel.getDailySeries().getValue().size());
+    }
+
     // Helper to access private CompositeDisposable size via reflection
     private int getCompositeDisposableSize(DailyWeatherViewModel vm) {
         try {
@@ -5,15 +5,23 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
 import androidx.lifecycle.Observer;
 
+import com.optlab.nimbus.data.local.entity.WeatherEntity;
+import com.optlab.nimbus.data.model.CachedForecast;
 import com.optlab.nimbus.data.model.Coordinates;
+import com.optlab.nimbus.data.model.ForecastSeries;
 import com.optlab.nimbus.data.network.WeatherResponse;
+import com.optlab.nimbus.data.network.quota.ApiQuota;
+import com.optlab.nimbus.data.repository.ReadPolicy;
 import com.optlab.nimbus.data.repository.WeatherRepository;
 
 import io.reactivex.rxjava3.android.plugins.RxAndroidPlugins;
@@ -26,6 +34,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -44,7 +53,7 @@ public class HomeViewModelTest {
     @Mock WeatherRepository repository;
 
     @Mock Observer<List<WeatherResponse>> currentObserver;
-    @Mock Observer<List<WeatherResponse>> hourlyObserver;
+    @Mock Observer<ForecastSeries> hourlySeriesObserver;
 
     /**
      * HomeViewModel is the class under test. It is a ViewModel that fetches weather data from a
@@ -82,19 +91,19 @@ public class HomeViewModelTest {
         // that the correct data is set to the observers when the ViewModel fetches weather
         // data.
         viewModel.getCurrent().observeForever(currentObserver);
-        viewModel.getHourly().observeForever(hourlyObserver);
+        viewModel.getHourlySeries().observeForever(hourlySeriesObserver);
 
         // Test data setup: use new objects for each test
         coordinates = new Coordinates(1.0, 2.0);
         currentResponses = List.of(new WeatherResponse(), new WeatherResponse());
-        hourlyResponses = List.of(new WeatherResponse());
+        hourlyResponses = List.of(response("2025-05-19T06:00:00+07:00"));
     }
 
     @After
     public void tearDown() throws Exception {
         // Remove observers to avoid cross-test interference
         viewModel.getCurrent().removeObserver(currentObserver);
-        viewModel.getHourly().removeObserver(hourlyObserver);
+        viewModel.getHourlySeries().removeObserver(hourlySeriesObserver);
 
         // Reset the RxJava scheduler to its default behavior after each test. This is important to
         // avoid side effects in other tests that may use RxJava.
@@ -110,8 +119,8 @@ public class HomeViewModelTest {
     }
 
     @Test
-    public void getHourly_returns_initial_LiveData() {
-        assertNotNull(viewModel.getHourly());
+    public void getHourlySeries_returns_initial_LiveData() {
+        assertNotNull(viewModel.getHourlySeries());
     }
 
     /**
@@ -123,7 +132,7 @@ public class HomeViewModelTest {
      *
      * <ul>
      *   <li>Mock the repository to return a list of WeatherResponse objects when
-     *       getCurrentWeatherByLocation is called.
+     *       getWeather is called for current weather.
      *   <li>Call the fetchCurrentWeatherByLocation method in the ViewModel with a sample
      *       Coordinates object.
      *   <li>Verify that the observer receives the correct list of WeatherResponse objects.
@@ -132,8 +141,7 @@ public class HomeViewModelTest {
      */
     @Test
     public void fetchCurrentWeatherByLocation_success_setsValueToLiveData() {
-        when(repository.getCurrentWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.just(currentResponses));
+        givenFresh(WeatherEntity.Type.CURRENT, Observable.just(currentResponses));
         viewModel.fetchCurrentWeatherByLocation(coordinates);
         ArgumentCaptor<List<WeatherResponse>> captor = ArgumentCaptor.forClass(List.class);
         verify(currentObserver).onChanged(captor.capture());
@@ -148,7 +156,7 @@ public class HomeViewModelTest {
      * <p>Scenario:
      *
      * <ul>
-     *   <li>Mock the repository to return an error when getCurrentWeatherByLocation is called.
+     *   <li>Mock the repository to return an error when getWeather is called for current weather.
      *   <li>Call the fetchCurrentWeatherByLocation method in the ViewModel with a sample
      *       Coordinates object.
      *   <li>Verify that the onChanged() method was not called
@@ -156,8 +164,7 @@ public class HomeViewModelTest {
      */
     @Test
     public void fetchCurrentWeatherByLocation_error_doesNotSetToLiveData() {
-        when(repository.getCurrentWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.error(new Exception("error")));
+        givenFresh(WeatherEntity.Type.CURRENT, Observable.error(new Exception("error")));
         viewModel.fetchCurrentWeatherByLocation(coordinates);
         verify(currentObserver, never()).onChanged(any());
         assertNull(viewModel.getCurrent().getValue());
@@ -171,7 +178,8 @@ public class HomeViewModelTest {
      * <p>Scenario:
      *
      * <ul>
-     *   <li>Mock the repository to return an empty list when getCurrentWeatherByLocation is called.
+     *   <li>Mock the repository to return an empty list when getWeather is called for current
+     *       weather.
      *   <li>Call the fetchCurrentWeatherByLocation method in the ViewModel with a sample
      *       Coordinates object.
      *   <li>Verify that the onChanged() method was not called
@@ -179,8 +187,7 @@ public class HomeViewModelTest {
      */
     @Test
     public void fetchCurrentWeatherByLocation_emptyList_doesNotSetToLiveData() {
-        when(repository.getCurrentWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.just(Arrays.asList()));
+        givenFresh(WeatherEntity.Type.CURRENT, Observable.just(Arrays.asList()));
         viewModel.fetchCurrentWeatherByLocation(coordinates);
         verify(currentObserver, never()).onChanged(any());
         assertNull(viewModel.getCurrent().getValue());
@@ -195,22 +202,21 @@ public class HomeViewModelTest {
      *
      * <ul>
      *   <li>Mock the repository to return a list of WeatherResponse objects when
-     *       getHourlyWeatherByLocation is called.
+     *       getWeather is called for hourly weather.
      *   <li>Call the fetchHourlyWeathersByLocation method in the ViewModel with a sample
      *       Coordinates object.
-     *   <li>Verify that the observer receives the correct list of WeatherResponse objects.
-     *   <li>Assert that the value set to the LiveData in the ViewModel matches the expected list
+     *   <li>Verify that the observer receives a series with one row per WeatherResponse.
+     *   <li>Assert that the value set to the LiveData in the ViewModel is the same series
      * </ul>
      */
     @Test
     public void fetchHourlyWeathersByLocation_success_setsValueToLiveData() {
-        when(repository.getHourlyWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.just(hourlyResponses));
+        givenFresh(WeatherEntity.Type.HOURLY, Observable.just(hourlyResponses));
         viewModel.fetchHourlyWeathersByLocation(coordinates);
-        ArgumentCaptor<List<WeatherResponse>> captor = ArgumentCaptor.forClass(List.class);
-        verify(hourlyObserver).onChanged(captor.capture());
-        assertEquals(hourlyResponses, captor.getValue());
-        assertEquals(hourlyResponses, viewModel.getHourly().getValue());
+        ArgumentCaptor<ForecastSeries> captor = ArgumentCaptor.forClass(ForecastSeries.class);
+        verify(hourlySeriesObserver).onChanged(captor.capture());
+        assertEquals(hourlyResponses.size(), captor.getValue().size());
+        assertEquals(captor.getValue(), viewModel.getHourlySeries().getValue());
     }
 
     /**
@@ -221,7 +227,7 @@ public class HomeViewModelTest {
      * <p>Scenario:
      *
      * <ul>
-     *   <li>Mock the repository to return an error when getHourlyWeatherByLocation is called.
+     *   <li>Mock the repository to return an error when getWeather is called for hourly weather.
      *   <li>Call the fetchHourlyWeathersByLocation method in the ViewModel with a sample
      *       Coordinates object.
      *   <li>Verify that the onChanged() method was not called
@@ -229,11 +235,10 @@ public class HomeViewModelTest {
      */
     @Test
     public void fetchHourlyWeathersByLocation_error_doesNotSetToLiveData() {
-        when(repository.getHourlyWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.error(new Exception("error")));
+        givenFresh(WeatherEntity.Type.HOURLY, Observable.error(new Exception("error")));
         viewModel.fetchHourlyWeathersByLocation(coordinates);
-        verify(hourlyObserver, never()).onChanged(any());
-        assertNull(viewModel.getHourly().getValue());
+        verify(hourlySeriesObserver, never()).onChanged(any());
+        assertNull(viewModel.getHourlySeries().getValue());
     }
 
     /**
@@ -244,7 +249,8 @@ public class HomeViewModelTest {
      * <p>Scenario:
      *
      * <ul>
-     *   <li>Mock the repository to return an empty list when getHourlyWeatherByLocation is called.
+     *   <li>Mock the repository to return an empty list when getWeather is called for hourly
+     *       weather.
      *   <li>Call the fetchHourlyWeathersByLocation method in the ViewModel with a sample
      *       Coordinates object.
      *   <li>Verify that the onChanged() method was not called
@@ -252,17 +258,15 @@ public class HomeViewModelTest {
      */
     @Test
     public void fetchHourlyWeathersByLocation_emptyList_doesNotSetToLiveData() {
-        when(repository.getHourlyWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.just(Arrays.asList()));
+        givenFresh(WeatherEntity.Type.HOURLY, Observable.just(Arrays.asList()));
         viewModel.fetchHourlyWeathersByLocation(coordinates);
-        verify(hourlyObserver, never()).onChanged(any());
-        assertNull(viewModel.getHourly().getValue());
+        verify(hourlySeriesObserver, never()).onChanged(any());
+        assertNull(viewModel.getHourlySeries().getValue());
     }
 
     @Test
     public void fetchCurrentWeatherByLocation_adds_disposable_to_CompositeDisposable() {
-        when(repository.getCurrentWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.just(currentResponses));
+        givenFresh(WeatherEntity.Type.CURRENT, Observable.just(currentResponses));
         int before = getCompositeDisposableSize(viewModel);
         viewModel.fetchCurrentWeatherByLocation(coordinates);
         int after = getCompositeDisposableSize(viewModel);
@@ -271,8 +275,7 @@ public class HomeViewModelTest {
 
     @Test
     public void fetchHourlyWeathersByLocation_adds_disposable_to_CompositeDisposable() {
-        when(repository.getHourlyWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.just(hourlyResponses));
+        givenFresh(WeatherEntity.Type.HOURLY, Observable.just(hourlyResponses));
         int before = getCompositeDisposableSize(viewModel);
         viewModel.fetchHourlyWeathersByLocation(coordinates);
         int after = getCompositeDisposableSize(viewModel);
@@ -281,8 +284,7 @@ public class HomeViewModelTest {
 
     @Test
     public void onCleared_clears_disposables() {
-        when(repository.getCurrentWeatherByLocation(any(Coordinates.class)))
-                .thenReturn(Observable.just(currentResponses));
+        givenFresh(WeatherEntity.Type.CURRENT, Observable.just(currentResponses));
         viewModel.fetchCurrentWeatherByLocation(coordinates);
         viewModel.onCleared();
         assertEquals(0, getCompositeDisposableSize(viewModel));
@@ -298,6 +300,55 @@ public class HomeViewModelTest {
         viewModel.fetchHourlyWeathersByLocation(null);
     }
 
+    private static WeatherResponse response(String date) {
+        WeatherResponse response = new WeatherResponse();
+        response.setDate(date);
+        return response;
+    }
+
+    /** Stubs the stale-while-revalidate read of the given type with a fresh forecast. */
+    private void givenFresh(WeatherEntity.Type type, Observable<List<WeatherResponse>> result) {
+        when(repository.getWeather(
+                        any(Coordinates.class), eq(type), eq(ReadPolicy.STALE_WHILE_REVALIDATE)))
+                .thenReturn(result.map(data -> new CachedForecast(data, false, 0)));
+    }
+
+    /**
+     * Test method to verify that a stale cached forecast is published at once, then replaced by
+     * the fresh one when the revalidation completes.
+     */
+    @Test
+    public void fetchCurrentWeatherByLocation_staleThenFresh_publishesBothInOrder() {
+        List<WeatherResponse> staleResponses = List.of(new WeatherResponse());
+        when(repository.getWeather(
+                        any(Coordinates.class),
+                        eq(WeatherEntity.Type.CURRENT),
+                        eq(ReadPolicy.STALE_WHILE_REVALIDATE)))
+                .thenReturn(
+                        Observable.just(
+                                new CachedForecast(staleResponses, true, 1),
+                                new CachedForecast(currentResponses, false, 2)));
+        viewModel.fetchCurrentWeatherByLocation(coordinates);
+        InOrder inOrder = inOrder(currentObserver);
+        inOrder.verify(currentObserver).onChanged(staleResponses);
+        inOrder.verify(currentObserver).onChanged(currentResponses);
+        assertEquals(currentResponses, viewModel.getCurrent().getValue());
+    }
+
+    /**
+     * Test method to verify that the API budget is published, and that calling observeApiQuota()
+     * again, as the fragment does when it is created again, does not subscribe twice.
+     */
+    @Test
+    public void observeApiQuota_calledTwice_subscribesOnce() {
+        ApiQuota quota = new ApiQuota(20, 25, 400, 500, true);
+        when(repository.observeApiQuota()).thenReturn(Observable.just(quota));
+        viewModel.observeApiQuota();
+        viewModel.observeApiQuota();
+        verify(repository, times(1)).observeApiQuota();
+        assertEquals(quota, viewModel.getApiQuota().getValue());
+    }
+
     // Helper to access private CompositeDisposable size via reflection
     private int getCompositeDisposableSize(HomeViewModel vm) {
         try {
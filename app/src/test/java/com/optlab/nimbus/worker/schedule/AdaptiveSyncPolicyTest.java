@@ -0,0 +1,81 @@
+package com.optlab.nimbus.worker.schedule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+// | Scenario                          | Description                                          | Expected Result                          |
+// |-----------------------------------|------------------------------------------------------|------------------------------------------|
+// | Daytime, last run fetched         | No fresh run in a row                                | Base interval, no pre-sync without habit |
+// | Stable forecasts                  | Runs in a row found everything fresh                 | Interval doubled per step, up to a limit |
+// | Night, nothing learned            | Hour within the default night                        | Night interval                           |
+// | Night, usual hour                 | User usually opens the app at that hour of the night | Base interval                            |
+// | Morning habit                     | App usually opened at 7                              | Pre-sync 20 minutes before 7             |
+
+public class AdaptiveSyncPolicyTest {
+    private static final ZonedDateTime NOON =
+            ZonedDateTime.of(2025, 5, 1, 12, 30, 0, 0, ZoneOffset.ofHours(7));
+
+    private final AdaptiveSyncPolicy policy = new AdaptiveSyncPolicy();
+
+    private static AppOpenHistogram habit(int... hours) {
+        AppOpenHistogram histogram = new AppOpenHistogram();
+        for (int day = 0; day < 10; day++) {
+            for (int hour : hours) {
+                histogram.record(hour);
+            }
+        }
+        return histogram;
+    }
+
+    @Test
+    public void plan_daytimeAfterFetch_usesBaseInterval() {
+        SyncPlan plan = policy.plan(new AppOpenHistogram(), NOON, 0);
+
+        assertEquals(AdaptiveSyncPolicy.BASE_INTERVAL, plan.interval());
+        assertNull(plan.preSyncAt());
+    }
+
+    @Test
+    public void plan_stableForecasts_widensIntervalUpToLimit() {
+        AppOpenHistogram opens = new AppOpenHistogram();
+
+        assertEquals(
+                AdaptiveSyncPolicy.BASE_INTERVAL.multipliedBy(2),
+                policy.plan(opens, NOON, AdaptiveSyncPolicy.FRESH_RUNS_PER_STEP).interval());
+        assertEquals(
+                AdaptiveSyncPolicy.BASE_INTERVAL.multipliedBy(4),
+                policy.plan(opens, NOON, 100).interval());
+    }
+
+    @Test
+    public void plan_nightNothingLearned_usesNightInterval() {
+        SyncPlan plan = policy.plan(new AppOpenHistogram(), NOON.withHour(2), 0);
+
+        assertEquals(AdaptiveSyncPolicy.NIGHT_INTERVAL, plan.interval());
+    }
+
+    @Test
+    public void plan_nightUsualHour_keepsBaseInterval() {
+        SyncPlan plan = policy.plan(habit(23, 7), NOON.withHour(23), 0);
+
+        assertEquals(AdaptiveSyncPolicy.BASE_INTERVAL, plan.interval());
+    }
+
+    @Test
+    public void plan_morningHabit_preSyncsBeforeUsualOpen() {
+        SyncPlan plan = policy.plan(habit(7), NOON.withHour(2), 0);
+
+        assertEquals(
+                NOON.withHour(7)
+                        .withMinute(0)
+                        .minus(Duration.ofMinutes(20))
+                        .toInstant(),
+                plan.preSyncAt());
+    }
+}
@@ -0,0 +1,90 @@
+package com.optlab.nimbus.worker.schedule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+// | Scenario                          | Description                                          | Expected Result                          |
+// |-----------------------------------|------------------------------------------------------|------------------------------------------|
+// | Few opens                         | Fewer opens than needed to trust the histogram       | No usual nor quiet hour                  |
+// | Morning habit                     | The app is opened every morning at 7                 | 7 is usual, the night is quiet           |
+// | Next open later today             | Now is before the pre-sync of the usual hour         | The usual hour of today                  |
+// | Lead already passed               | Now is within the lead of the usual hour             | The usual hour of tomorrow               |
+// | Saved and restored                | Histogram serialized then parsed                     | Same usual hours                         |
+// | Corrupted preferences             | Saved value cannot be read                           | Empty histogram                          |
+
+public class AppOpenHistogramTest {
+    private static final Duration LEAD = Duration.ofMinutes(20);
+    private static final ZonedDateTime MIDNIGHT =
+            ZonedDateTime.of(2025, 5, 1, 0, 0, 0, 0, ZoneOffset.ofHours(7));
+
+    private static AppOpenHistogram morningHabit() {
+        AppOpenHistogram histogram = new AppOpenHistogram();
+        for (int day = 0; day < 10; day++) {
+            histogram.record(7);
+            histogram.record(12);
+        }
+        return histogram;
+    }
+
+    @Test
+    public void isUsual_fewOpens_nothingLearned() {
+        AppOpenHistogram histogram = new AppOpenHistogram();
+        histogram.record(7);
+
+        assertFalse(histogram.isTrained());
+        assertFalse(histogram.isUsual(7));
+        assertFalse(histogram.isQuiet(3));
+    }
+
+    @Test
+    public void isUsual_morningHabit_learnsUsualAndQuietHours() {
+        AppOpenHistogram histogram = morningHabit();
+
+        assertTrue(histogram.isUsual(7));
+        assertFalse(histogram.isUsual(9));
+        assertTrue(histogram.isQuiet(3));
+    }
+
+    @Test
+    public void nextUsualOpen_beforePreSync_returnsToday() {
+        ZonedDateTime open = morningHabit().nextUsualOpen(MIDNIGHT.withHour(6), LEAD);
+
+        assertEquals(MIDNIGHT.withHour(7), open);
+    }
+
+    @Test
+    public void nextUsualOpen_leadPassed_returnsNextUsualHour() {
+        AppOpenHistogram histogram = new AppOpenHistogram();
+        for (int day = 0; day < 10; day++) {
+            histogram.record(7);
+        }
+
+        ZonedDateTime open = histogram.nextUsualOpen(MIDNIGHT.withHour(6).withMinute(50), LEAD);
+
+        assertEquals(MIDNIGHT.plusDays(1).withHour(7), open);
+    }
+
+    @Test
+    public void parse_serialized_restoresHistogram() {
+        AppOpenHistogram restored = AppOpenHistogram.parse(morningHabit().serialize());
+
+        assertTrue(restored.isUsual(7));
+        assertTrue(restored.isUsual(12));
+    }
+
+    @Test
+    public void parse_corrupted_returnsEmpty() {
+        AppOpenHistogram restored = AppOpenHistogram.parse("1,2,x");
+
+        assertFalse(restored.isTrained());
+        assertNull(restored.nextUsualOpen(MIDNIGHT, LEAD));
+    }
+}